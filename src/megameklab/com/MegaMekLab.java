@@ -16,9 +16,7 @@
 
 package megameklab.com;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.text.NumberFormat;
@@ -32,11 +30,18 @@ import megamek.common.logging.LogConfig;
 import megamek.common.logging.LogLevel;
 import megamek.common.logging.MMLogger;
 import megamek.common.preference.PreferenceManager;
+import megameklab.com.ui.MainUIPool;
+import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.ui.Mek.MainUI;
+import megameklab.com.util.AsyncLogSink;
 
 public class MegaMekLab {
     public static final String VERSION = "0.45.5-SNAPSHOT";
 
+    /** The size at which the log file is rolled over */
+    private static final long MAX_LOG_SIZE = 10 * 1024 * 1024;
+    private static final int MAX_LOG_BACKUPS = 5;
+
     private static MMLogger logger = null;
 
     public static void main(String[] args) {
@@ -74,6 +79,7 @@ public class MegaMekLab {
         setupLogging(logs, logFileName);
         showInfo();
         
+        MegaMekLabMainUI mainUI;
         if (vehicle) {
             Runtime runtime = Runtime.getRuntime();
 
@@ -97,7 +103,7 @@ public class MegaMekLab {
                 }
             }
 
-            new megameklab.com.ui.Vehicle.MainUI();
+            mainUI = new megameklab.com.ui.Vehicle.MainUI();
         } else if (battlearmor) {
             Runtime runtime = Runtime.getRuntime();
 
@@ -121,7 +127,7 @@ public class MegaMekLab {
                 }
             }
 
-            new megameklab.com.ui.BattleArmor.MainUI();
+            mainUI = new megameklab.com.ui.BattleArmor.MainUI();
         } else {
 
             Runtime runtime = Runtime.getRuntime();
@@ -154,8 +160,9 @@ public class MegaMekLab {
                 getLogger().log(MegaMekLab.class, METHOD_NAME, LogLevel.INFO,
                         "Could not load quirks file.");
             }
-            new MainUI();
+            mainUI = new MainUI();
         }
+        MainUIPool.getInstance().prewarm(mainUI);
     }
 
     private static void setupLogging(final boolean logs,
@@ -167,14 +174,11 @@ public class MegaMekLab {
                     logPath.mkdir();
                 }
                 MegaMek.resetLogFile(logFileName);
-                PrintStream ps =
-                        new PrintStream(
-                                new BufferedOutputStream(
-                                        new FileOutputStream(logFileName,
-                                                             true),
-                                        64));
-                System.setOut(ps);
-                System.setErr(ps);
+                // Output is written to the file by the sink's own thread
+                AsyncLogSink.getInstance().start(new File(logFileName), MAX_LOG_SIZE,
+                        MAX_LOG_BACKUPS, AsyncLogSink.OverflowPolicy.BLOCK);
+                System.setOut(new PrintStream(AsyncLogSink.getInstance().newOutputStream()));
+                System.setErr(new PrintStream(AsyncLogSink.getInstance().newOutputStream()));
             } catch (Exception ex) {
                 System.err.println("Unable to redirect output");
             }
@@ -23,13 +23,12 @@ import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -40,8 +39,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
-import javax.imageio.ImageIO;
-
 import org.apache.batik.anim.dom.SVGDOMImplementation;
 import org.apache.batik.bridge.BridgeContext;
 import org.apache.batik.bridge.GVTBuilder;
@@ -60,8 +57,10 @@ import org.w3c.dom.svg.SVGElement;
 import org.w3c.dom.svg.SVGRectElement;
 
 import megamek.common.EquipmentType;
+import megamek.common.annotations.Nullable;
 import megamek.common.logging.LogLevel;
 import megameklab.com.MegaMekLab;
+import megameklab.com.util.FluffThumbnails;
 
 /**
  * Base class for rendering record sheets. This is mostly a collection of utility methods.
@@ -166,24 +165,7 @@ public abstract class PrintRecordSheet implements Printable {
         
         Graphics2D g2d = (Graphics2D) graphics;
         if (null != g2d) {
-            File f = new File("data/images/recordsheets/" + getSVGFileName(pageIndex - firstPage));
-            svgDocument = null;
-            try {
-                InputStream is = new FileInputStream(f);
-                DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
-                final String parser = XMLResourceDescriptor.getXMLParserClassName();
-                SAXDocumentFactory df = new SAXDocumentFactory(impl, parser);
-                svgDocument = df.createDocument(f.toURI().toASCIIString(), is);
-            } catch (Exception e) {
-                MegaMekLab.getLogger().error(PrintRecordSheet.class, METHOD_NAME, e);
-            }
-            if (null == svgDocument) {
-                MegaMekLab.getLogger().error(PrintRecordSheet.class, METHOD_NAME,
-                        "Failed to open Mech SVG file! Path: data/images/recordsheets/"
-                                + getSVGFileName(pageIndex - firstPage));
-            } else {
-                svgGenerator = new SVGGraphics2D(svgDocument);
-                printImage(g2d, pageFormat, pageIndex - firstPage);
+            if (createDocument(g2d, pageFormat, pageIndex - firstPage, METHOD_NAME)) {
                 GraphicsNode node = build();
                 node.paint(g2d);
                 /* Testing code that outputs the generated svg
@@ -200,6 +182,53 @@ public abstract class PrintRecordSheet implements Printable {
         }
         return Printable.PAGE_EXISTS;
     }
+
+    /**
+     * Fills in the record sheet for one page without rendering it, for writing the sheet to a
+     * file rather than printing it.
+     *
+     * @param pageFormat The page format to lay the sheet out for
+     * @param pageNum    Which page of a multi-page sheet to create. The first page is 0.
+     * @return           The completed SVG document, or null if the template could not be loaded
+     * @throws PrinterException
+     */
+    public @Nullable Document exportSVG(PageFormat pageFormat, int pageNum) throws PrinterException {
+        return createDocument(null, pageFormat, pageNum, "exportSVG(PageFormat,int)") ? svgDocument : null;
+    }
+
+    /**
+     * Loads the template for a page and fills it in.
+     *
+     * @param g2d        The graphics object passed to {@link #printImage(Graphics2D, PageFormat, int) printImage},
+     *                   or null to pass an SVG generator for the document
+     * @param pageFormat The page format
+     * @param pageNum    The page in the current record sheet. The first page is 0.
+     * @param methodName The name of the calling method, for logging
+     * @return           Whether the template was loaded
+     * @throws PrinterException
+     */
+    private boolean createDocument(@Nullable Graphics2D g2d, PageFormat pageFormat, int pageNum,
+            String methodName) throws PrinterException {
+        File f = new File("data/images/recordsheets/" + getSVGFileName(pageNum));
+        svgDocument = null;
+        try (InputStream is = new FileInputStream(f)) {
+            DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
+            final String parser = XMLResourceDescriptor.getXMLParserClassName();
+            SAXDocumentFactory df = new SAXDocumentFactory(impl, parser);
+            svgDocument = df.createDocument(f.toURI().toASCIIString(), is);
+        } catch (Exception e) {
+            MegaMekLab.getLogger().error(PrintRecordSheet.class, methodName, e);
+        }
+        if (null == svgDocument) {
+            MegaMekLab.getLogger().error(PrintRecordSheet.class, methodName,
+                    "Failed to open Mech SVG file! Path: data/images/recordsheets/"
+                            + getSVGFileName(pageNum));
+            return false;
+        }
+        svgGenerator = new SVGGraphics2D(svgDocument);
+        printImage((null == g2d) ? svgGenerator : g2d, pageFormat, pageNum);
+        return true;
+    }
     
     protected GraphicsNode build() {
         GVTBuilder builder = new GVTBuilder();
@@ -1231,14 +1260,27 @@ public abstract class PrintRecordSheet implements Printable {
         if (null == imageFile) {
             return;
         }
+        if (!imageFile.exists()) {
+            MegaMekLab.getLogger().log(PrintRecordSheet.class, METHOD_NAME, LogLevel.ERROR,
+                    "Fluff image file not found: " + imageFile.getPath());
+            return;
+        }
         try {
-            InputStream is = new BufferedInputStream(new FileInputStream(imageFile));
-            String mimeType = URLConnection.guessContentTypeFromStream(is);
-            String format = mimeType.substring(mimeType.indexOf("/") + 1);
-
-            RenderedImage fluffImage = ImageIO.read(imageFile);
-            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-            ImageIO.write(fluffImage, format, bytes);
+            // Embed the print-sized thumbnail rather than re-encoding the full image
+            File thumbnail = FluffThumbnails.getInstance().getThumbnailFile(imageFile, FluffThumbnails.Size.PRINT);
+            RenderedImage fluffImage = FluffThumbnails.getInstance().getImage(imageFile, FluffThumbnails.Size.PRINT);
+            if ((null == thumbnail) || (null == fluffImage)) {
+                throw new IOException("Unable to create thumbnail");
+            }
+            // The thumbnail may be a JPEG or PNG, or the source file if it was small enough
+            String mimeType;
+            try (InputStream is = new BufferedInputStream(new FileInputStream(thumbnail))) {
+                mimeType = URLConnection.guessContentTypeFromStream(is);
+            }
+            if (null == mimeType) {
+                mimeType = "image/png";
+            }
+            byte[] bytes = Files.readAllBytes(thumbnail.toPath());
             
             double width = fluffImage.getWidth();
             double height = fluffImage.getHeight();
@@ -1257,11 +1299,8 @@ public abstract class PrintRecordSheet implements Printable {
             img.setAttributeNS(null, SVGConstants.SVG_WIDTH_ATTRIBUTE, Double.toString(width));
             img.setAttributeNS(null, SVGConstants.SVG_HEIGHT_ATTRIBUTE, Double.toString(height));
             img.setAttributeNS(SVGConstants.XLINK_NAMESPACE_URI, SVGConstants.XLINK_HREF_QNAME,
-                    "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(bytes.toByteArray()));
+                    "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(bytes));
             canvas.appendChild(img);
-        } catch (FileNotFoundException e) {
-            MegaMekLab.getLogger().log(PrintRecordSheet.class, METHOD_NAME, LogLevel.ERROR,
-                    "Fluff image file not found: " + imageFile.getPath());
         } catch (IOException e) {
             MegaMekLab.getLogger().log(PrintRecordSheet.class, METHOD_NAME, LogLevel.ERROR,
                     "Error reading fluff image file: " + imageFile.getPath());
@@ -0,0 +1,317 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.MechView;
+import megamek.common.templates.TROView;
+
+/**
+ * Exports the summary of every unit in a set of directories, archives, and unit lists (MUL), as
+ * shown by File > Export. Units are rendered on all available processors and each one is written
+ * to disk as soon as it is finished.
+ *
+ * By default each unit is written to its own page in the output directory, along with an index
+ * page linking to all of them. With -single, all the units are written into a single document
+ * instead, sorted by name.
+ *
+ * Usage: BatchExport [-threads n] [-out dir|file] [-text] [-single] [-mechview] [path ...]
+ *
+ * -text exports plain text instead of HTML, and -mechview uses the unit readout instead of the
+ * technical readout. If no paths are given, data/mechfiles is exported.
+ */
+public class BatchExport {
+
+    /** Characters that are not allowed in file names on at least one platform */
+    private static final String INVALID_FILE_CHARS = "\\/:*?\"<>|"; //$NON-NLS-1$
+
+    /**
+     * The rendered summary of a single unit, or the reason it could not be rendered.
+     */
+    private static class Result {
+        final String file;
+        String name;
+        String text;
+        String error;
+
+        Result(UnitFile file) {
+            this.file = file.getName();
+        }
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        File out = null;
+        boolean html = true;
+        boolean single = false;
+        boolean tro = true;
+        List<File> roots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-threads") && (i + 1 < args.length)) { //$NON-NLS-1$
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-out") && (i + 1 < args.length)) { //$NON-NLS-1$
+                out = new File(args[++i]);
+            } else if (args[i].equals("-text")) { //$NON-NLS-1$
+                html = false;
+            } else if (args[i].equals("-single")) { //$NON-NLS-1$
+                single = true;
+            } else if (args[i].equals("-mechview")) { //$NON-NLS-1$
+                tro = false;
+            } else {
+                roots.add(new File(args[i]));
+            }
+        }
+        if (roots.isEmpty()) {
+            roots.add(new File("data/mechfiles")); //$NON-NLS-1$
+        }
+        if (null == out) {
+            out = new File(single ? ("units" + (html ? ".html" : ".txt")) : "export"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        }
+
+        EquipmentType.initializeTypes();
+        final long start = System.nanoTime();
+        try (Output output = single ? new SingleDocument(out, html) : new Site(out, html)) {
+            final boolean asHtml = html;
+            final boolean asTro = tro;
+            int count = new BatchRunner(threads).run(roots, f -> render(f, asHtml, asTro),
+                    result -> {
+                        if (null != result.error) {
+                            output.failed++;
+                            System.err.println(result.file + ": " + result.error); //$NON-NLS-1$
+                        } else {
+                            output.write(result);
+                        }
+                    });
+            System.out.println(String.format("Exported %d units in %.1f s; %d failed. Written to %s", //$NON-NLS-1$
+                    count - output.failed, (System.nanoTime() - start) / 1e9, output.failed,
+                    out.getPath()));
+        } catch (IOException ex) {
+            System.err.println("Unable to write export: " + ex.getMessage()); //$NON-NLS-1$
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Loads a unit and renders its summary, recording any error in the result.
+     */
+    private static Result render(UnitFile file, boolean html, boolean tro) {
+        final Result result = new Result(file);
+        try {
+            final Entity entity = file.load();
+            result.name = entity.getChassis() + " " + entity.getModel(); //$NON-NLS-1$
+            if (tro) {
+                result.text = TROView.createView(entity, html).processTemplate();
+            } else {
+                result.text = new MechView(entity, !html, false, html).getMechReadout();
+            }
+            if (null == result.text) {
+                result.error = "No template for this unit type"; //$NON-NLS-1$
+            }
+        } catch (Exception ex) {
+            result.error = ex.toString();
+        }
+        return result;
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+                .replace("\"", "&quot;"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Where the rendered units are written. Units are written one at a time, in the order they
+     * are finished.
+     */
+    private abstract static class Output implements AutoCloseable {
+        final boolean html;
+        int failed;
+
+        Output(boolean html) {
+            this.html = html;
+        }
+
+        /**
+         * @throws UncheckedIOException If the unit cannot be written
+         */
+        abstract void write(Result result);
+
+        @Override
+        public abstract void close() throws IOException;
+    }
+
+    /**
+     * Writes each unit to its own file in a directory, and an index of the units when closed.
+     */
+    private static class Site extends Output {
+        private final File dir;
+        private final Set<String> used = new HashSet<>();
+        /** Unit names and the files they were written to, sorted for the index */
+        private final TreeMap<String, List<String>> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        Site(File dir, boolean html) throws IOException {
+            super(html);
+            this.dir = dir;
+            Files.createDirectories(dir.toPath());
+        }
+
+        @Override
+        void write(Result result) {
+            final String fileName = uniqueFileName(result.name);
+            try (Writer w = newWriter(new File(dir, fileName))) {
+                w.write(result.text);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            index.computeIfAbsent(result.name, n -> new ArrayList<>()).add(fileName);
+        }
+
+        private String uniqueFileName(String unitName) {
+            final StringBuilder sb = new StringBuilder();
+            for (char c : unitName.trim().toCharArray()) {
+                sb.append(((c < 0x20) || (INVALID_FILE_CHARS.indexOf(c) >= 0)) ? '_' : c);
+            }
+            final String base = sb.toString();
+            final String ext = html ? ".html" : ".txt"; //$NON-NLS-1$ //$NON-NLS-2$
+            String name = base + ext;
+            for (int i = 2; !used.add(name.toLowerCase(Locale.ROOT)); i++) {
+                name = base + " (" + i + ")" + ext; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return name;
+        }
+
+        @Override
+        public void close() throws IOException {
+            final String indexName = html ? "index.html" : "index.txt"; //$NON-NLS-1$ //$NON-NLS-2$
+            try (Writer w = newWriter(new File(dir, indexName))) {
+                if (html) {
+                    w.write("<html><head><meta charset=\"UTF-8\"><title>Units</title></head><body>"); //$NON-NLS-1$
+                    w.write(System.lineSeparator());
+                    w.write("<ul>"); //$NON-NLS-1$
+                    w.write(System.lineSeparator());
+                }
+                for (List<String> files : index.values()) {
+                    for (String file : files) {
+                        final String name = file.substring(0, file.lastIndexOf('.'));
+                        if (html) {
+                            // Plus is only a space in query strings, not in paths
+                            final String href = URLEncoder.encode(file, StandardCharsets.UTF_8.name())
+                                    .replace("+", "%20"); //$NON-NLS-1$ //$NON-NLS-2$
+                            w.write("<li><a href=\"" + escapeHtml(href) + "\">" //$NON-NLS-1$ //$NON-NLS-2$
+                                    + escapeHtml(name) + "</a></li>"); //$NON-NLS-1$
+                        } else {
+                            w.write(name);
+                        }
+                        w.write(System.lineSeparator());
+                    }
+                }
+                if (html) {
+                    w.write("</ul>"); //$NON-NLS-1$
+                    w.write(System.lineSeparator());
+                    w.write("</body></html>"); //$NON-NLS-1$
+                    w.write(System.lineSeparator());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all the units to one file, sorted by name and separated by a horizontal rule or a
+     * line of dashes. Units finish in no particular order, so each one is held in a temporary
+     * file until the document is closed.
+     */
+    private static class SingleDocument extends Output {
+        private final Writer out;
+        private final Path tempDir;
+        /** Unit names and the temporary files holding them, in the order they are written out */
+        private final TreeMap<String, List<Path>> parts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private int count;
+
+        SingleDocument(File file, boolean html) throws IOException {
+            super(html);
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if (null != parent) {
+                Files.createDirectories(parent.toPath());
+            }
+            out = newWriter(file);
+            tempDir = Files.createTempDirectory("mml-export"); //$NON-NLS-1$
+            if (html) {
+                out.write("<html><head><meta charset=\"UTF-8\"><title>Units</title></head><body>"); //$NON-NLS-1$
+                out.write(System.lineSeparator());
+            }
+        }
+
+        @Override
+        void write(Result result) {
+            final Path part = tempDir.resolve((count++) + ".part"); //$NON-NLS-1$
+            try (Writer w = newWriter(part.toFile())) {
+                w.write(result.text);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            parts.computeIfAbsent(result.name, n -> new ArrayList<>()).add(part);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                boolean first = true;
+                for (List<Path> files : parts.values()) {
+                    for (Path part : files) {
+                        if (!first) {
+                            out.write(html ? "<hr/>" : "--------------------------------------------------------------------------------"); //$NON-NLS-1$ //$NON-NLS-2$
+                            out.write(System.lineSeparator());
+                        }
+                        first = false;
+                        out.write(new String(Files.readAllBytes(part), StandardCharsets.UTF_8));
+                        out.write(System.lineSeparator());
+                        Files.delete(part);
+                    }
+                }
+                if (html) {
+                    out.write("</body></html>"); //$NON-NLS-1$
+                    out.write(System.lineSeparator());
+                }
+            } finally {
+                out.close();
+                for (List<Path> files : parts.values()) {
+                    for (Path part : files) {
+                        Files.deleteIfExists(part);
+                    }
+                }
+                Files.deleteIfExists(tempDir);
+            }
+        }
+    }
+
+    private static Writer newWriter(File file) throws IOException {
+        return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+    }
+}
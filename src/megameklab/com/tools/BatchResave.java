@@ -0,0 +1,232 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.Mech;
+import megamek.common.loaders.BLKFile;
+import megameklab.com.util.UnitUtil;
+
+/**
+ * Loads every unit file under a set of directories, updates it the same way as loading it into
+ * the editor does, and saves it again in the format the editor would save it in: MTF for mechs
+ * and BLK for everything else. This is run after the equipment tables change, to bring the unit
+ * files up to date.
+ *
+ * Each file is written to a temporary file beside it and moved into place only when it is
+ * complete, so an interrupted run never leaves a file partly written. A file whose new content is
+ * the same as the old content is left alone. A file in another format, such as HMP, is converted
+ * to a new file beside the original, which is kept. Units in zip archives and unit lists are not
+ * changed.
+ *
+ * If the file a unit would be converted to already exists, the unit is reported as a conflict and
+ * nothing is written, unless -overwrite is given. This also keeps two units from being written to
+ * the same file at once.
+ *
+ * Usage: BatchResave [-threads n] [-out report.csv|report.json] [-dry-run] [-overwrite] [path ...]
+ *
+ * If no paths are given, data/mechfiles is re-saved. With -dry-run, files are compared but not
+ * written.
+ */
+public class BatchResave {
+
+    private static final String[] COLUMNS = { "file", "output", "status", "message" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+    private enum Status {
+        UNCHANGED, UPDATED, CONVERTED, CONFLICT, SKIPPED, FAILED;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * The outcome of re-saving a single file.
+     */
+    private static class Result {
+        final String file;
+        String output;
+        Status status;
+        String message;
+
+        Result(UnitFile file) {
+            this.file = file.getName();
+        }
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        File out = new File("resave-report.csv"); //$NON-NLS-1$
+        boolean dryRun = false;
+        boolean overwrite = false;
+        List<File> roots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-threads") && (i + 1 < args.length)) { //$NON-NLS-1$
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-out") && (i + 1 < args.length)) { //$NON-NLS-1$
+                out = new File(args[++i]);
+            } else if (args[i].equals("-dry-run")) { //$NON-NLS-1$
+                dryRun = true;
+            } else if (args[i].equals("-overwrite")) { //$NON-NLS-1$
+                overwrite = true;
+            } else {
+                roots.add(new File(args[i]));
+            }
+        }
+        if (roots.isEmpty()) {
+            roots.add(new File("data/mechfiles")); //$NON-NLS-1$
+        }
+
+        EquipmentType.initializeTypes();
+        final boolean write = !dryRun;
+        final boolean replace = overwrite;
+        final long start = System.nanoTime();
+        final Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        try (ReportWriter report = ReportWriter.open(out, COLUMNS)) {
+            int count = new BatchRunner(threads).run(roots, f -> resave(f, write, replace), result -> {
+                counts.merge(result.status, 1, Integer::sum);
+                report.writeRow(result.file, result.output, result.status, result.message);
+            });
+            System.out.println(String.format("%s %d units in %.1f s; %s. Report written to %s", //$NON-NLS-1$
+                    write ? "Re-saved" : "Checked", count, (System.nanoTime() - start) / 1e9, //$NON-NLS-1$ //$NON-NLS-2$
+                    counts, out.getPath()));
+        } catch (IOException ex) {
+            System.err.println("Unable to write report: " + ex.getMessage()); //$NON-NLS-1$
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Loads, updates, and re-saves a single file, recording any error in the result.
+     *
+     * @param write     Whether to write the file, or only compare it
+     * @param overwrite Whether to replace an existing file when converting a unit to another format
+     */
+    private static Result resave(UnitFile file, boolean write, boolean overwrite) {
+        final Result result = new Result(file);
+        if (file.isArchiveEntry()) {
+            result.status = Status.SKIPPED;
+            result.message = "Units in archives and unit lists are not re-saved"; //$NON-NLS-1$
+            return result;
+        }
+        final Entity entity;
+        try {
+            entity = file.load();
+            UnitUtil.updateLoadedUnit(entity);
+            UnitUtil.compactCriticals(entity);
+        } catch (Exception ex) {
+            result.status = Status.FAILED;
+            result.message = "Unable to load: " + ex.getMessage(); //$NON-NLS-1$
+            return result;
+        }
+        final Path source = file.getFile().toPath();
+        final Path target = source.resolveSibling(canonicalName(source, entity));
+        result.output = target.toString();
+        if (!overwrite && !target.equals(source) && Files.exists(target)) {
+            result.status = Status.CONFLICT;
+            result.message = "The converted file already exists; use -overwrite to replace it"; //$NON-NLS-1$
+            return result;
+        }
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), "megameklab", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+            save(entity, temp);
+            if (Files.exists(target) && Arrays.equals(digest(temp), digest(target))) {
+                result.status = Status.UNCHANGED;
+            } else {
+                result.status = target.equals(source) ? Status.UPDATED : Status.CONVERTED;
+                if (write) {
+                    moveIntoPlace(temp, target);
+                }
+            }
+        } catch (Exception ex) {
+            result.status = Status.FAILED;
+            result.message = "Unable to save: " + ex; //$NON-NLS-1$
+        } finally {
+            if (null != temp) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // The move failed or the run was a dry run; a stray temporary file is harmless
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The name of the file, with the extension changed to the one the editor would save
+     *         the unit with
+     */
+    private static String canonicalName(Path file, Entity entity) {
+        final String name = file.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        return ((dot > 0) ? name.substring(0, dot) : name)
+                + ((entity instanceof Mech) ? ".mtf" : ".blk"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Writes the unit the same way as saving it from the editor.
+     */
+    private static void save(Entity entity, Path file) throws Exception {
+        if (entity instanceof Mech) {
+            try (PrintStream p = new PrintStream(Files.newOutputStream(file))) {
+                p.println(((Mech) entity).getMtf());
+            }
+        } else {
+            BLKFile.encode(file.toString(), entity);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static byte[] digest(Path file) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest md = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+        try (InputStream in = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                md.update(buffer, 0, read);
+            }
+        }
+        return md.digest();
+    }
+}
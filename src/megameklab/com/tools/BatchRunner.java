@@ -0,0 +1,149 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import megameklab.com.MegaMekLab;
+
+/**
+ * Processes unit files on several threads while they are still being found. Only a few files per
+ * thread are held in memory at once; finding more files waits until earlier ones are finished.
+ * Results are passed to a single consumer one at a time, in the order they complete, so the
+ * consumer can write them out as it goes without keeping them. If the consumer fails, no more
+ * files are started and the failure is thrown once the files already started are finished.
+ */
+public class BatchRunner {
+
+    /** The number of files queued for each thread */
+    private static final int QUEUE_PER_THREAD = 4;
+
+    /** Thrown from the source's action to stop it after the consumer has failed */
+    private static class Stopped extends RuntimeException {
+        private static final long serialVersionUID = -2960405542216357434L;
+    }
+
+    private final int threads;
+
+    /**
+     * @param threads The number of files to process at once
+     */
+    public BatchRunner(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @return A runner with one thread for each processor
+     */
+    public static BatchRunner perProcessor() {
+        return new BatchRunner(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Processes every unit file under the given roots.
+     *
+     * @param roots   Files, directories, archives, and unit lists to search
+     * @param task    Processes a single file
+     * @param results Receives each result
+     * @return        The number of files processed
+     * @throws IOException If a directory or archive cannot be read
+     * @see #run(UnitFile.Source, Function, Consumer)
+     */
+    public <R> int run(List<File> roots, Function<UnitFile, R> task, Consumer<R> results)
+            throws IOException {
+        return run(UnitFile.in(roots), task, results);
+    }
+
+    /**
+     * Processes every unit from a source.
+     *
+     * @param source  Provides the units
+     * @param task    Processes a single file. This is called on several threads at once and should
+     *                report problems with the file in its result rather than by throwing.
+     * @param results Receives each result. Calls are never concurrent.
+     * @return        The number of files processed
+     * @throws IOException If the source cannot be read, or the consumer throws an
+     *                     {@link UncheckedIOException}
+     * @throws RuntimeException If the consumer throws any other exception
+     */
+    public <R> int run(UnitFile.Source source, Function<UnitFile, R> task, Consumer<R> results)
+            throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final Semaphore queued = new Semaphore(threads * QUEUE_PER_THREAD);
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            source.forEach(file -> {
+                queued.acquireUninterruptibly();
+                if (null != failure.get()) {
+                    queued.release();
+                    throw new Stopped();
+                }
+                executor.execute(() -> {
+                    try {
+                        final R result;
+                        try {
+                            result = task.apply(file);
+                        } catch (Throwable ex) {
+                            MegaMekLab.getLogger().error(BatchRunner.class, "run()", ex);
+                            return;
+                        }
+                        synchronized (results) {
+                            if (null != failure.get()) {
+                                return;
+                            }
+                            try {
+                                results.accept(result);
+                            } catch (RuntimeException ex) {
+                                failure.set(ex);
+                                return;
+                            }
+                        }
+                        count.incrementAndGet();
+                    } finally {
+                        queued.release();
+                    }
+                });
+            });
+        } catch (Stopped ex) {
+            // The consumer failed; the failure is thrown below
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        final RuntimeException ex = failure.get();
+        if (ex instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) ex).getCause();
+        } else if (null != ex) {
+            throw ex;
+        }
+        return count.get();
+    }
+}
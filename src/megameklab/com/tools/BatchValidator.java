@@ -0,0 +1,135 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.UnitType;
+import megameklab.com.util.UnitUtil;
+
+/**
+ * Validates every unit in a set of directories and zip archives and writes the results to a CSV
+ * or JSON report, with one row per unit giving the problems found and the time taken to parse
+ * and validate it. Units are processed on all available processors.
+ *
+ * Usage: BatchValidator [-threads n] [-out report.csv|report.json] [path ...]
+ *
+ * If no paths are given, data/mechfiles is validated.
+ */
+public class BatchValidator {
+
+    private static final String[] COLUMNS = { "file", "chassis", "model", "type", "valid", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+            "parse_ms", "validate_ms", "problems" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    /**
+     * The outcome of validating a single file.
+     */
+    private static class Result {
+        final String file;
+        String chassis;
+        String model;
+        String type;
+        String problems = ""; //$NON-NLS-1$
+        boolean valid;
+        double parseMillis;
+        double validateMillis;
+
+        Result(UnitFile file) {
+            this.file = file.getName();
+        }
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        File out = new File("validation-report.csv"); //$NON-NLS-1$
+        List<File> roots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-threads") && (i + 1 < args.length)) { //$NON-NLS-1$
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-out") && (i + 1 < args.length)) { //$NON-NLS-1$
+                out = new File(args[++i]);
+            } else {
+                roots.add(new File(args[i]));
+            }
+        }
+        if (roots.isEmpty()) {
+            roots.add(new File("data/mechfiles")); //$NON-NLS-1$
+        }
+
+        EquipmentType.initializeTypes();
+        final long start = System.nanoTime();
+        final AtomicInteger invalid = new AtomicInteger();
+        try (ReportWriter report = ReportWriter.open(out, COLUMNS)) {
+            int count = new BatchRunner(threads).run(roots, BatchValidator::validate, result -> {
+                if (!result.valid) {
+                    invalid.incrementAndGet();
+                }
+                report.writeRow(result.file, result.chassis, result.model, result.type,
+                        result.valid, Math.round(result.parseMillis * 100) / 100.0,
+                        Math.round(result.validateMillis * 100) / 100.0, result.problems.trim());
+            });
+            System.out.println(String.format("Validated %d units in %.1f s; %d invalid. Report written to %s", //$NON-NLS-1$
+                    count, (System.nanoTime() - start) / 1e9, invalid.get(), out.getPath()));
+        } catch (IOException ex) {
+            System.err.println("Unable to write report: " + ex.getMessage()); //$NON-NLS-1$
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Parses and validates a single file, recording any error as a problem.
+     */
+    private static Result validate(UnitFile file) {
+        final Result result = new Result(file);
+        long time = System.nanoTime();
+        final Entity entity;
+        try {
+            entity = file.load();
+        } catch (Exception ex) {
+            result.problems = "Unable to load: " + ex.getMessage(); //$NON-NLS-1$
+            return result;
+        } finally {
+            result.parseMillis = elapsedMillis(time);
+        }
+        if (null == entity) {
+            result.problems = "Unable to load: the file does not contain a unit"; //$NON-NLS-1$
+            return result;
+        }
+        result.chassis = entity.getChassis();
+        result.model = entity.getModel();
+        result.type = UnitType.getTypeName(entity.getUnitType());
+        time = System.nanoTime();
+        try {
+            result.problems = UnitUtil.validateUnit(entity);
+            result.valid = result.problems.trim().isEmpty();
+        } catch (Exception ex) {
+            result.problems = "Validation failed: " + ex; //$NON-NLS-1$
+        } finally {
+            result.validateMillis = elapsedMillis(time);
+        }
+        return result;
+    }
+
+    private static double elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
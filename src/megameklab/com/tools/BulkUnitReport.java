@@ -0,0 +1,173 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.UnitType;
+import megamek.common.verifier.TestEntity;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
+import megameklab.com.util.UnitUtil;
+
+/**
+ * Calculates the battle value, cost, and weight of every unit in the unit cache, a set of
+ * directories and archives, or a unit list (MUL), and writes them to a CSV or JSON report. The
+ * values are the ones shown in the status bar. With -details, the report also contains the
+ * breakdowns shown by the BV, cost, and weight dialogs.
+ *
+ * Each unit is processed separately, so a unit that cannot be loaded or calculated is reported
+ * with its error and does not stop the run.
+ *
+ * Usage: BulkUnitReport [-threads n] [-out report.csv|report.json] [-details] [-cache | path ...]
+ *
+ * If neither -cache nor any paths are given, the unit cache is used.
+ */
+public class BulkUnitReport {
+
+    private static final String[] COLUMNS = { "file", "chassis", "model", "type", "tonnage", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+            "bv", "cost", "weight", "error" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    private static final String[] DETAIL_COLUMNS = { "bv_breakdown", "cost_breakdown", //$NON-NLS-1$ //$NON-NLS-2$
+            "weight_breakdown" }; //$NON-NLS-1$
+
+    /**
+     * The values calculated for a single unit. Anything that could not be calculated is null.
+     */
+    private static class Result {
+        final String file;
+        String chassis;
+        String model;
+        String type;
+        Double tonnage;
+        Double bv;
+        Double cost;
+        Double weight;
+        String bvBreakdown;
+        String costBreakdown;
+        String weightBreakdown;
+        String error;
+
+        Result(UnitFile file) {
+            this.file = file.getName();
+        }
+
+        Object[] toRow(boolean details) {
+            final List<Object> row = new ArrayList<>();
+            row.add(file);
+            row.add(chassis);
+            row.add(model);
+            row.add(type);
+            row.add(tonnage);
+            row.add(bv);
+            row.add(cost);
+            row.add(weight);
+            row.add(error);
+            if (details) {
+                row.add(bvBreakdown);
+                row.add(costBreakdown);
+                row.add(weightBreakdown);
+            }
+            return row.toArray();
+        }
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        File out = new File("unit-report.csv"); //$NON-NLS-1$
+        boolean details = false;
+        boolean useCache = false;
+        List<File> roots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-threads") && (i + 1 < args.length)) { //$NON-NLS-1$
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-out") && (i + 1 < args.length)) { //$NON-NLS-1$
+                out = new File(args[++i]);
+            } else if (args[i].equals("-details")) { //$NON-NLS-1$
+                details = true;
+            } else if (args[i].equals("-cache")) { //$NON-NLS-1$
+                useCache = true;
+            } else {
+                roots.add(new File(args[i]));
+            }
+        }
+        final UnitFile.Source source = (useCache || roots.isEmpty()) ? UnitFile.inCache()
+                : UnitFile.in(roots);
+
+        EquipmentType.initializeTypes();
+        final String[] columns = details ? concat(COLUMNS, DETAIL_COLUMNS) : COLUMNS;
+        final boolean withDetails = details;
+        final long start = System.nanoTime();
+        final AtomicInteger failed = new AtomicInteger();
+        try (ReportWriter report = ReportWriter.open(out, columns)) {
+            int count = new BatchRunner(threads).run(source, f -> calculate(f, withDetails), result -> {
+                if (null != result.error) {
+                    failed.incrementAndGet();
+                }
+                report.writeRow(result.toRow(withDetails));
+            });
+            System.out.println(String.format("Reported %d units in %.1f s; %d with errors. Report written to %s", //$NON-NLS-1$
+                    count, (System.nanoTime() - start) / 1e9, failed.get(), out.getPath()));
+        } catch (IOException ex) {
+            System.err.println("Unable to write report: " + ex.getMessage()); //$NON-NLS-1$
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Loads a unit and calculates its values. Any failure is recorded in the result, keeping
+     * whatever was calculated before it.
+     */
+    private static Result calculate(UnitFile file, boolean details) {
+        final Result result = new Result(file);
+        try {
+            final Entity entity = file.load();
+            result.chassis = entity.getChassis();
+            result.model = entity.getModel();
+            result.type = UnitType.getTypeName(entity.getUnitType());
+            result.tonnage = entity.getWeight();
+            result.bv = UnitMetrics.calculate(Metric.BATTLE_VALUE, entity);
+            result.cost = UnitMetrics.calculate(Metric.COST, entity);
+            result.weight = UnitMetrics.calculate(Metric.WEIGHT, entity);
+            if (details) {
+                // The same calculations as the BV and cost breakdown dialogs. Both breakdowns
+                // are reported through the BV text, so each is read right after it is made.
+                entity.calculateBattleValue(true, true);
+                result.bvBreakdown = entity.getBVText();
+                entity.getCost(true);
+                result.costBreakdown = entity.getBVText();
+                final TestEntity testEntity = UnitUtil.getEntityVerifier(entity);
+                if (null != testEntity) {
+                    result.weightBreakdown = testEntity.printEntity().toString();
+                }
+            }
+        } catch (Exception ex) {
+            result.error = ex.toString();
+        }
+        return result;
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        final String[] result = new String[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
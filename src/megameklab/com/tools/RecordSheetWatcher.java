@@ -0,0 +1,396 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.awt.print.PageFormat;
+import java.awt.print.Paper;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.PNGTranscoder;
+import org.w3c.dom.Document;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.Jumpship;
+import megamek.common.Mech;
+import megamek.common.MechFileParser;
+import megamek.common.annotations.Nullable;
+import megameklab.com.printing.PrintCapitalShip;
+import megameklab.com.printing.PrintEntity;
+import megameklab.com.printing.PrintMech;
+import megameklab.com.printing.RecordSheetOptions;
+import megameklab.com.util.UnitUtil;
+
+/**
+ * Watches a directory of unit files and writes the record sheet of each one to an SVG file,
+ * writing it again whenever the unit file changes. This lets a unit file edited outside
+ * MegaMekLab be checked against its record sheet as it is saved.
+ *
+ * When the watcher starts, sheets that are missing or older than their unit files are written.
+ * After that, a sheet is written only when its unit file changes. Changes to the same file are
+ * gathered until the file has been quiet for the debounce interval, and sheets are written one at
+ * a time in the background; a file that changes again while it is waiting to be written is
+ * written only once.
+ *
+ * Only units with SVG record sheets (mechs and capital ships) are written. Each page of a sheet
+ * is written to its own file, named for the unit file, in the same relative location under the
+ * output directory. With -png, each page is also written as an image.
+ *
+ * Usage: RecordSheetWatcher [-out dir] [-png] [-debounce ms] dir
+ */
+public class RecordSheetWatcher {
+
+    private static final long DEFAULT_DEBOUNCE = 500;
+    private static final String[] UNIT_EXTENSIONS = { ".mtf", ".blk" }; //$NON-NLS-1$ //$NON-NLS-2$
+    private static final String[] SHEET_EXTENSIONS = { ".svg", ".png" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+    private final Path root;
+    private final Path outDir;
+    private final boolean png;
+    private final long debounce;
+    private final WatchService watcher;
+    private final Map<WatchKey, Path> dirs = new HashMap<>();
+    /** Changed files and when they will have been quiet long enough to write, in milliseconds */
+    private final Map<Path, Long> pending = new LinkedHashMap<>();
+    /** Files waiting for the renderer, so a file already waiting is not queued again */
+    private final Set<Path> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "Record Sheet Renderer"); //$NON-NLS-1$
+        t.setDaemon(true);
+        return t;
+    });
+    private final PageFormat pageFormat = new PageFormat();
+
+    private RecordSheetWatcher(Path root, Path outDir, boolean png, long debounce) throws IOException {
+        this.root = root;
+        this.outDir = outDir;
+        this.png = png;
+        this.debounce = debounce;
+        watcher = root.getFileSystem().newWatchService();
+        // Use the whole page, as when printing
+        final Paper paper = pageFormat.getPaper();
+        paper.setImageableArea(0, 0, paper.getWidth(), paper.getHeight());
+        pageFormat.setPaper(paper);
+    }
+
+    public static void main(String[] args) {
+        File out = new File("record-sheets"); //$NON-NLS-1$
+        boolean png = false;
+        long debounce = DEFAULT_DEBOUNCE;
+        File dir = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-out") && (i + 1 < args.length)) { //$NON-NLS-1$
+                out = new File(args[++i]);
+            } else if (args[i].equals("-png")) { //$NON-NLS-1$
+                png = true;
+            } else if (args[i].equals("-debounce") && (i + 1 < args.length)) { //$NON-NLS-1$
+                debounce = Long.parseLong(args[++i]);
+            } else {
+                dir = new File(args[i]);
+            }
+        }
+        if ((null == dir) || !dir.isDirectory()) {
+            System.err.println("Usage: RecordSheetWatcher [-out dir] [-png] [-debounce ms] dir"); //$NON-NLS-1$
+            System.exit(1);
+        }
+
+        EquipmentType.initializeTypes();
+        try {
+            new RecordSheetWatcher(dir.toPath().toAbsolutePath(), out.toPath().toAbsolutePath(),
+                    png, Math.max(0, debounce)).run();
+        } catch (IOException ex) {
+            System.err.println("Unable to watch " + dir + ": " + ex.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            System.exit(1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Writes any out of date sheets and then watches for changes until interrupted or the
+     * directory is removed.
+     */
+    private void run() throws IOException, InterruptedException {
+        register(root);
+        System.out.println("Watching " + root + "; writing record sheets to " + outDir); //$NON-NLS-1$ //$NON-NLS-2$
+        while (!dirs.isEmpty()) {
+            final WatchKey key;
+            if (pending.isEmpty()) {
+                key = watcher.take();
+            } else {
+                final long wait = pending.values().iterator().next() - System.currentTimeMillis();
+                key = watcher.poll(Math.max(0, wait), TimeUnit.MILLISECONDS);
+            }
+            if (null != key) {
+                handleEvents(key);
+            }
+            queueQuietFiles();
+        }
+    }
+
+    /**
+     * Watches a directory and everything below it, and queues any sheets in it that are out of
+     * date.
+     */
+    private void register(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Iterator<Path> iter = paths.iterator(); iter.hasNext();) {
+                final Path path = iter.next();
+                if (isOutput(path)) {
+                    continue;
+                }
+                if (Files.isDirectory(path)) {
+                    dirs.put(path.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), path);
+                } else if (isUnitFile(path) && isStale(path)) {
+                    queue(path);
+                }
+            }
+        }
+    }
+
+    private void handleEvents(WatchKey key) throws IOException {
+        final Path dir = dirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                // Some changes were lost, so check everything
+                register(root);
+                continue;
+            }
+            if (null == dir) {
+                continue;
+            }
+            final Path path = dir.resolve((Path) event.context());
+            if (isOutput(path)) {
+                continue;
+            }
+            if ((event.kind() == ENTRY_CREATE) && Files.isDirectory(path)) {
+                register(path);
+            } else if (isUnitFile(path)) {
+                // Moving the entry to the end keeps the map ordered by when each file is quiet.
+                // Deleted files are handled the same way, and the renderer removes their sheets.
+                pending.remove(path);
+                pending.put(path, System.currentTimeMillis() + debounce);
+            }
+        }
+        if (!key.reset()) {
+            dirs.remove(key);
+        }
+    }
+
+    /**
+     * Queues every changed file that has not changed again within the debounce interval.
+     */
+    private void queueQuietFiles() {
+        final long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<Path, Long>> iter = pending.entrySet().iterator(); iter.hasNext();) {
+            final Map.Entry<Path, Long> entry = iter.next();
+            if (entry.getValue() > now) {
+                break;
+            }
+            iter.remove();
+            queue(entry.getKey());
+        }
+    }
+
+    private void queue(Path file) {
+        if (queued.add(file)) {
+            renderer.execute(() -> {
+                // Removed before rendering, so a change made while this runs queues it again
+                queued.remove(file);
+                render(file);
+            });
+        }
+    }
+
+    /**
+     * Writes the sheets for a unit file. This runs on the renderer thread.
+     */
+    private void render(Path file) {
+        final long start = System.nanoTime();
+        final Path name = root.relativize(file);
+        try {
+            if (!Files.exists(file)) {
+                deleteSheets(file, 0);
+                return;
+            }
+            final Entity entity = new MechFileParser(file.toFile()).getEntity();
+            final PrintEntity sheet = createSheet(entity);
+            if (null == sheet) {
+                System.out.println(name + ": no SVG record sheet for this unit type"); //$NON-NLS-1$
+                return;
+            }
+            final int pages = sheet.getPageCount();
+            for (int page = 0; page < pages; page++) {
+                final Document doc = sheet.exportSVG(pageFormat, page);
+                if (null == doc) {
+                    throw new IOException("Unable to load the record sheet template"); //$NON-NLS-1$
+                }
+                final Path target = sheetFile(file, page, pages, ".svg"); //$NON-NLS-1$
+                writeAtomically(target, out -> {
+                    final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+                    transformer.transform(new DOMSource(doc), new StreamResult(out));
+                });
+                if (png) {
+                    writeAtomically(sheetFile(file, page, pages, ".png"), out -> //$NON-NLS-1$
+                            new PNGTranscoder().transcode(new TranscoderInput(doc), new TranscoderOutput(out)));
+                }
+            }
+            // In case the number of pages changed
+            deleteSheets(file, pages);
+            System.out.println(String.format("%s: wrote %d page(s) in %d ms", name, pages, //$NON-NLS-1$
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        } catch (Exception ex) {
+            System.err.println(name + ": " + ex); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * @return The record sheet for the unit, or null if it does not have an SVG record sheet
+     */
+    private static @Nullable PrintEntity createSheet(Entity entity) {
+        if (entity instanceof Mech) {
+            // The same preparation as printing a mech
+            UnitUtil.removeOneShotAmmo(entity);
+            UnitUtil.expandUnitMounts((Mech) entity);
+            return new PrintMech((Mech) entity, 0, new RecordSheetOptions());
+        } else if (entity instanceof Jumpship) {
+            return new PrintCapitalShip((Jumpship) entity, 0, new RecordSheetOptions());
+        }
+        return null;
+    }
+
+    /**
+     * @return The file to write one page of a unit's sheet to. A sheet with more than one page has
+     *         the page number added to the name.
+     */
+    private Path sheetFile(Path unitFile, int page, int pages, String extension) {
+        final Path relative = root.relativize(unitFile);
+        final String name = relative.getFileName().toString();
+        final String base = name.substring(0, name.lastIndexOf('.'));
+        final String fileName = (pages > 1) ? (base + "-" + (page + 1) + extension) : (base + extension); //$NON-NLS-1$
+        final Path parent = relative.getParent();
+        return ((null == parent) ? outDir : outDir.resolve(parent)).resolve(fileName);
+    }
+
+    /**
+     * @return Whether the sheet for the unit file is missing or older than the unit file
+     */
+    private boolean isStale(Path unitFile) {
+        try {
+            Path sheet = sheetFile(unitFile, 0, 1, ".svg"); //$NON-NLS-1$
+            if (!Files.exists(sheet)) {
+                sheet = sheetFile(unitFile, 0, 2, ".svg"); //$NON-NLS-1$
+            }
+            return !Files.exists(sheet)
+                    || Files.getLastModifiedTime(sheet).compareTo(Files.getLastModifiedTime(unitFile)) < 0;
+        } catch (IOException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Deletes the pages written for a unit file that are not part of its current sheet.
+     *
+     * @param unitFile The unit file
+     * @param pages    The number of pages in the current sheet, or 0 to delete every page
+     */
+    private void deleteSheets(Path unitFile, int pages) throws IOException {
+        for (String ext : SHEET_EXTENSIONS) {
+            if (pages != 1) {
+                Files.deleteIfExists(sheetFile(unitFile, 0, 1, ext));
+            }
+            for (int page = (pages > 1) ? pages : 0;
+                    Files.deleteIfExists(sheetFile(unitFile, page, 2, ext)); page++) {
+                // Keep going until a page is missing
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream out) throws Exception;
+    }
+
+    /**
+     * Writes a file beside the target and moves it into place, so a viewer watching the output
+     * never loads a partly written sheet.
+     */
+    private static void writeAtomically(Path target, Writer writer) throws Exception {
+        Files.createDirectories(target.getParent());
+        final Path temp = Files.createTempFile(target.getParent(), "sheet", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return Whether the path is in the output directory, unless the whole watched directory is
+     */
+    private boolean isOutput(Path path) {
+        return path.startsWith(outDir) && !root.startsWith(outDir);
+    }
+
+    private static boolean isUnitFile(Path path) {
+        final String lower = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String ext : UNIT_EXTENSIONS) {
+            if (lower.endsWith(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
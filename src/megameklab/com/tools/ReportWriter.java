@@ -0,0 +1,179 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the rows of a batch report to a file as they are produced, as either comma-separated
+ * values or a JSON array of objects. The format is chosen from the file extension.
+ */
+public abstract class ReportWriter implements Closeable {
+
+    protected final Writer out;
+    protected final List<String> columns;
+
+    protected ReportWriter(File file, List<String> columns) throws IOException {
+        out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
+                StandardCharsets.UTF_8));
+        this.columns = columns;
+    }
+
+    /**
+     * Opens a report file.
+     *
+     * @param file    The file to write. A name ending in .json produces JSON; any other name
+     *                produces CSV.
+     * @param columns The column names
+     * @return        The writer
+     * @throws IOException If the file cannot be created
+     */
+    public static ReportWriter open(File file, String... columns) throws IOException {
+        if (file.getName().toLowerCase(Locale.ROOT).endsWith(".json")) { //$NON-NLS-1$
+            return new Json(file, Arrays.asList(columns));
+        }
+        return new Csv(file, Arrays.asList(columns));
+    }
+
+    /**
+     * Writes a row. Numbers and booleans are written as they are, and other values as text.
+     *
+     * @param values One value for each column, in order; null values are written as empty
+     * @throws UncheckedIOException If the file cannot be written
+     */
+    public void writeRow(Object... values) {
+        try {
+            write(values);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    protected abstract void write(Object[] values) throws IOException;
+
+    private static class Csv extends ReportWriter {
+
+        Csv(File file, List<String> columns) throws IOException {
+            super(file, columns);
+            write(columns.toArray());
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (null != values[i]) {
+                    out.write(quote(values[i].toString()));
+                }
+            }
+            out.write(System.lineSeparator());
+        }
+
+        private static String quote(String value) {
+            if ((value.indexOf(',') < 0) && (value.indexOf('"') < 0)
+                    && (value.indexOf('\n') < 0) && (value.indexOf('\r') < 0)) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"'; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static class Json extends ReportWriter {
+        private boolean first = true;
+
+        Json(File file, List<String> columns) throws IOException {
+            super(file, columns);
+            out.write('[');
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            out.write(first ? System.lineSeparator() : "," + System.lineSeparator()); //$NON-NLS-1$
+            first = false;
+            out.write("  {"); //$NON-NLS-1$
+            for (int i = 0; i < Math.min(values.length, columns.size()); i++) {
+                if (i > 0) {
+                    out.write(", "); //$NON-NLS-1$
+                }
+                out.write(quote(columns.get(i)));
+                out.write(": "); //$NON-NLS-1$
+                final Object val = values[i];
+                if ((val instanceof Number) || (val instanceof Boolean)) {
+                    out.write(val.toString());
+                } else if (null == val) {
+                    out.write("null"); //$NON-NLS-1$
+                } else {
+                    out.write(quote(val.toString()));
+                }
+            }
+            out.write('}');
+        }
+
+        private static String quote(String value) {
+            final StringBuilder sb = new StringBuilder(value.length() + 2);
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        sb.append("\\\""); //$NON-NLS-1$
+                        break;
+                    case '\\':
+                        sb.append("\\\\"); //$NON-NLS-1$
+                        break;
+                    case '\n':
+                        sb.append("\\n"); //$NON-NLS-1$
+                        break;
+                    case '\r':
+                        sb.append("\\r"); //$NON-NLS-1$
+                        break;
+                    case '\t':
+                        sb.append("\\t"); //$NON-NLS-1$
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+                        } else {
+                            sb.append(c);
+                        }
+                }
+            }
+            return sb.append('"').toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.write(System.lineSeparator() + "]" + System.lineSeparator()); //$NON-NLS-1$
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import megamek.common.Entity;
+import megamek.common.EntityListFile;
+import megamek.common.MechFileParser;
+import megamek.common.MechSummary;
+import megamek.common.MechSummaryCache;
+import megamek.common.loaders.EntityLoadingException;
+
+/**
+ * A unit found by a batch tool. The unit may be in a file on disk, an entry in a zip archive, a
+ * unit list (MUL), or the unit cache. Entries in an archive are read into memory when they are
+ * found, so that they can be parsed on any thread without sharing the archive.
+ */
+public class UnitFile {
+
+    private static final String[] UNIT_EXTENSIONS = { ".mtf", ".blk", ".hmp" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    /** How often to check whether the unit cache has finished loading, in milliseconds */
+    private static final long CACHE_POLL = 100;
+
+    /**
+     * Produces the units for a batch tool one at a time.
+     */
+    @FunctionalInterface
+    public interface Source {
+        void forEach(Consumer<UnitFile> action) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        Entity load() throws EntityLoadingException;
+    }
+
+    private final String name;
+    private final File file;
+    private final boolean archiveEntry;
+    private final Loader loader;
+
+    private UnitFile(String name, File file, boolean archiveEntry, Loader loader) {
+        this.name = name;
+        this.file = file;
+        this.archiveEntry = archiveEntry;
+        this.loader = loader;
+    }
+
+    private static UnitFile ofFile(File file) {
+        return new UnitFile(file.getPath(), file, false, () -> new MechFileParser(file).getEntity());
+    }
+
+    private static UnitFile ofArchiveEntry(File archive, String entryName, byte[] data) {
+        return new UnitFile(archive.getPath() + "!" + entryName, archive, true, //$NON-NLS-1$
+                () -> new MechFileParser(new ByteArrayInputStream(data), entryName).getEntity());
+    }
+
+    /**
+     * @param roots Files, directories, archives, and unit lists to search
+     * @return      A source of every unit under the roots
+     * @see #forEach(List, Consumer)
+     */
+    public static Source in(List<File> roots) {
+        return action -> forEach(roots, action);
+    }
+
+    /**
+     * @return A source of every unit in the unit cache
+     * @see #forEachInCache(Consumer)
+     */
+    public static Source inCache() {
+        return UnitFile::forEachInCache;
+    }
+
+    /**
+     * Finds every unit under the given roots, one at a time. Directories are searched
+     * recursively, and zip archives and unit lists found along the way are searched as well.
+     *
+     * @param roots  Files, directories, archives, and unit lists to search
+     * @param action Receives each unit file as it is found
+     * @throws IOException If a directory or archive cannot be read
+     */
+    public static void forEach(List<File> roots, Consumer<UnitFile> action) throws IOException {
+        for (File root : roots) {
+            if (root.isDirectory()) {
+                try (Stream<Path> paths = Files.walk(root.toPath())) {
+                    for (Iterator<Path> iter = paths.sorted().iterator(); iter.hasNext();) {
+                        final Path path = iter.next();
+                        if (Files.isRegularFile(path)) {
+                            visit(path.toFile(), action);
+                        }
+                    }
+                }
+            } else {
+                visit(root, action);
+            }
+        }
+    }
+
+    /**
+     * Waits for the unit cache to load and then passes each unit in it to the action.
+     *
+     * @param action Receives each unit
+     */
+    public static void forEachInCache(Consumer<UnitFile> action) {
+        final MechSummaryCache cache = MechSummaryCache.getInstance();
+        while (!cache.isInitialized()) {
+            try {
+                Thread.sleep(CACHE_POLL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        for (MechSummary summary : cache.getAllMechs()) {
+            final File source = summary.getSourceFile();
+            final String entryName = summary.getEntryName();
+            final String name = (null == entryName) ? source.getPath()
+                    : source.getPath() + "!" + entryName; //$NON-NLS-1$
+            action.accept(new UnitFile(name, source, null != entryName,
+                    () -> new MechFileParser(source, entryName).getEntity()));
+        }
+    }
+
+    private static void visit(File file, Consumer<UnitFile> action) throws IOException {
+        final String lower = file.getName().toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".zip")) { //$NON-NLS-1$
+            try (ZipFile zip = new ZipFile(file)) {
+                for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+                    final ZipEntry entry = entries.nextElement();
+                    if (!entry.isDirectory() && isUnitFile(entry.getName())) {
+                        action.accept(ofArchiveEntry(file, entry.getName(), readFully(zip, entry)));
+                    }
+                }
+            }
+        } else if (lower.endsWith(".mul")) { //$NON-NLS-1$
+            final List<Entity> units;
+            try {
+                units = EntityListFile.loadFrom(file);
+            } catch (Exception ex) {
+                throw new IOException("Unable to read unit list " + file, ex); //$NON-NLS-1$
+            }
+            for (int i = 0; i < units.size(); i++) {
+                final Entity unit = units.get(i);
+                action.accept(new UnitFile(file.getPath() + "#" + (i + 1), file, true, //$NON-NLS-1$
+                        () -> unit));
+            }
+        } else if (isUnitFile(lower)) {
+            action.accept(ofFile(file));
+        }
+    }
+
+    private static boolean isUnitFile(String name) {
+        final String lower = name.toLowerCase(Locale.ROOT);
+        for (String ext : UNIT_EXTENSIONS) {
+            if (lower.endsWith(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] readFully(ZipFile zip, ZipEntry entry) throws IOException {
+        try (InputStream in = zip.getInputStream(entry)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    (entry.getSize() > 0) ? (int) entry.getSize() : 8192);
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * @return The path of the file, of the archive followed by ! and the entry name, or of the
+     *         unit list followed by # and the position of the unit in the list
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The file on disk, or the archive or unit list that contains the unit
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return Whether the unit is one of several in an archive or unit list, rather than having
+     *         a file of its own
+     */
+    public boolean isArchiveEntry() {
+        return archiveEntry;
+    }
+
+    /**
+     * Parses the unit.
+     *
+     * @return The unit
+     * @throws EntityLoadingException If the file is not a valid unit
+     */
+    public Entity load() throws EntityLoadingException {
+        return loader.load();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -174,6 +174,7 @@ public class MainUI extends MegaMekLabMainUI {
     @Override
     public void refreshAll() {
         statusbar.refresh();
+        getValidation().refresh();
         structureTab.refresh();
         equipmentTab.refresh();
         buildTab.refresh();
@@ -210,13 +211,14 @@ public class MainUI extends MegaMekLabMainUI {
     public void refreshHeader() {
 
         String title = getEntity().getChassis() + " " + getEntity().getModel() + ".blk";
-        setTitle(title);
+        setUnitTitle(title);
 
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
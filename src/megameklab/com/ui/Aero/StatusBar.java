@@ -23,6 +23,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -32,12 +33,13 @@ import megamek.common.AmmoType;
 import megamek.common.Entity;
 import megamek.common.Mounted;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestAero;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 public class StatusBar extends ITab {
@@ -53,9 +55,7 @@ public class StatusBar extends ITab {
     private JLabel tons = new JLabel();
     private JLabel heatSink = new JLabel();
     private JLabel cost = new JLabel();
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestAero testAero = null;
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -66,7 +66,8 @@ public class StatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testAero = new TestAero(getAero(), entityVerifier.aeroOption, null);
+        metrics = new UnitMetrics(parent, EnumSet.of(Metric.BATTLE_VALUE, Metric.COST,
+                Metric.WEIGHT, Metric.UNALLOCATED_AMMO), this::refreshMetrics);
         btnValidate.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 UnitUtil.showValidation(getAero(), getParentFrame());
@@ -100,21 +101,12 @@ public class StatusBar extends ITab {
 
 
         refresh();
+        metrics.refreshNow();
     }
 
     public void refresh() {
 
         int heat = getAero().getHeatCapacity();
-        double tonnage = getAero().getWeight();
-        double currentTonnage;
-        int bv = getAero().calculateBattleValue();
-        long currentCost = (long) Math.round(getAero().getCost(false));
-
-        testAero = new TestAero(getAero(), entityVerifier.aeroOption, null);
-
-        currentTonnage = testAero.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getAero());
-
         double totalHeat = calculateTotalHeat();
 
         heatSink.setText("Heat: " + totalHeat + "/" + heat);
@@ -126,6 +118,19 @@ public class StatusBar extends ITab {
         }
         heatSink.setVisible(getAero().getEntityType() == Entity.ETYPE_AERO);
 
+        metrics.refresh();
+    }
+
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        double tonnage = getAero().getWeight();
+        double currentTonnage = metrics.get(Metric.WEIGHT)
+                + metrics.get(Metric.UNALLOCATED_AMMO);
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        long currentCost = (long) metrics.get(Metric.COST);
+
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");
         if (currentTonnage > tonnage) {
@@ -201,6 +206,7 @@ public class StatusBar extends ITab {
                             .substring(new File(System.getProperty("user.dir")
                                     .toString()).getAbsolutePath().length() + 1);
             getAero().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
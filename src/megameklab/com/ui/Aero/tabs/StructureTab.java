@@ -53,6 +53,8 @@ import megameklab.com.ui.view.MVFArmorView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.PatchworkArmorView;
 import megameklab.com.ui.view.listeners.AeroBuildListener;
+import megameklab.com.util.ArmorOptimizer;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -66,6 +68,7 @@ public class StructureTab extends ITab implements AeroBuildListener {
 
     private JPanel masterPanel;
     private BasicInfoView panInfo;
+    private CachingTechManager techManager;
     private FighterChassisView panChassis;
     private MVFArmorView panArmor;
     private MovementView panMovement;
@@ -88,13 +91,14 @@ public class StructureTab extends ITab implements AeroBuildListener {
     private void setUpPanels() {
         masterPanel = new JPanel(new GridBagLayout());
         panInfo = new BasicInfoView(getAero().getConstructionTechAdvancement());
-        panChassis = new FighterChassisView(panInfo);
-        panArmor = new MVFArmorView(panInfo);
-        panMovement = new MovementView(panInfo);
+        techManager = new CachingTechManager(panInfo);
+        panChassis = new FighterChassisView(techManager);
+        panArmor = new MVFArmorView(techManager);
+        panMovement = new MovementView(techManager);
         panFuel = new AeroFuelView();
-        panHeat = new HeatSinkView(panInfo);
-        panArmorAllocation = new ArmorAllocationView(panInfo, Entity.ETYPE_AERO);
-        panPatchwork = new PatchworkArmorView(panInfo);
+        panHeat = new HeatSinkView(techManager);
+        panArmorAllocation = new ArmorAllocationView(techManager, Entity.ETYPE_AERO);
+        panPatchwork = new PatchworkArmorView(techManager);
         panSummary = new SummaryView(eSource);
         if (getAero().hasPatchworkArmor()) {
             panArmorAllocation.showPatchwork(true);
@@ -152,7 +156,7 @@ public class StructureTab extends ITab implements AeroBuildListener {
     }
     
     public ITechManager getTechManager() {
-        return panInfo;
+        return techManager;
     }
     
     /*
@@ -358,7 +362,7 @@ public class StructureTab extends ITab implements AeroBuildListener {
                     this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
                     "Bad Engine", JOptionPane.ERROR_MESSAGE);
         }
-        if (UnitUtil.checkEquipmentByTechLevel(getAero(), panInfo)) {
+        if (UnitUtil.checkEquipmentByTechLevel(getAero(), techManager)) {
             refresh.refreshEquipment();
         } else {
             refresh.refreshEquipmentTable();
@@ -587,8 +591,25 @@ public class StructureTab extends ITab implements AeroBuildListener {
         refresh.refreshStatus();
     }
 
+    /**
+     * Searches for the allocation that best meets the objective chosen in the allocation view.
+     */
+    private void optimizeArmor(ArmorOptimizer.Objective objective) {
+        new ArmorOptimizer(getAero(), objective).optimize(ArmorOptimizer.DEFAULT_TIME_BUDGET)
+                .apply(getAero());
+        getAero().autoSetThresh();
+        panArmorAllocation.setFromEntity(getAero());
+        refresh.refreshPreview();
+        refresh.refreshSummary();
+        refresh.refreshStatus();
+    }
+
     @Override
     public void autoAllocateArmor() {
+        if (null != panArmorAllocation.getObjective()) {
+            optimizeArmor(panArmorAllocation.getObjective());
+            return;
+        }
         for (int loc = 0; loc < getAero().locations(); loc++) {
             getAero().initializeArmor(0, loc);
         }
@@ -17,7 +17,6 @@
 package megameklab.com.ui.BattleArmor;
 
 import java.awt.BorderLayout;
-import java.awt.Color;
 
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
@@ -38,7 +37,6 @@ import megameklab.com.ui.BattleArmor.tabs.EquipmentTab;
 import megameklab.com.ui.BattleArmor.tabs.StructureTab;
 import megameklab.com.ui.tabs.FluffTab;
 import megameklab.com.util.MenuBarCreator;
-import megameklab.com.util.UnitUtil;
 
 public class MainUI extends MegaMekLabMainUI {
 
@@ -134,6 +132,7 @@ public class MainUI extends MegaMekLabMainUI {
     public void refreshAll() {
 
         statusbar.refresh();
+        getValidation().refresh();
         structureTab.refresh();
         refreshEquipment();
         refreshBuild();
@@ -165,20 +164,14 @@ public class MainUI extends MegaMekLabMainUI {
     public void refreshHeader() {
 
         String title = getEntity().getChassis() + " " + getEntity().getModel() + ".blk";
-
-        if (UnitUtil.validateUnit(getEntity()).length() > 0) {
-            title += "  (Invalid)";
-            setForeground(Color.red);
-        } else {
-            setForeground(Color.BLACK);
-        }
-        setTitle(title);
+        setUnitTitle(title);
 
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
@@ -23,19 +23,20 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
-import megamek.common.BattleArmor;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestBattleArmor;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 public class StatusBar extends ITab {
@@ -57,10 +58,8 @@ public class StatusBar extends ITab {
     private JLabel tons = new JLabel();
     private JLabel cost = new JLabel();
     
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
     
-    private TestBattleArmor testBA = null;
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -69,6 +68,8 @@ public class StatusBar extends ITab {
         super(parent);
         
         formatter = new DecimalFormat();
+        metrics = new UnitMetrics(parent, EnumSet.of(Metric.BATTLE_VALUE, Metric.COST,
+                Metric.WEIGHT, Metric.UNALLOCATED_AMMO), this::refreshMetrics);
         btnValidate.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 UnitUtil.showValidation(getBattleArmor(), getParentFrame());
@@ -106,6 +107,7 @@ public class StatusBar extends ITab {
         this.add(cost, gbc);
         
         refresh();
+        metrics.refreshNow();
     }
 
     public JPanel movementPanel() {
@@ -118,8 +120,7 @@ public class StatusBar extends ITab {
     }
 
     public JPanel bvPanel() {
-        int bv = getBattleArmor().calculateBattleValue();
-        bvLabel.setText("BV: " + bv);
+        // The value is filled in when the metrics have been calculated
         bvPanel.add(bvLabel);
 
         return bvPanel;
@@ -135,15 +136,22 @@ public class StatusBar extends ITab {
 
         int walk = getBattleArmor().getOriginalWalkMP();
         int jump = getBattleArmor().getOriginalJumpMP();
-        double maxKilos = getBattleArmor().getTrooperWeight();
-        double currentKilos;
-        int bv = getBattleArmor().calculateBattleValue();
-        long currentCost = (long) Math.round(getBattleArmor().getCost(false));
 
-        testBA = new TestBattleArmor(getBattleArmor(), entityVerifier.baOption,
-                null);
-        currentKilos = testBA.calculateWeight(BattleArmor.LOC_SQUAD);
-        currentKilos += UnitUtil.getUnallocatedAmmoTonnage(getBattleArmor());
+        move.setText("Movement: " + walk + "/" + jump);
+        move.setToolTipText("Walk/Jump MP");
+
+        metrics.refresh();
+    }
+
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        double maxKilos = getBattleArmor().getTrooperWeight();
+        double currentKilos = metrics.get(Metric.WEIGHT)
+                + metrics.get(Metric.UNALLOCATED_AMMO);
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        long currentCost = (long) metrics.get(Metric.COST);
 
         tons.setText("Suit Weight: " + String.format("%1$.3f",currentKilos) + 
                 "/" + maxKilos);
@@ -158,9 +166,6 @@ public class StatusBar extends ITab {
         bvLabel.setText("BV: " + bv);
         bvLabel.setToolTipText("BV 2.0");
 
-        move.setText("Movement: " + walk + "/" + jump);
-        move.setToolTipText("Walk/Jump MP");
-
         cost.setText("Squad Cost: " + formatter.format(currentCost) + " C-bills");
     }
     
@@ -184,6 +189,7 @@ public class StatusBar extends ITab {
                             .substring(new File(System.getProperty("user.dir")
                                     .toString()).getAbsolutePath().length() + 1);
             getBattleArmor().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
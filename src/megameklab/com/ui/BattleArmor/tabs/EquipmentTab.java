@@ -29,8 +29,8 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
-import java.util.Enumeration;
 import java.util.List;
 
 import javax.swing.AbstractAction;
@@ -52,6 +52,7 @@ import javax.swing.ListSelectionModel;
 import javax.swing.RowFilter;
 import javax.swing.RowSorter;
 import javax.swing.SortOrder;
+import javax.swing.Timer;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
@@ -69,6 +70,9 @@ import megamek.common.WeaponType;
 import megamek.common.weapons.artillery.ArtilleryWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
+import megameklab.com.util.EquipmentFilterIndex;
+import megameklab.com.util.EquipmentSearchIndex;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
@@ -109,6 +113,8 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     private CriticalTableModel equipmentList;
     private EquipmentTableModel masterEquipmentList;
+    private EquipmentFilterIndex filterIndex;
+    private final Timer filterTimer = new Timer(EquipmentSearchIndex.SEARCH_DELAY, ev -> filterEquipment(true));
     private JTable masterEquipmentTable = new JTable();
     private JScrollPane masterEquipmentScroll = new JScrollPane();
     private JTable equipmentTable = new JTable();
@@ -164,6 +170,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         equipmentScroll.setPreferredSize(new java.awt.Dimension(300, 200));
 
         masterEquipmentList = new EquipmentTableModel(eSource.getEntity(), eSource.getTechManager());
+        filterIndex = new EquipmentFilterIndex(masterEquipmentList, eSource, T_NUM, this::isAvailable);
         masterEquipmentTable.setModel(masterEquipmentList);
         masterEquipmentTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
         equipmentSorter = new TableRowSorter<EquipmentTableModel>(masterEquipmentList);
@@ -210,14 +217,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentTable.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "add");
         masterEquipmentTable.getActionMap().put("add", new EnterAction());
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            allTypes.add(eq);
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getAll());
 
         loadEquipmentTable();
 
@@ -236,15 +236,16 @@ public class EquipmentTab extends ITab implements ActionListener {
         txtFilter.setText("");
         txtFilter.setMinimumSize(new java.awt.Dimension(200, 28));
         txtFilter.setPreferredSize(new java.awt.Dimension(200, 28));
+        filterTimer.setRepeats(false);
         txtFilter.getDocument().addDocumentListener(new DocumentListener() {
             public void changedUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
             public void insertUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
             public void removeUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
         });
 
@@ -430,6 +431,7 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         updateEquipment();
         addAllListeners();
@@ -542,79 +544,95 @@ public class EquipmentTab extends ITab implements ActionListener {
     }
 
     private void filterEquipment() {
+        filterEquipment(false);
+    }
+
+    /**
+     * @param selectBest Whether to select the most relevant match of the search text. This is only
+     *                   done when the user changes the search text, so that other changes to the
+     *                   filter do not move the selection.
+     */
+    private void filterEquipment(boolean selectBest) {
         RowFilter<EquipmentTableModel, Integer> equipmentTypeFilter = null;
-        final int nType = choiceType.getSelectedIndex();
+        final BitSet available = filterIndex.getAvailable(choiceType.getSelectedIndex(),
+                chkShowAll.isSelected());
+        final EquipmentSearchIndex.SearchResult matches = EquipmentSearchIndex.getInstance()
+                .search(txtFilter.getText());
+        if (null != matches) {
+            matches.retainMatches(available, masterEquipmentList);
+        }
         equipmentTypeFilter = new RowFilter<EquipmentTableModel,Integer>() {
             @Override
-            public boolean include(Entry<? extends EquipmentTableModel,
-                    ? extends Integer> entry) {
-                EquipmentTableModel equipModel = entry.getModel();
-                EquipmentType etype = equipModel.getType(entry.getIdentifier());
-                WeaponType wtype = null;
-                if (etype instanceof WeaponType) {
-                    wtype = (WeaponType)etype;
-                }
-                AmmoType atype = null;
-                if (etype instanceof AmmoType) {
-                    atype = (AmmoType)etype;
-                }
-
-                if ((etype instanceof MiscType)
-                        && (etype.hasFlag(MiscType.F_TSM)
-                                || etype.hasFlag(MiscType.F_INDUSTRIAL_TSM)
-                                || (etype.hasFlag(MiscType.F_MASC)
-                                        && !etype.hasSubType(
-                                                MiscType.S_SUPERCHARGER)))) {
-                    return false;
-                }
-
-                // Don't show equipment that is added via the StructureTab
-                if ((etype instanceof MiscType )
-                        && (etype.hasFlag(MiscType.F_BA_MANIPULATOR)
-                            || etype.hasFlag(MiscType.F_PARTIAL_WING)
-                            || etype.hasFlag(MiscType.F_JUMP_BOOSTER)
-                            || etype.hasFlag(MiscType.F_MECHANICAL_JUMP_BOOSTER)
-                            || etype.hasFlag(MiscType.F_MASC))){
-                    return false;
-                }
-
-                if (etype.hasFlag(MiscType.F_DETACHABLE_WEAPON_PACK)
-                        && !getBattleArmor().canMountDWP()){
-                    return false;
-                }
-                BattleArmor ba = getBattleArmor();
-                if (((nType == T_OTHER) && UnitUtil.isUnitEquipment(etype, ba))
-                        || (((nType == T_WEAPON) && (UnitUtil.isUnitWeapon(etype, ba))))
-                        || ((nType == T_ENERGY) && UnitUtil.isUnitWeapon(etype, ba)
-                            && (wtype != null) && (wtype.hasFlag(WeaponType.F_ENERGY)
-                            || (wtype.hasFlag(WeaponType.F_PLASMA)
-                                    && (wtype.getAmmoType() == AmmoType.T_PLASMA))))
-                        || ((nType == T_BALLISTIC) && UnitUtil.isUnitWeapon(etype, ba)
-                            && (wtype != null) && (wtype.hasFlag(WeaponType.F_BALLISTIC)))
-                        || ((nType == T_MISSILE) && UnitUtil.isUnitWeapon(etype, ba)
-                            && (wtype != null) && ((wtype.hasFlag(WeaponType.F_MISSILE)
-                                    && (wtype.getAmmoType() != AmmoType.T_NA))
-                                    || (wtype.getAmmoType() == AmmoType.T_C3_REMOTE_SENSOR)))
-                        || ((nType == T_ARTILLERY) && UnitUtil.isUnitWeapon(etype, ba)
-                            && (wtype != null) && (wtype instanceof ArtilleryWeapon))
-                        || (((nType == T_AMMO) && (atype != null)) && UnitUtil.canUseAmmo(ba, atype))
-                        || ((nType == T_AP) && UnitUtil.isBattleArmorAPWeapon(etype))) {
-                    if (eSource.getTechManager() != null
-                            && !eSource.getTechManager().isLegal(etype)
-                            && !chkShowAll.isSelected()) {
-                        return false;
-                    }
-                    if (txtFilter.getText().length() > 0) {
-                        String text = txtFilter.getText();
-                        return etype.getName().toLowerCase().contains(text.toLowerCase());
-                    } else {
-                        return true;
-                    }
-                }
-                return false;
+            public boolean include(Entry<? extends EquipmentTableModel, ? extends Integer> entry) {
+                return available.get(entry.getIdentifier());
             }
         };
         equipmentSorter.setRowFilter(equipmentTypeFilter);
+        if (selectBest && (null != matches)) {
+            // Select the most relevant match so it can be added right away
+            int best = matches.getBestRow(available, masterEquipmentList);
+            if (best >= 0) {
+                int view = masterEquipmentTable.convertRowIndexToView(best);
+                masterEquipmentTable.setRowSelectionInterval(view, view);
+                masterEquipmentTable.scrollRectToVisible(masterEquipmentTable.getCellRect(view, 0, true));
+            }
+        }
+    }
+
+    /**
+     * Determines whether equipment belongs in a category for the current unit, without
+     * considering tech legality. The results are cached by the filter index.
+     */
+    private boolean isAvailable(EquipmentType etype, int nType) {
+        WeaponType wtype = null;
+        if (etype instanceof WeaponType) {
+            wtype = (WeaponType)etype;
+        }
+        AmmoType atype = null;
+        if (etype instanceof AmmoType) {
+            atype = (AmmoType)etype;
+        }
+
+        if ((etype instanceof MiscType)
+                && (etype.hasFlag(MiscType.F_TSM)
+                        || etype.hasFlag(MiscType.F_INDUSTRIAL_TSM)
+                        || (etype.hasFlag(MiscType.F_MASC)
+                                && !etype.hasSubType(
+                                        MiscType.S_SUPERCHARGER)))) {
+            return false;
+        }
+
+        // Don't show equipment that is added via the StructureTab
+        if ((etype instanceof MiscType )
+                && (etype.hasFlag(MiscType.F_BA_MANIPULATOR)
+                    || etype.hasFlag(MiscType.F_PARTIAL_WING)
+                    || etype.hasFlag(MiscType.F_JUMP_BOOSTER)
+                    || etype.hasFlag(MiscType.F_MECHANICAL_JUMP_BOOSTER)
+                    || etype.hasFlag(MiscType.F_MASC))){
+            return false;
+        }
+
+        if (etype.hasFlag(MiscType.F_DETACHABLE_WEAPON_PACK)
+                && !getBattleArmor().canMountDWP()){
+            return false;
+        }
+        BattleArmor ba = getBattleArmor();
+        return ((nType == T_OTHER) && UnitUtil.isUnitEquipment(etype, ba))
+                || (((nType == T_WEAPON) && (UnitUtil.isUnitWeapon(etype, ba))))
+                || ((nType == T_ENERGY) && UnitUtil.isUnitWeapon(etype, ba)
+                    && (wtype != null) && (wtype.hasFlag(WeaponType.F_ENERGY)
+                    || (wtype.hasFlag(WeaponType.F_PLASMA)
+                            && (wtype.getAmmoType() == AmmoType.T_PLASMA))))
+                || ((nType == T_BALLISTIC) && UnitUtil.isUnitWeapon(etype, ba)
+                    && (wtype != null) && (wtype.hasFlag(WeaponType.F_BALLISTIC)))
+                || ((nType == T_MISSILE) && UnitUtil.isUnitWeapon(etype, ba)
+                    && (wtype != null) && ((wtype.hasFlag(WeaponType.F_MISSILE)
+                            && (wtype.getAmmoType() != AmmoType.T_NA))
+                            || (wtype.getAmmoType() == AmmoType.T_C3_REMOTE_SENSOR)))
+                || ((nType == T_ARTILLERY) && UnitUtil.isUnitWeapon(etype, ba)
+                    && (wtype != null) && (wtype instanceof ArtilleryWeapon))
+                || (((nType == T_AMMO) && (atype != null)) && UnitUtil.canUseAmmo(ba, atype))
+                || ((nType == T_AP) && UnitUtil.isBattleArmorAPWeapon(etype));
     }
 
     public void setEquipmentView() {
@@ -894,6 +912,7 @@ public class EquipmentTab extends ITab implements ActionListener {
     };
 
     public void refreshTable() {
+        masterEquipmentList.invalidate();
         filterEquipment();
     }
 }
\ No newline at end of file
@@ -58,6 +58,7 @@ import megameklab.com.ui.view.BAProtoArmorView;
 import megameklab.com.ui.view.BasicInfoView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.listeners.BABuildListener;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -75,6 +76,7 @@ public class StructureTab extends ITab implements ActionListener, BABuildListene
     Dimension enhanceLabelSz = new Dimension(200,25);
 
     private BasicInfoView panBasicInfo;
+    private CachingTechManager techManager;
     private BAChassisView panChassis;
     private MovementView panMovement;
     private BAProtoArmorView panArmor;
@@ -110,11 +112,12 @@ public class StructureTab extends ITab implements ActionListener, BABuildListene
         rightPanel.setLayout(new BoxLayout(rightPanel, BoxLayout.Y_AXIS));
 
         panBasicInfo = new BasicInfoView(getBattleArmor().getConstructionTechAdvancement());
-        panChassis = new BAChassisView(panBasicInfo);
-        panMovement = new MovementView(panBasicInfo);
-        panArmor = new BAProtoArmorView(panBasicInfo);
+        techManager = new CachingTechManager(panBasicInfo);
+        panChassis = new BAChassisView(techManager);
+        panMovement = new MovementView(techManager);
+        panArmor = new BAProtoArmorView(techManager);
         JPanel manipPanel = new JPanel(new GridBagLayout());
-        panEnhancements = new BAEnhancementView(panBasicInfo);
+        panEnhancements = new BAEnhancementView(techManager);
         GridBagConstraints gbc = new GridBagConstraints();
         Dimension comboSize = new Dimension(250, 25);
        
@@ -229,7 +232,7 @@ public class StructureTab extends ITab implements ActionListener, BABuildListene
 	}
 	
 	public ITechManager getTechManager() {
-	    return panBasicInfo;
+	    return techManager;
 	}
 
     /*
@@ -466,7 +469,7 @@ public class StructureTab extends ITab implements ActionListener, BABuildListene
     public void updateTechLevel() {
         removeAllListeners();
         getBattleArmor().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        if (UnitUtil.checkEquipmentByTechLevel(getBattleArmor(), panBasicInfo)) {
+        if (UnitUtil.checkEquipmentByTechLevel(getBattleArmor(), techManager)) {
             refresh.refreshEquipment();
         } else {
             refresh.refreshEquipmentTable();
@@ -21,7 +21,6 @@ import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -39,6 +38,7 @@ import megamek.common.LocationFullException;
 import megamek.common.Mounted;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentListCellKeySelectionManager;
 import megameklab.com.util.EquipmentListCellRenderer;
 import megameklab.com.util.IView;
@@ -113,14 +113,9 @@ public class EquipmentView extends IView implements ActionListener {
 
         mainPanel.add(rightPanel);
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-
-            if (UnitUtil.isUnitEquipment(eq, eSource.getEntity())) {
-                masterEquipmentList.add(eq);
-            }
-        }
+        EquipmentCatalog catalog = EquipmentCatalog.getInstance();
+        masterEquipmentList.addAll(catalog.select("ba-equipment", catalog.getAll(),
+                UnitUtil::isBattleArmorEquipment));
 
         Collections.sort(masterEquipmentList, StringUtils.equipmentTypeComparator());
         this.add(mainPanel);
@@ -124,6 +124,7 @@ public class MainUI extends MegaMekLabMainUI {
     @Override
     public void refreshAll() {
         statusbar.refresh();
+        getValidation().refresh();
         structureTab.refresh();
         previewTab.refresh();
     }
@@ -152,13 +153,14 @@ public class MainUI extends MegaMekLabMainUI {
     public void refreshHeader() {
         String title = getEntity().getChassis() + " " + getEntity().getModel()
                 + ".blk";
-        setTitle(title);
+        setUnitTitle(title);
 
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
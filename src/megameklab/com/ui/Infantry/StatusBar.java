@@ -22,15 +22,19 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 public class StatusBar extends ITab {
@@ -47,6 +51,7 @@ public class StatusBar extends ITab {
     private JLabel bvLabel = new JLabel();
     private JLabel tons = new JLabel();
     private JLabel cost = new JLabel();
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -57,6 +62,8 @@ public class StatusBar extends ITab {
         this.parentFrame = parent;
 
         formatter = new DecimalFormat();
+        metrics = new UnitMetrics(parent, EnumSet.of(Metric.BATTLE_VALUE, Metric.COST),
+                this::refreshMetrics);
         btnValidate.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 UnitUtil.showValidation(getInfantry(), getParentFrame());
@@ -92,14 +99,13 @@ public class StatusBar extends ITab {
 
 
         refresh();
+        metrics.refreshNow();
     }
 
     public void refresh() {
 
         DecimalFormat roundFormat = new DecimalFormat("#.##");
         double currentTonnage;
-        int bv = getInfantry().calculateBattleValue();
-        long currentCost = (long) Math.round(getInfantry().getCost(false));
 
         currentTonnage = getInfantry().getWeight();
 
@@ -109,6 +115,16 @@ public class StatusBar extends ITab {
 
         tons.setText("Tons: " + currentTonnage);
 
+        metrics.refresh();
+    }
+
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        long currentCost = (long) metrics.get(Metric.COST);
+
         bvLabel.setText("BV: " + bv);
         bvLabel.setToolTipText("BV 2.0");
 
@@ -141,6 +157,7 @@ public class StatusBar extends ITab {
             String relativeFilePath = new File(fDialog.getDirectory() + fDialog.getFile()).getAbsolutePath();
             relativeFilePath = "." + File.separatorChar + relativeFilePath.substring(new File(System.getProperty("user.dir").toString()).getAbsolutePath().length() + 1);
             getInfantry().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
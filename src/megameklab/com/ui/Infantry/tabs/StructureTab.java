@@ -55,6 +55,7 @@ import megameklab.com.ui.view.BasicInfoView;
 import megameklab.com.ui.view.InfantryWeaponView;
 import megameklab.com.ui.view.PlatoonTypeView;
 import megameklab.com.ui.view.listeners.InfantryBuildListener;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -75,6 +76,7 @@ public class StructureTab extends ITab implements InfantryBuildListener {
     public static final int T_AUGMENTATION     = 4;
 
     private BasicInfoView panBasicInfo;
+    private CachingTechManager techManager;
     private PlatoonTypeView panPlatoonType;
     private InfantryWeaponView panWeapons;
     
@@ -95,11 +97,12 @@ public class StructureTab extends ITab implements InfantryBuildListener {
     public StructureTab(EntitySource eSource) {
         super(eSource);
         panBasicInfo = new BasicInfoView(getInfantry().getConstructionTechAdvancement());
-        panPlatoonType = new PlatoonTypeView(panBasicInfo);
-        panWeapons = new InfantryWeaponView(panBasicInfo);
-        weaponView = new WeaponView(eSource, panBasicInfo);
-        fieldGunView = new FieldGunView(eSource, panBasicInfo);
-        armorView = new ArmorView(eSource, panBasicInfo);
+        techManager = new CachingTechManager(panBasicInfo);
+        panPlatoonType = new PlatoonTypeView(techManager);
+        panWeapons = new InfantryWeaponView(techManager);
+        weaponView = new WeaponView(eSource, techManager);
+        fieldGunView = new FieldGunView(eSource, techManager);
+        armorView = new ArmorView(eSource, techManager);
         specializationView = new SpecializationView(eSource);
         augmentationView = new AugmentationView(eSource);
         setUpPanels();
@@ -182,7 +185,7 @@ public class StructureTab extends ITab implements InfantryBuildListener {
     }
     
     public ITechManager getTechManager() {
-        return panBasicInfo;
+        return techManager;
     }
 
     /*
@@ -359,11 +362,11 @@ public class StructureTab extends ITab implements InfantryBuildListener {
 
     @Override
     public void updateTechLevel() {
-        if (!panBasicInfo.isLegal(Infantry.getMotiveTechAdvancement(getInfantry().getMovementMode()))) {
+        if (!techManager.isLegal(Infantry.getMotiveTechAdvancement(getInfantry().getMovementMode()))) {
             motiveTypeChanged(EntityMovementMode.INF_LEG, false);
         }
         getInfantry().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        UnitUtil.checkEquipmentByTechLevel(getInfantry(), panBasicInfo);
+        UnitUtil.checkEquipmentByTechLevel(getInfantry(), techManager);
         UnitUtil.resetInfantryArmor(getInfantry());
         panPlatoonType.setFromEntity(getInfantry());
         panWeapons.setFromEntity(getInfantry());
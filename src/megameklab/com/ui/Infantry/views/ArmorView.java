@@ -27,7 +27,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Enumeration;
 
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
@@ -61,6 +60,7 @@ import megamek.common.ITechManager;
 import megamek.common.MiscType;
 import megamek.common.TechConstants;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
@@ -142,16 +142,9 @@ public class ArmorView extends IView implements ActionListener, ChangeListener {
         masterEquipmentScroll.setMinimumSize(new Dimension(200,200));
         masterEquipmentScroll.setPreferredSize(new Dimension(200,200));
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            if(eq.hasFlag(MiscType.F_ARMOR_KIT)) {
-                allTypes.add(eq);
-            }
-        }
-
-        masterEquipmentList.setData(allTypes);
+        EquipmentCatalog catalog = EquipmentCatalog.getInstance();
+        masterEquipmentList.setData(catalog.select("infantry-armor-kits", catalog.getMisc(),
+                eq -> eq.hasFlag(MiscType.F_ARMOR_KIT)));
 
         txtFilter.setText("");
         txtFilter.setMinimumSize(new java.awt.Dimension(200, 28));
@@ -309,6 +302,7 @@ public class ArmorView extends IView implements ActionListener, ChangeListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         armorValue.setValue((double)getInfantry().getDamageDivisor());
         chEncumber.setSelected(getInfantry().isArmorEncumbering());
         chSpaceSuit.setSelected(getInfantry().hasSpaceSuit());
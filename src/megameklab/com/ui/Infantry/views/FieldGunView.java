@@ -26,7 +26,6 @@ import java.awt.event.ActionListener;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Enumeration;
 
 import javax.swing.ButtonGroup;
 import javax.swing.DefaultComboBoxModel;
@@ -63,6 +62,7 @@ import megamek.common.weapons.autocannons.RifleWeapon;
 import megamek.common.weapons.autocannons.UACWeapon;
 import megamek.common.weapons.gaussrifles.GaussWeapon;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
@@ -155,39 +155,9 @@ public class FieldGunView extends IView implements ActionListener {
         masterEquipmentScroll.setMinimumSize(new Dimension(200,200));
         masterEquipmentScroll.setPreferredSize(new Dimension(200,200));
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            if(!(eq instanceof WeaponType)
-                    || ((WeaponType)eq).isCapital()) {
-                continue;
-            }
-            if ((eq instanceof ACWeapon && !(eq instanceof HVACWeapon))
-                    || eq instanceof RACWeapon
-                    || eq instanceof UACWeapon
-                    || eq instanceof RifleWeapon
-                    || eq instanceof ArtilleryCannonWeapon) {
-                allTypes.add(eq);
-            }
-            if ((eq instanceof LBXACWeapon)) {
-                allTypes.add(eq);
-            }
-            if (eq instanceof GaussWeapon
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_GAUSS_HEAVY
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_IGAUSS_HEAVY
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_MAGSHOT                    
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_HAG) {
-                allTypes.add(eq);
-            }
-            if (eq instanceof ArtilleryWeapon
-                    && !eq.hasFlag(WeaponType.F_BA_WEAPON)
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_CRUISE_MISSILE) {
-                allTypes.add(eq);
-            }
-        }
-
-        masterEquipmentList.setData(allTypes);
+        EquipmentCatalog catalog = EquipmentCatalog.getInstance();
+        masterEquipmentList.setData(catalog.select("infantry-field-guns", catalog.getWeapons(),
+                FieldGunView::isFieldGun));
 
         DefaultComboBoxModel<String> typeModel = new DefaultComboBoxModel<String>();
         for (int i = 0; i < T_NUM; i++) {
@@ -273,12 +243,46 @@ public class FieldGunView extends IView implements ActionListener {
         this.add(databasePanel, BorderLayout.CENTER);
     }
 
+    /**
+     * @return Whether the weapon can be used as an infantry field gun
+     */
+    private static boolean isFieldGun(EquipmentType eq) {
+        if(!(eq instanceof WeaponType)
+                || ((WeaponType)eq).isCapital()) {
+            return false;
+        }
+        if ((eq instanceof ACWeapon && !(eq instanceof HVACWeapon))
+                || eq instanceof RACWeapon
+                || eq instanceof UACWeapon
+                || eq instanceof RifleWeapon
+                || eq instanceof ArtilleryCannonWeapon) {
+            return true;
+        }
+        if ((eq instanceof LBXACWeapon)) {
+            return true;
+        }
+        if (eq instanceof GaussWeapon
+                && ((WeaponType)eq).getAmmoType() != AmmoType.T_GAUSS_HEAVY
+                && ((WeaponType)eq).getAmmoType() != AmmoType.T_IGAUSS_HEAVY
+                && ((WeaponType)eq).getAmmoType() != AmmoType.T_MAGSHOT                    
+                && ((WeaponType)eq).getAmmoType() != AmmoType.T_HAG) {
+            return true;
+        }
+        if (eq instanceof ArtilleryWeapon
+                && !eq.hasFlag(WeaponType.F_BA_WEAPON)
+                && ((WeaponType)eq).getAmmoType() != AmmoType.T_CRUISE_MISSILE) {
+            return true;
+        }
+        return false;
+    }
+
     public void addRefreshedListener(RefreshListener l) {
         refresh = l;
     }
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         btnRemoveGun.setEnabled(getInfantry().hasFieldGun());
         addAllListeners();
@@ -454,11 +458,11 @@ public class FieldGunView extends IView implements ActionListener {
      *
      */
     public static class FormattedNumberSorter implements Comparator<String> {
+        DecimalFormat format = new DecimalFormat();
 
         @Override
         public int compare(String s0, String s1) {
             //lets find the weight class integer for each name
-            DecimalFormat format = new DecimalFormat();
             int l0 = 0;
             try {
                 l0 = format.parse(s0).intValue();
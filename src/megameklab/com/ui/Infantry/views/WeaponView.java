@@ -27,7 +27,6 @@ import java.awt.event.ActionListener;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Enumeration;
 
 import javax.swing.ButtonGroup;
 import javax.swing.DefaultComboBoxModel;
@@ -57,6 +56,7 @@ import megamek.common.WeaponType;
 import megamek.common.verifier.TestInfantry;
 import megamek.common.weapons.infantry.InfantryWeapon;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
@@ -143,16 +143,9 @@ public class WeaponView extends IView implements ActionListener {
         masterEquipmentScroll.setMinimumSize(new Dimension(200,200));
         masterEquipmentScroll.setPreferredSize(new Dimension(200,200));
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            if(eq instanceof InfantryWeapon) {
-                allTypes.add(eq);
-            }
-        }
-
-        masterEquipmentList.setData(allTypes);
+        EquipmentCatalog catalog = EquipmentCatalog.getInstance();
+        masterEquipmentList.setData(catalog.select("infantry-weapons", catalog.getWeapons(),
+                eq -> eq instanceof InfantryWeapon));
 
         DefaultComboBoxModel<String> typeModel = new DefaultComboBoxModel<String>();
         for (int i = 0; i < T_NUM; i++) {
@@ -244,6 +237,7 @@ public class WeaponView extends IView implements ActionListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         if(TestInfantry.maxSecondaryWeapons(getInfantry()) > 0) {
             addSecondaryButton.setEnabled(true);
@@ -444,11 +438,11 @@ public class WeaponView extends IView implements ActionListener {
      *
      */
     public static class FormattedNumberSorter implements Comparator<String> {
+        DecimalFormat format = new DecimalFormat();
 
         @Override
         public int compare(String s0, String s1) {
             //lets find the weight class integer for each name
-            DecimalFormat format = new DecimalFormat();
             int l0 = 0;
             try {
                 l0 = format.parse(s0).intValue();
@@ -0,0 +1,206 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.ui;
+
+import java.awt.Frame;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import megamek.common.Entity;
+import megameklab.com.MegaMekLab;
+import megameklab.com.ui.aerospace.AdvancedAeroUI;
+import megameklab.com.ui.aerospace.DropshipMainUI;
+import megameklab.com.ui.protomek.ProtomekMainUI;
+import megameklab.com.util.CConfig;
+
+/**
+ * Keeps one hidden main window for each family of units, so that loading a unit of another type
+ * can rebind an existing window instead of building a new one. Building a window sets up the
+ * frame, menus, and look and feel and lays out every tab; a pooled window only needs its tabs
+ * reloaded for the new unit.
+ *
+ * The window that is replaced is returned to the pool rather than disposed. If the
+ * {@link CConfig#UI_PREWARM} option is set, a window for each family is built in the background
+ * after startup, so that even the first switch to a family does not need to build one.
+ *
+ * All methods must be called on the event dispatch thread.
+ */
+public class MainUIPool {
+
+    /**
+     * The kinds of unit that have their own main window, in the order they are checked.
+     */
+    private enum Family {
+        DROPSHIP(e -> e.hasETypeFlag(Entity.ETYPE_SMALL_CRAFT), () -> new DropshipMainUI(false)),
+        ADVANCED_AERO(e -> e.hasETypeFlag(Entity.ETYPE_JUMPSHIP), () -> new AdvancedAeroUI(false)),
+        AERO(e -> e.hasETypeFlag(Entity.ETYPE_AERO)
+                && !e.hasETypeFlag(Entity.ETYPE_FIXED_WING_SUPPORT),
+                () -> new megameklab.com.ui.Aero.MainUI(false)),
+        BATTLE_ARMOR(e -> e.hasETypeFlag(Entity.ETYPE_BATTLEARMOR),
+                megameklab.com.ui.BattleArmor.MainUI::new),
+        INFANTRY(e -> e.hasETypeFlag(Entity.ETYPE_INFANTRY),
+                megameklab.com.ui.Infantry.MainUI::new),
+        PROTOMEK(e -> e.hasETypeFlag(Entity.ETYPE_PROTOMECH), ProtomekMainUI::new),
+        MEK(e -> e.hasETypeFlag(Entity.ETYPE_MECH), megameklab.com.ui.Mek.MainUI::new),
+        VEHICLE(e -> e.hasETypeFlag(Entity.ETYPE_TANK)
+                && !e.hasETypeFlag(Entity.ETYPE_GUN_EMPLACEMENT),
+                megameklab.com.ui.Vehicle.MainUI::new);
+
+        private final Predicate<Entity> accepts;
+        private final Supplier<MegaMekLabMainUI> builder;
+
+        Family(Predicate<Entity> accepts, Supplier<MegaMekLabMainUI> builder) {
+            this.accepts = accepts;
+            this.builder = builder;
+        }
+
+        static Family of(Entity entity) {
+            for (Family family : values()) {
+                if (family.accepts.test(entity)) {
+                    return family;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static MainUIPool instance = null;
+
+    /** Set while a pooled window is being built, to keep its constructor from showing it */
+    private static boolean building = false;
+
+    private final Map<Family, MegaMekLabMainUI> idle = new EnumMap<>(Family.class);
+
+    /**
+     * @return The shared pool
+     */
+    public static synchronized MainUIPool getInstance() {
+        if (null == instance) {
+            instance = new MainUIPool();
+        }
+        return instance;
+    }
+
+    private MainUIPool() {
+    }
+
+    /**
+     * @return Whether a window is being built for the pool and should stay hidden
+     */
+    static boolean isBuilding() {
+        return building;
+    }
+
+    /**
+     * Finds a hidden window that can edit the given unit, building one if the pool does not have
+     * one. The window still shows the unit it was built or last used for; the caller should set
+     * the entity, reload the tabs, and show it.
+     *
+     * @param entity The unit to edit
+     * @return       A hidden window for the unit's family, or null if the unit type is not
+     *               supported
+     */
+    public MegaMekLabMainUI acquire(Entity entity) {
+        final Family family = Family.of(entity);
+        if (null == family) {
+            return null;
+        }
+        MegaMekLabMainUI ui = idle.remove(family);
+        if (null == ui) {
+            ui = build(family);
+        }
+        return ui;
+    }
+
+    /**
+     * Hides a window that is no longer in use and keeps it for the next unit of its family. If
+     * the pool already has a window for the family, this one is disposed.
+     *
+     * @param ui The window to release
+     */
+    public void release(MegaMekLabMainUI ui) {
+        ui.setVisible(false);
+        final Family family = (null == ui.getEntity())? null : Family.of(ui.getEntity());
+        if ((null == family) || idle.containsKey(family)) {
+            ui.dispose();
+        } else {
+            idle.put(family, ui);
+        }
+    }
+
+    /**
+     * Places a window from the pool where the window it replaces was, so the switch is not
+     * noticeable to the user.
+     *
+     * @param from The window being replaced
+     * @param to   The window taking its place
+     */
+    public void transferBounds(MegaMekLabMainUI from, MegaMekLabMainUI to) {
+        if (from.getExtendedState() == Frame.NORMAL) {
+            to.setBounds(from.getBounds());
+        }
+        to.setExtendedState(from.getExtendedState());
+    }
+
+    /**
+     * Builds a window for each family in the background, one per event so that the user
+     * interface stays responsive, if the {@link CConfig#UI_PREWARM} option is set. Families that
+     * already have a pooled window, and that of the window currently in use, are skipped.
+     *
+     * @param current The window currently in use, or null
+     */
+    public void prewarm(MegaMekLabMainUI current) {
+        if (!CConfig.getBooleanParam(CConfig.UI_PREWARM)) {
+            return;
+        }
+        final Family currentFamily = ((null == current) || (null == current.getEntity()))?
+                null : Family.of(current.getEntity());
+        for (Family family : Family.values()) {
+            if (family != currentFamily) {
+                SwingUtilities.invokeLater(() -> {
+                    if (!idle.containsKey(family)) {
+                        final MegaMekLabMainUI ui = build(family);
+                        if (null != ui) {
+                            idle.put(family, ui);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Discards all pooled windows.
+     */
+    public void clear() {
+        idle.values().forEach(MegaMekLabMainUI::dispose);
+        idle.clear();
+    }
+
+    private MegaMekLabMainUI build(Family family) {
+        building = true;
+        try {
+            return family.builder.get();
+        } catch (Exception ex) {
+            MegaMekLab.getLogger().error(getClass(), "build(Family)", ex);
+            return null;
+        } finally {
+            building = false;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package megameklab.com.ui;
 
+import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Frame;
 import java.awt.event.WindowAdapter;
@@ -34,6 +35,7 @@ import megameklab.com.MegaMekLab;
 import megameklab.com.util.CConfig;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
+import megameklab.com.util.UnitValidation;
 
 public abstract class MegaMekLabMainUI extends JFrame implements
         RefreshListener, EntitySource {
@@ -44,6 +46,7 @@ public abstract class MegaMekLabMainUI extends JFrame implements
     private static final long serialVersionUID = 3971760390511127766L;
 
     private Entity entity = null;
+    private final UnitValidation validation = new UnitValidation(this, this::refreshHeader);
 
     public MegaMekLabMainUI() {
 
@@ -118,12 +121,23 @@ public abstract class MegaMekLabMainUI extends JFrame implements
                 CConfig.setParam("WINDOWTOP", Integer.toString(getY()));
             }
             CConfig.setParam(CConfig.CONFIG_PLAF, UIManager.getLookAndFeel().getClass().getName());
-            CConfig.saveConfig();
+            CConfig.saveConfigNow();
 
             System.exit(0);
         }
     }
     
+    /**
+     * Windows built for the {@link MainUIPool} stay hidden until they are given a unit.
+     */
+    @Override
+    public void setVisible(boolean visible) {
+        if (visible && MainUIPool.isBuilding()) {
+            return;
+        }
+        super.setVisible(visible);
+    }
+
     public abstract void reloadTabs();
 
     public abstract void refreshAll();
@@ -146,10 +160,34 @@ public abstract class MegaMekLabMainUI extends JFrame implements
 
     public void setEntity(Entity en) {
         entity = en;
+        validation.refresh();
     }
 
     public Entity getEntity() {
         return entity;
     }
 
+    /**
+     * @return The background validation of the current unit
+     */
+    public UnitValidation getValidation() {
+        return validation;
+    }
+
+    /**
+     * Sets the window title, marking the unit as invalid if the last background validation
+     * reported any problems.
+     *
+     * @param title The title for the current unit
+     */
+    protected void setUnitTitle(String title) {
+        if (validation.isValid()) {
+            setForeground(Color.BLACK);
+        } else {
+            title += "  (Invalid)";
+            setForeground(Color.red);
+        }
+        setTitle(title);
+    }
+
 }
\ No newline at end of file
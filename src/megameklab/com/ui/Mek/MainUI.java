@@ -216,6 +216,7 @@ public class MainUI extends MegaMekLabMainUI {
     @Override
     public void refreshAll() {
         statusbar.refresh();
+        getValidation().refresh();
         structureTab.refresh();
         equipmentTab.refresh();
         buildTab.refresh();
@@ -253,21 +254,14 @@ public class MainUI extends MegaMekLabMainUI {
 
         String title = getEntity().getChassis() + " " + getEntity().getModel()
                 + ".mtf";
-        /*  
-        if (UnitUtil.validateUnit(entity).length() > 0) {
-            title += "  (Invalid)";
-            setForeground(Color.red);
-        } else {
-            setForeground(Color.BLACK);
-        }
-        */
-        setTitle(title);
+        setUnitTitle(title);
 
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
@@ -23,6 +23,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -35,12 +36,13 @@ import megamek.common.Mounted;
 import megamek.common.QuadMech;
 import megamek.common.TripodMech;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestMech;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 public class StatusBar extends ITab {
@@ -57,8 +59,7 @@ public class StatusBar extends ITab {
     private JLabel tons = new JLabel();
     private JLabel heatSink = new JLabel();
     private JLabel cost = new JLabel();
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
-    private TestMech testEntity = null;
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -69,7 +70,7 @@ public class StatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testEntity = new TestMech(getMech(), entityVerifier.mechOption, null);
+        metrics = new UnitMetrics(parent, EnumSet.allOf(Metric.class), this::refreshMetrics);
         btnValidate.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 UnitUtil.showValidation(getMech(), getParentFrame());
@@ -105,30 +106,12 @@ public class StatusBar extends ITab {
 
 
         refresh();
+        metrics.refreshNow();
     }
 
     public void refresh() {
 
         int heat = getMech().getHeatCapacity();
-        double tonnage = getMech().getWeight();
-        double currentTonnage;
-        int bv = getMech().calculateBattleValue();
-        int maxCrits;
-        if (getMech() instanceof TripodMech) {
-            maxCrits = 84;
-        } else if (getMech() instanceof QuadMech) {
-            maxCrits = 66;
-        } else {
-            maxCrits = 78;
-        }
-        int currentCrits = UnitUtil.countUsedCriticals(getMech());
-        long currentCost = (long) Math.round(getMech().getCost(false));
-
-        testEntity = new TestMech(getMech(), entityVerifier.mechOption, null);
-
-        currentTonnage = testEntity.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getMech());
-
         double totalHeat = calculateTotalHeat();
 
         heatSink.setText("Heat: " + totalHeat + "/" + heat);
@@ -139,6 +122,28 @@ public class StatusBar extends ITab {
             heatSink.setForeground(Color.black);
         }
 
+        metrics.refresh();
+    }
+
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        double tonnage = getMech().getWeight();
+        double currentTonnage = metrics.get(Metric.WEIGHT)
+                + metrics.get(Metric.UNALLOCATED_AMMO);
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        int maxCrits;
+        if (getMech() instanceof TripodMech) {
+            maxCrits = 84;
+        } else if (getMech() instanceof QuadMech) {
+            maxCrits = 66;
+        } else {
+            maxCrits = 78;
+        }
+        int currentCrits = (int) metrics.get(Metric.CRITICALS);
+        long currentCost = (long) metrics.get(Metric.COST);
+
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");
         if (currentTonnage > tonnage) {
@@ -245,6 +250,7 @@ public class StatusBar extends ITab {
             String relativeFilePath = new File(fDialog.getDirectory() + fDialog.getFile()).getAbsolutePath();
             relativeFilePath = "." + File.separatorChar + relativeFilePath.substring(new File(System.getProperty("user.dir").toString()).getAbsolutePath().length() + 1);
             getMech().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
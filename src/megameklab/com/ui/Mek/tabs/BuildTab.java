@@ -20,20 +20,24 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JPanel;
+import javax.swing.SwingWorker;
 
 import megamek.common.Entity;
-import megamek.common.Mech;
 import megamek.common.Mounted;
+import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.ui.Mek.views.BuildView;
 import megameklab.com.ui.Mek.views.CriticalView;
+import megameklab.com.util.EntitySnapshot;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
+import megameklab.com.util.Mech.CriticalAllocator;
 
 public class BuildTab extends ITab implements ActionListener {
 
@@ -111,45 +115,47 @@ public class BuildTab extends ITab implements ActionListener {
         }
     }
 
+    /**
+     * Searches for a layout for all unallocated equipment on a background thread, then applies
+     * it. The button is disabled while the search runs.
+     */
     private void autoFillCrits() {
+        final long version = unitVersion();
+        final CriticalAllocator allocator = new CriticalAllocator(getMech(),
+                buildView.getTableModel().getCrits());
+        autoFillButton.setEnabled(false);
+        new SwingWorker<CriticalAllocator.Plan, Void>() {
+            @Override
+            protected CriticalAllocator.Plan doInBackground() {
+                return allocator.search(CriticalAllocator.DEFAULT_TIME_BUDGET);
+            }
 
-        for (Mounted mount : buildView.getTableModel().getCrits()) {
-            int externalEngineHS = UnitUtil.getCriticalFreeHeatSinks(getMech(), getMech().hasCompactHeatSinks());
-            for (int location = Mech.LOC_HEAD; location < getMech().locations(); location++) {
-
-                if (!UnitUtil.isValidLocation(getMech(), mount.getType(), location)) {
-                    continue;
-                }
-
-                int continuousNumberOfCrits = UnitUtil.getHighestContinuousNumberOfCrits(getMech(), location);
-                int critsUsed = UnitUtil.getCritsUsed(getMech(), mount.getType());
-                if (continuousNumberOfCrits < critsUsed) {
-                    continue;
-                }
-                if ((mount.getLocation() == Entity.LOC_NONE)) {
-                    if (UnitUtil.isHeatSink(mount) && (externalEngineHS-- > 0)) {
-                        continue;
-                    }
+            @Override
+            protected void done() {
+                autoFillButton.setEnabled(true);
+                // Discard the result if a different unit has been loaded or the unit has been
+                // changed in the meantime
+                if ((allocator.getMech() != getMech()) || (unitVersion() != version)) {
+                    return;
                 }
-
                 try {
-                    if (mount.getType().isSpreadable() || (mount.isSplitable() && (critsUsed > 1))) {
-                        for (int count = 0; count < critsUsed; count++) {
-                            UnitUtil.addMounted(getMech(), mount, location, false);
-                        }
-                    } else {
-                        UnitUtil.addMounted(getMech(), mount, location, false);
-                    }
-                    UnitUtil.changeMountStatus(getMech(), mount, location, Entity.LOC_NONE, false);
-                    break;
-                } catch (Exception ex) {
-                    ex.printStackTrace();
+                    allocator.apply(get());
+                } catch (ExecutionException ex) {
+                    MegaMekLab.getLogger().error(BuildTab.class, "autoFillCrits()", ex.getCause());
+                } catch (InterruptedException ex) {
+                    // Shouldn't get here because we're done...
                 }
-
+                refresh.refreshAll();
             }
-        }
-        refresh.refreshAll();
+        }.execute();
+    }
 
+    /**
+     * @return The version of the current unit, or -1 if it cannot be determined
+     */
+    private long unitVersion() {
+        final EntitySnapshot snapshot = EntitySnapshot.of(getMech());
+        return (null == snapshot) ? -1 : snapshot.getVersion();
     }
 
     private void resetCrits() {
@@ -59,6 +59,8 @@ import megameklab.com.ui.view.MekChassisView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.PatchworkArmorView;
 import megameklab.com.ui.view.listeners.MekBuildListener;
+import megameklab.com.util.ArmorOptimizer;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -70,6 +72,7 @@ public class StructureTab extends ITab implements MekBuildListener {
     private static final long serialVersionUID = -6756011847500605874L;
 
     private BasicInfoView panBasicInfo;
+    private CachingTechManager techManager;
     private MekChassisView panChassis;
     private MVFArmorView panArmor;
     private MovementView panMovement;
@@ -92,12 +95,13 @@ public class StructureTab extends ITab implements MekBuildListener {
     private void setUpPanels() {
         masterPanel = new JPanel(new GridBagLayout());
         panBasicInfo = new BasicInfoView(getMech().getConstructionTechAdvancement());
-        panChassis = new MekChassisView(panBasicInfo);
-        panArmor = new MVFArmorView(panBasicInfo);
-        panMovement = new MovementView(panBasicInfo);
-        panHeat = new HeatSinkView(panBasicInfo);
-        panArmorAllocation = new ArmorAllocationView(panBasicInfo, Entity.ETYPE_MECH);
-        panPatchwork = new PatchworkArmorView(panBasicInfo);
+        techManager = new CachingTechManager(panBasicInfo);
+        panChassis = new MekChassisView(techManager);
+        panArmor = new MVFArmorView(techManager);
+        panMovement = new MovementView(techManager);
+        panHeat = new HeatSinkView(techManager);
+        panArmorAllocation = new ArmorAllocationView(techManager, Entity.ETYPE_MECH);
+        panPatchwork = new PatchworkArmorView(techManager);
         panSummary = new SummaryView(eSource);
         if (getMech().hasPatchworkArmor()) {
             panArmorAllocation.showPatchwork(true);
@@ -192,7 +196,7 @@ public class StructureTab extends ITab implements MekBuildListener {
     }
 
     public ITechManager getTechManager() {
-        return panBasicInfo;
+        return techManager;
     }
 
     /*
@@ -643,7 +647,7 @@ public class StructureTab extends ITab implements MekBuildListener {
                     this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
                     "Bad Engine", JOptionPane.ERROR_MESSAGE);
         }
-        if (UnitUtil.checkEquipmentByTechLevel(getMech(), panBasicInfo)) {
+        if (UnitUtil.checkEquipmentByTechLevel(getMech(), techManager)) {
             refresh.refreshEquipment();
         } else {
             refresh.refreshEquipmentTable();
@@ -1061,8 +1065,24 @@ public class StructureTab extends ITab implements MekBuildListener {
         refresh.refreshStatus();
     }
 
+    /**
+     * Searches for the allocation that best meets the objective chosen in the allocation view.
+     */
+    private void optimizeArmor(ArmorOptimizer.Objective objective) {
+        new ArmorOptimizer(getMech(), objective).optimize(ArmorOptimizer.DEFAULT_TIME_BUDGET)
+                .apply(getMech());
+        panArmorAllocation.setFromEntity(getMech());
+        refresh.refreshPreview();
+        refresh.refreshSummary();
+        refresh.refreshStatus();
+    }
+
     @Override
     public void autoAllocateArmor() {
+        if (null != panArmorAllocation.getObjective()) {
+            optimizeArmor(panArmorAllocation.getObjective());
+            return;
+        }
         double pointsToAllocate = UnitUtil.getArmorPoints(getMech(), getMech().getLabArmorTonnage());
         double maxArmor = UnitUtil.getMaximumArmorPoints(getMech());
         if (pointsToAllocate > maxArmor) {
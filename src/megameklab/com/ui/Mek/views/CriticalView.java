@@ -19,7 +19,8 @@ package megameklab.com.ui.Mek.views;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
-import java.util.Vector;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -34,6 +35,8 @@ import megamek.common.Mounted;
 import megamek.common.QuadMech;
 import megamek.common.loaders.MtfFile;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.CriticalSlotIndex;
+import megameklab.com.util.CriticalSlotListModel;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.Mech.DropTargetCriticalList;
@@ -58,6 +61,12 @@ public class CriticalView extends IView {
 
     private boolean showEmpty = false;
 
+    /** The slot lists for each location, which are updated in place until the layout changes */
+    private final List<DropTargetCriticalList<String>> slotLists = new ArrayList<>();
+    private final List<CriticalSlotListModel<String>> slotModels = new ArrayList<>();
+    private Mech layoutEntity = null;
+    private RefreshListener layoutRefresh = null;
+
     public CriticalView(EntitySource eSource, boolean showEmpty, RefreshListener refresh) {
         super(eSource);
         this.showEmpty = showEmpty;
@@ -144,6 +153,12 @@ public class CriticalView extends IView {
     }
 
     public void refresh() {
+        synchronized (getMech()) {
+            if ((getMech() == layoutEntity) && (refresh == layoutRefresh)) {
+                updateSlots();
+                return;
+            }
+        }
         laPanel.removeAll();
         raPanel.removeAll();
         llPanel.removeAll();
@@ -165,61 +180,16 @@ public class CriticalView extends IView {
         Dimension legSize = new Dimension(112, 92);
 
         synchronized (getMech()) {
+            slotLists.clear();
+            slotModels.clear();
             for (int location = 0; location < getMech().locations(); location++) {
-                // JPanel locationPanel = new JPanel();
-                Vector<String> critNames = new Vector<String>(1, 1);
-
-                for (int slot = 0; slot < getMech().getNumberOfCriticals(location); slot++) {
-                    CriticalSlot cs = getMech().getCritical(location, slot);
-                    if (cs == null) {
-                        if (showEmpty) {
-                            critNames.add(MtfFile.EMPTY);
-                        }
-                    } else if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
-                        critNames.add(getMech().getSystemName(cs.getIndex()));
-                    } else if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
-                        try {
-                            Mounted m = cs.getMount();
-                            // Critical didn't get removed. Remove it now.
-                            if (m == null) {
-
-                                m = cs.getMount();
-
-                                if (m == null) {
-                                    getMech().setCritical(location, slot, null);
-                                    if (showEmpty) {
-                                        critNames.add(MtfFile.EMPTY);
-                                    }
-                                    continue;
-                                }
-                                cs.setMount(m);
-                            }
-                            StringBuffer critName = new StringBuffer(
-                                    m.getName());
-                            if (critName.length() > 25) {
-                                critName.setLength(25);
-                                critName.append("...");
-                            }
-                            if (m.isRearMounted()) {
-                                critName.append(" (R)");
-                            }
-                            if (m.isMechTurretMounted()) {
-                                critName.append(" (T)");
-                            }
-
-                            critNames.add(critName.toString());
-
-                        } catch (Exception ex) {
-                            ex.printStackTrace();
-                        }
-                    }
-                }
-                if (critNames.size() == 0) {
-                    critNames.add(MtfFile.EMPTY);
-                }
+                CriticalSlotListModel<String> model = new CriticalSlotListModel<>();
+                loadSlots(location, model);
                 DropTargetCriticalList<String> criticalSlotList = new DropTargetCriticalList<String>(
-                        critNames, eSource, refresh, showEmpty);
-                criticalSlotList.setVisibleRowCount(critNames.size());
+                        model, eSource, refresh, showEmpty);
+                criticalSlotList.setVisibleRowCount(model.getSize());
+                slotLists.add(criticalSlotList);
+                slotModels.add(model);
                 criticalSlotList
                         .setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
                 criticalSlotList.setFont(new Font("Arial", Font.PLAIN, 10));
@@ -338,6 +308,8 @@ public class CriticalView extends IView {
                         break;
                 }
             }
+            layoutEntity = getMech();
+            layoutRefresh = refresh;
             
             ctPanel.invalidate();
             raPanel.invalidate();
@@ -361,4 +333,85 @@ public class CriticalView extends IView {
         }
     }
 
+    /**
+     * Updates the existing lists in place. Only the slots that have changed are repainted, and
+     * a location is only resized if its number of slots has changed.
+     */
+    private void updateSlots() {
+        for (int location = 0; location < slotLists.size(); location++) {
+            DropTargetCriticalList<String> criticalSlotList = slotLists.get(location);
+            if (loadSlots(location, slotModels.get(location))) {
+                criticalSlotList.setVisibleRowCount(slotModels.get(location).getSize());
+                criticalSlotList.revalidate();
+            }
+        }
+    }
+
+    /**
+     * Fills a location's list model with the names of the equipment in its critical slots.
+     *
+     * @return Whether the number of slots shown has changed
+     */
+    private boolean loadSlots(int location, CriticalSlotListModel<String> model) {
+        // Pick up any changes to the location that were not made through UnitUtil
+        CriticalSlotIndex.update(getMech(), location);
+        List<String> critNames = new ArrayList<>();
+        List<Object> states = new ArrayList<>();
+
+        for (int slot = 0; slot < getMech().getNumberOfCriticals(location); slot++) {
+            CriticalSlot cs = getMech().getCritical(location, slot);
+            if (cs == null) {
+                if (showEmpty) {
+                    critNames.add(MtfFile.EMPTY);
+                    states.add(null);
+                }
+            } else if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
+                critNames.add(getMech().getSystemName(cs.getIndex()));
+                states.add(CriticalSlotListModel.slotState(cs));
+            } else if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
+                try {
+                    Mounted m = cs.getMount();
+                    // Critical didn't get removed. Remove it now.
+                    if (m == null) {
+
+                        m = cs.getMount();
+
+                        if (m == null) {
+                            getMech().setCritical(location, slot, null);
+                            if (showEmpty) {
+                                critNames.add(MtfFile.EMPTY);
+                                states.add(null);
+                            }
+                            continue;
+                        }
+                        cs.setMount(m);
+                    }
+                    StringBuffer critName = new StringBuffer(
+                            m.getName());
+                    if (critName.length() > 25) {
+                        critName.setLength(25);
+                        critName.append("...");
+                    }
+                    if (m.isRearMounted()) {
+                        critName.append(" (R)");
+                    }
+                    if (m.isMechTurretMounted()) {
+                        critName.append(" (T)");
+                    }
+
+                    critNames.add(critName.toString());
+                    states.add(CriticalSlotListModel.slotState(cs));
+
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        }
+        if (critNames.size() == 0) {
+            critNames.add(MtfFile.EMPTY);
+            states.add(null);
+        }
+        return model.update(critNames, states);
+    }
+
 }
\ No newline at end of file
@@ -17,7 +17,6 @@
 package megameklab.com.ui.Vehicle;
 
 import java.awt.BorderLayout;
-import java.awt.Color;
 
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
@@ -44,7 +43,6 @@ import megameklab.com.ui.Vehicle.tabs.StructureTab;
 import megameklab.com.ui.tabs.FluffTab;
 import megameklab.com.ui.tabs.PreviewTab;
 import megameklab.com.util.MenuBarCreator;
-import megameklab.com.util.UnitUtil;
 
 public class MainUI extends MegaMekLabMainUI {
 
@@ -124,6 +122,7 @@ public class MainUI extends MegaMekLabMainUI {
         equipmentTab.refresh();
         buildTab.refresh();
         statusbar.refresh();
+        getValidation().refresh();
         previewTab.refresh();
         refreshHeader();
         repaint();
@@ -153,19 +152,13 @@ public class MainUI extends MegaMekLabMainUI {
     public void refreshHeader() {
         String title = getEntity().getChassis() + " " + getEntity().getModel()
                 + ".blk";
-
-        if (UnitUtil.validateUnit(getEntity()).length() > 0) {
-            title += "  (Invalid)";
-            setForeground(Color.red);
-        } else {
-            setForeground(Color.BLACK);
-        }
-        setTitle(title);
+        setUnitTitle(title);
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
@@ -23,6 +23,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -30,13 +31,13 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 
 import megamek.common.Tank;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestSupportVehicle;
-import megamek.common.verifier.TestTank;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 public class StatusBar extends ITab {
@@ -54,9 +55,7 @@ public class StatusBar extends ITab {
     private JLabel tons = new JLabel();
     private JLabel slots = new JLabel();
     private JLabel cost = new JLabel();
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestTank testEntity = null;
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -67,13 +66,8 @@ public class StatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        if (parent.getEntity().isSupportVehicle()) {
-            testEntity = new TestSupportVehicle((Tank) parent.getEntity(),
-                    entityVerifier.tankOption, null);
-        } else {
-            testEntity = new TestTank((Tank) parent.getEntity(), entityVerifier.tankOption,
-                    null);
-        }
+        metrics = new UnitMetrics(parent, EnumSet.of(Metric.BATTLE_VALUE, Metric.COST,
+                Metric.WEIGHT, Metric.UNALLOCATED_AMMO), this::refreshMetrics);
         btnValidate.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 UnitUtil.showValidation(getTank(), getParentFrame());
@@ -110,6 +104,7 @@ public class StatusBar extends ITab {
         gbc.weightx = 1.0;
         this.add(cost, gbc);
         refresh();
+        metrics.refreshNow();
     }
 
     public JLabel movementLabel() {
@@ -122,20 +117,12 @@ public class StatusBar extends ITab {
     }
 
     public JLabel bvLabel() {
-        int bv = getTank().calculateBattleValue();
-        bvLabel.setText("BV: " + bv);
-
+        // Filled in when the metrics have been calculated
         return bvLabel;
     }
 
     public JLabel tonnageLabel() {
-        double tonnage = getTank().getWeight();
-        double currentTonnage;
-
-        currentTonnage = testEntity.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getTank());
-
-        tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
+        // Filled in when the metrics have been calculated
         return tons;
     }
 
@@ -152,22 +139,31 @@ public class StatusBar extends ITab {
         int walk = getTank().getOriginalWalkMP();
         int run = getTank().getRunMP(true, true, false);
         int jump = getTank().getOriginalJumpMP();
-        double tonnage = getTank().getWeight();
-        double currentTonnage;
-        int bv = getTank().calculateBattleValue();
 
-        if (getTank().isSupportVehicle()) {
-            testEntity = new TestSupportVehicle(getTank(),
-                    entityVerifier.tankOption, null);
+        Tank tank = getTank();
+        int currentSlots = tank.getTotalSlots() - tank.getFreeSlots();
+        slots.setText("Slots: "+currentSlots+"/"+tank.getTotalSlots());
+        if (currentSlots > tank.getTotalSlots()) {
+            slots.setForeground(Color.red);
         } else {
-            testEntity = new TestTank((Tank) getTank(), entityVerifier.tankOption,
-                    null);
+            slots.setForeground(Color.black);
         }
 
-        currentTonnage = testEntity.calculateWeight();
+        move.setText("Movement: " + walk + "/" + run + "/" + jump);
+        move.setToolTipText("Walk/Run/Jump MP");
+
+        metrics.refresh();
+    }
 
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getTank());
-        long currentCost = (long) Math.round(getTank().getCost(false));
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        double tonnage = getTank().getWeight();
+        double currentTonnage = metrics.get(Metric.WEIGHT)
+                + metrics.get(Metric.UNALLOCATED_AMMO);
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        long currentCost = (long) metrics.get(Metric.COST);
 
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");
@@ -176,23 +172,11 @@ public class StatusBar extends ITab {
         } else {
             tons.setForeground(Color.black);
         }
-        Tank tank = getTank();
-        int currentSlots = tank.getTotalSlots() - tank.getFreeSlots();
-        slots.setText("Slots: "+currentSlots+"/"+tank.getTotalSlots());
-        if (currentSlots > tank.getTotalSlots()) {
-            slots.setForeground(Color.red);
-        } else {
-            slots.setForeground(Color.black);
-        }
 
         bvLabel.setText("BV: " + bv);
         bvLabel.setToolTipText("BV 2.0");
 
         cost.setText("Cost: " + formatter.format(currentCost) + " C-bills");
-
-        move.setText("Movement: " + walk + "/" + run + "/" + jump);
-        move.setToolTipText("Walk/Run/Jump MP");
-
     }
 
     private void getFluffImage() {
@@ -220,6 +204,7 @@ public class StatusBar extends ITab {
             String relativeFilePath = new File(fDialog.getDirectory() + fDialog.getFile()).getAbsolutePath();
             relativeFilePath = "." + File.separatorChar + relativeFilePath.substring(new File(System.getProperty("user.dir").toString()).getAbsolutePath().length() + 1);
             getTank().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
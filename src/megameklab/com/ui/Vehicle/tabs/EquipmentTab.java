@@ -29,8 +29,8 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
-import java.util.Enumeration;
 import java.util.List;
 
 import javax.swing.AbstractAction;
@@ -52,6 +52,7 @@ import javax.swing.ListSelectionModel;
 import javax.swing.RowFilter;
 import javax.swing.RowSorter;
 import javax.swing.SortOrder;
+import javax.swing.Timer;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
@@ -73,6 +74,9 @@ import megamek.common.WeaponType;
 import megamek.common.weapons.artillery.ArtilleryWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
+import megameklab.com.util.EquipmentFilterIndex;
+import megameklab.com.util.EquipmentSearchIndex;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
@@ -112,6 +116,8 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     private CriticalTableModel equipmentList;
     private EquipmentTableModel masterEquipmentList;
+    private EquipmentFilterIndex filterIndex;
+    private final Timer filterTimer = new Timer(EquipmentSearchIndex.SEARCH_DELAY, ev -> filterEquipment(true));
     private JTable masterEquipmentTable = new JTable();
     private JScrollPane masterEquipmentScroll = new JScrollPane();
     private JTable equipmentTable = new JTable();
@@ -165,6 +171,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         equipmentScroll.setPreferredSize(new java.awt.Dimension(300, 200));
 
         masterEquipmentList = new EquipmentTableModel(getTank(), eSource.getTechManager());
+        filterIndex = new EquipmentFilterIndex(masterEquipmentList, eSource, T_NUM, this::isAvailable);
         masterEquipmentTable.setModel(masterEquipmentList);
         masterEquipmentTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
         equipmentSorter = new TableRowSorter<EquipmentTableModel>(masterEquipmentList);
@@ -211,14 +218,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentTable.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "add");
         masterEquipmentTable.getActionMap().put("add", new EnterAction());
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            allTypes.add(eq);
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getAll());
 
         loadEquipmentTable();
 
@@ -238,18 +238,19 @@ public class EquipmentTab extends ITab implements ActionListener {
         txtFilter.setText("");
         txtFilter.setMinimumSize(new java.awt.Dimension(200, 28));
         txtFilter.setPreferredSize(new java.awt.Dimension(200, 28));
+        filterTimer.setRepeats(false);
         txtFilter.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void changedUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
             @Override
             public void insertUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
             @Override
             public void removeUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
         });
 
@@ -424,6 +425,7 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         updateEquipment();
         addAllListeners();
@@ -535,71 +537,89 @@ public class EquipmentTab extends ITab implements ActionListener {
     }
 
     private void filterEquipment() {
+        filterEquipment(false);
+    }
+
+    /**
+     * @param selectBest Whether to select the most relevant match of the search text. This is only
+     *                   done when the user changes the search text, so that other changes to the
+     *                   filter do not move the selection.
+     */
+    private void filterEquipment(boolean selectBest) {
         RowFilter<EquipmentTableModel, Integer> equipmentTypeFilter = null;
-        final int nType = choiceType.getSelectedIndex();
+        final BitSet available = filterIndex.getAvailable(choiceType.getSelectedIndex(),
+                chkShowAll.isSelected());
+        final EquipmentSearchIndex.SearchResult matches = EquipmentSearchIndex.getInstance()
+                .search(txtFilter.getText());
+        if (null != matches) {
+            matches.retainMatches(available, masterEquipmentList);
+        }
         equipmentTypeFilter = new RowFilter<EquipmentTableModel,Integer>() {
             @Override
             public boolean include(Entry<? extends EquipmentTableModel, ? extends Integer> entry) {
-                Tank tank = getTank();
-                EquipmentTableModel equipModel = entry.getModel();
-                EquipmentType etype = equipModel.getType(entry.getIdentifier());
-                WeaponType wtype = null;
-                if (etype instanceof WeaponType) {
-                    wtype = (WeaponType)etype;
-                }
-                AmmoType atype = null;
-                if (etype instanceof AmmoType) {
-                    atype = (AmmoType)etype;
-                }
-                if (UnitUtil.isHeatSink(etype) || UnitUtil.isJumpJet(etype)) {
-                    return false;
-                }
-                if ((etype instanceof MiscType)
-                        && (etype.hasFlag(MiscType.F_TSM)
-                                || etype.hasFlag(MiscType.F_INDUSTRIAL_TSM)
-                                || (etype.hasFlag(MiscType.F_MASC)
-                                        && !etype.hasSubType(MiscType.S_SUPERCHARGER)
-                                        && !etype.hasSubType(MiscType.S_JETBOOSTER)))) {
-                    return false;
-                }
-                boolean isSupportTankEquipment = false;
-                if (etype.hasFlag(MiscType.F_ARMORED_CHASSIS)) {
-                    isSupportTankEquipment = true;
-                }
-                if (isSupportTankEquipment
-                        && !((tank instanceof SupportTank)
-                                || (tank instanceof SupportVTOL))) {
-                    return false;
-                }
-                if (((nType == T_OTHER) && UnitUtil.isTankEquipment(etype, tank instanceof VTOL))
-                        || (((nType == T_WEAPON) && (UnitUtil.isTankWeapon(etype, tank))))
-                        || ((nType == T_ENERGY) && UnitUtil.isTankWeapon(etype, tank)
-                            && (wtype != null) && (wtype.hasFlag(WeaponType.F_ENERGY)
-                            || (wtype.hasFlag(WeaponType.F_PLASMA) && (wtype.getAmmoType() == AmmoType.T_PLASMA))))
-                        || ((nType == T_BALLISTIC) && UnitUtil.isTankWeapon(etype, tank)
-                            && (wtype != null) && (wtype.hasFlag(WeaponType.F_BALLISTIC)
-                                    && (wtype.getAmmoType() != AmmoType.T_NA)))
-                        || ((nType == T_MISSILE) && UnitUtil.isTankWeapon(etype, tank)
-                            && (wtype != null) && ((wtype.hasFlag(WeaponType.F_MISSILE)
-                                    && (wtype.getAmmoType() != AmmoType.T_NA)) || (wtype.getAmmoType() == AmmoType.T_C3_REMOTE_SENSOR)))
-                        || ((nType == T_ARTILLERY) && UnitUtil.isTankWeapon(etype, tank)
-                            && (wtype != null) && (wtype instanceof ArtilleryWeapon))
-                        || (((nType == T_AMMO) & (atype != null)) && UnitUtil.canUseAmmo(tank, atype))) {
-                    if (!eSource.getTechManager().isLegal(etype)
-                            && !chkShowAll.isSelected()) {
-                        return false;
-                    }
-                    if (txtFilter.getText().length() > 0) {
-                        String text = txtFilter.getText();
-                        return etype.getName().toLowerCase().contains(text.toLowerCase());
-                    } else {
-                        return true;
-                    }
-                }
-                return false;
+                return available.get(entry.getIdentifier());
             }
         };
         equipmentSorter.setRowFilter(equipmentTypeFilter);
+        if (selectBest && (null != matches)) {
+            // Select the most relevant match so it can be added right away
+            int best = matches.getBestRow(available, masterEquipmentList);
+            if (best >= 0) {
+                int view = masterEquipmentTable.convertRowIndexToView(best);
+                masterEquipmentTable.setRowSelectionInterval(view, view);
+                masterEquipmentTable.scrollRectToVisible(masterEquipmentTable.getCellRect(view, 0, true));
+            }
+        }
+    }
+
+    /**
+     * Determines whether equipment belongs in a category for the current unit, without
+     * considering tech legality. The results are cached by the filter index.
+     */
+    private boolean isAvailable(EquipmentType etype, int nType) {
+        Tank tank = getTank();
+        WeaponType wtype = null;
+        if (etype instanceof WeaponType) {
+            wtype = (WeaponType)etype;
+        }
+        AmmoType atype = null;
+        if (etype instanceof AmmoType) {
+            atype = (AmmoType)etype;
+        }
+        if (UnitUtil.isHeatSink(etype) || UnitUtil.isJumpJet(etype)) {
+            return false;
+        }
+        if ((etype instanceof MiscType)
+                && (etype.hasFlag(MiscType.F_TSM)
+                        || etype.hasFlag(MiscType.F_INDUSTRIAL_TSM)
+                        || (etype.hasFlag(MiscType.F_MASC)
+                                && !etype.hasSubType(MiscType.S_SUPERCHARGER)
+                                && !etype.hasSubType(MiscType.S_JETBOOSTER)))) {
+            return false;
+        }
+        boolean isSupportTankEquipment = false;
+        if (etype.hasFlag(MiscType.F_ARMORED_CHASSIS)) {
+            isSupportTankEquipment = true;
+        }
+        if (isSupportTankEquipment
+                && !((tank instanceof SupportTank)
+                        || (tank instanceof SupportVTOL))) {
+            return false;
+        }
+        return ((nType == T_OTHER) && UnitUtil.isTankEquipment(etype, tank instanceof VTOL))
+                || (((nType == T_WEAPON) && (UnitUtil.isTankWeapon(etype, tank))))
+                || ((nType == T_ENERGY) && UnitUtil.isTankWeapon(etype, tank)
+                    && (wtype != null) && (wtype.hasFlag(WeaponType.F_ENERGY)
+                    || (wtype.hasFlag(WeaponType.F_PLASMA) && (wtype.getAmmoType() == AmmoType.T_PLASMA))))
+                || ((nType == T_BALLISTIC) && UnitUtil.isTankWeapon(etype, tank)
+                    && (wtype != null) && (wtype.hasFlag(WeaponType.F_BALLISTIC)
+                            && (wtype.getAmmoType() != AmmoType.T_NA)))
+                || ((nType == T_MISSILE) && UnitUtil.isTankWeapon(etype, tank)
+                    && (wtype != null) && ((wtype.hasFlag(WeaponType.F_MISSILE)
+                            && (wtype.getAmmoType() != AmmoType.T_NA)) || (wtype.getAmmoType() == AmmoType.T_C3_REMOTE_SENSOR)))
+                || ((nType == T_ARTILLERY) && UnitUtil.isTankWeapon(etype, tank)
+                    && (wtype != null) && (wtype instanceof ArtilleryWeapon))
+                || (((nType == T_AMMO) & (atype != null)) && UnitUtil.canUseAmmo(tank, atype));
     }
 
     public void setEquipmentView() {
@@ -803,11 +823,11 @@ public class EquipmentTab extends ITab implements ActionListener {
      *
      */
     public class FormattedNumberSorter implements Comparator<String> {
+        DecimalFormat format = new DecimalFormat();
 
         @Override
         public int compare(String s0, String s1) {
             //lets find the weight class integer for each name
-            DecimalFormat format = new DecimalFormat();
             int l0 = 0;
             try {
                 l0 = format.parse(s0).intValue();
@@ -839,6 +859,7 @@ public class EquipmentTab extends ITab implements ActionListener {
     };
 
     public void refreshTable() {
+        masterEquipmentList.invalidate();
         filterEquipment();
     }
 }
\ No newline at end of file
@@ -56,6 +56,8 @@ import megameklab.com.ui.view.MVFArmorView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.PatchworkArmorView;
 import megameklab.com.ui.view.listeners.CVBuildListener;
+import megameklab.com.util.ArmorOptimizer;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -70,6 +72,7 @@ public class StructureTab extends ITab implements CVBuildListener {
     private RefreshListener refresh = null;
     private JPanel masterPanel;
     private BasicInfoView panBasicInfo; 
+    private CachingTechManager techManager;
     private CVChassisView panChassis;
     private MVFArmorView panArmor;
     private MovementView panMovement;
@@ -89,11 +92,12 @@ public class StructureTab extends ITab implements CVBuildListener {
     private void setUpPanels() {
         masterPanel = new JPanel(new GridBagLayout());
         panBasicInfo = new BasicInfoView(getTank().getConstructionTechAdvancement());
-        panChassis = new CVChassisView(panBasicInfo);
-        panArmor = new MVFArmorView(panBasicInfo);
-        panMovement = new MovementView(panBasicInfo);
-        panArmorAllocation = new ArmorAllocationView(panBasicInfo, Entity.ETYPE_TANK);
-        panPatchwork = new PatchworkArmorView(panBasicInfo);
+        techManager = new CachingTechManager(panBasicInfo);
+        panChassis = new CVChassisView(techManager);
+        panArmor = new MVFArmorView(techManager);
+        panMovement = new MovementView(techManager);
+        panArmorAllocation = new ArmorAllocationView(techManager, Entity.ETYPE_TANK);
+        panPatchwork = new PatchworkArmorView(techManager);
         panSummary = new SummaryView(eSource);
         panTransport = new CVTransportView();
         if (getTank().hasPatchworkArmor()) {
@@ -176,7 +180,7 @@ public class StructureTab extends ITab implements CVBuildListener {
     }
     
     public ITechManager getTechManager() {
-        return panBasicInfo;
+        return techManager;
     }
     
     /*
@@ -332,7 +336,7 @@ public class StructureTab extends ITab implements CVBuildListener {
                     this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
                     "Bad Engine", JOptionPane.ERROR_MESSAGE);
         }
-        if (UnitUtil.checkEquipmentByTechLevel(getTank(), panBasicInfo)) {
+        if (UnitUtil.checkEquipmentByTechLevel(getTank(), techManager)) {
             refresh.refreshEquipment();
         } else {
             refresh.refreshEquipmentTable();
@@ -668,8 +672,24 @@ public class StructureTab extends ITab implements CVBuildListener {
         refresh.refreshStatus();
     }
 
+    /**
+     * Searches for the allocation that best meets the objective chosen in the allocation view.
+     */
+    private void optimizeArmor(ArmorOptimizer.Objective objective) {
+        new ArmorOptimizer(getTank(), objective).optimize(ArmorOptimizer.DEFAULT_TIME_BUDGET)
+                .apply(getTank());
+        panArmorAllocation.setFromEntity(getTank());
+        refresh.refreshPreview();
+        refresh.refreshSummary();
+        refresh.refreshStatus();
+    }
+
     @Override
     public void autoAllocateArmor() {
+        if (null != panArmorAllocation.getObjective()) {
+            optimizeArmor(panArmorAllocation.getObjective());
+            return;
+        }
         int pointsToAllocate = UnitUtil.getArmorPoints(getTank(), getTank().getLabArmorTonnage());
 
         for (int location = 0; location < getTank().locations(); location++) {
@@ -18,7 +18,8 @@ package megameklab.com.ui.Vehicle.views;
 
 import java.awt.Color;
 import java.awt.Font;
-import java.util.Vector;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -33,6 +34,7 @@ import megamek.common.Tank;
 import megamek.common.VTOL;
 import megamek.common.loaders.MtfFile;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.CriticalSlotListModel;
 import megameklab.com.util.DropTargetCriticalList;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
@@ -64,6 +66,14 @@ public class CriticalView extends IView {
 
     private boolean showEmpty = false;
 
+    /** The slot lists for each location, which are updated in place until the layout changes */
+    private final List<DropTargetCriticalList<String>> slotLists = new ArrayList<>();
+    private final List<CriticalSlotListModel<String>> slotModels = new ArrayList<>();
+    private Tank layoutEntity = null;
+    private RefreshListener layoutRefresh = null;
+    private boolean layoutNoTurret;
+    private boolean layoutNoDualTurret;
+
     public CriticalView(EntitySource eSource, boolean showEmpty, RefreshListener refresh) {
         super(eSource);
         this.showEmpty = showEmpty;
@@ -127,6 +137,12 @@ public class CriticalView extends IView {
     }
 
     public void refresh() {
+        synchronized (getTank()) {
+            if (isLayoutCurrent()) {
+                updateSlots();
+                return;
+            }
+        }
         leftPanel.removeAll();
         rightPanel.removeAll();
         bodyPanel.removeAll();
@@ -176,60 +192,15 @@ public class CriticalView extends IView {
         }
 
         synchronized (getTank()) {
+            slotLists.clear();
+            slotModels.clear();
             for (int location = 0; location < getTank().locations(); location++) {
-                // JPanel locationPanel = new JPanel();
-                Vector<String> critNames = new Vector<String>(1, 1);
-
-                for (int slot = 0; slot < getTank().getNumberOfCriticals(location); slot++) {
-                    CriticalSlot cs = getTank().getCritical(location, slot);
-                    if (cs == null) {
-                        continue;
-                    } else if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
-                        critNames.add(getMech().getSystemName(cs.getIndex()));
-                    } else if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
-                        try {
-                            Mounted m = cs.getMount();
-                            // Critical didn't get removed. Remove it now.
-                            if (m == null) {
-
-                                m = cs.getMount();
-
-                                if (m == null) {
-                                    getTank().setCritical(location, slot, null);
-                                    continue;
-                                }
-                                cs.setMount(m);
-                            }
-                            StringBuffer critName = new StringBuffer(m.getName());
-                            if (critName.length() > 25) {
-                                critName.setLength(25);
-                                critName.append("...");
-                            }
-                            if (m.isRearMounted()) {
-                                critName.append(" (R)");
-                            }
-                            if (m.isSponsonTurretMounted()) {
-                                critName.append(" (ST)");
-                            }
-                            if (m.isPintleTurretMounted()) {
-                                critName.append(" (PT)");
-                            }
-                            critNames.add(critName.toString());
-
-                        } catch (Exception ex) {
-                            ex.printStackTrace();
-                        }
-                    }
-                }
-
-                if (critNames.size() == 0) {
-                    critNames.add(MtfFile.EMPTY);
-                }
-                DropTargetCriticalList<String> criticalSlotList = null;
-
-                DropTargetCriticalList<String> dropTargetCriticalList = new DropTargetCriticalList<String>(critNames, eSource, refresh, showEmpty);
-                criticalSlotList = dropTargetCriticalList;
-                criticalSlotList.setVisibleRowCount(critNames.size());
+                CriticalSlotListModel<String> model = new CriticalSlotListModel<>();
+                loadSlots(location, model);
+                DropTargetCriticalList<String> criticalSlotList = new DropTargetCriticalList<String>(model, eSource, refresh, showEmpty);
+                criticalSlotList.setVisibleRowCount(model.getSize());
+                slotLists.add(criticalSlotList);
+                slotModels.add(model);
                 criticalSlotList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
                 criticalSlotList.setFont(new Font("Arial", Font.PLAIN, 10));
                 criticalSlotList.setName(Integer.toString(location));
@@ -314,6 +285,10 @@ public class CriticalView extends IView {
                     }
                 }
             }
+            layoutEntity = getTank();
+            layoutRefresh = refresh;
+            layoutNoTurret = getTank().hasNoTurret();
+            layoutNoDualTurret = getTank().hasNoDualTurret();
             middlePanel2.setVisible(getTank().isSuperHeavy() && !(getTank() instanceof VTOL));
             frontPanel.repaint();
             bodyPanel.repaint();
@@ -327,4 +302,86 @@ public class CriticalView extends IView {
 
         }
     }
+
+    /**
+     * @return Whether the lists already in place are laid out for the current unit and its turrets
+     */
+    private boolean isLayoutCurrent() {
+        return (getTank() == layoutEntity) && (refresh == layoutRefresh)
+                && (getTank().hasNoTurret() == layoutNoTurret)
+                && (getTank().hasNoDualTurret() == layoutNoDualTurret);
+    }
+
+    /**
+     * Updates the existing lists in place. Only the slots that have changed are repainted, and
+     * a location is only resized if its number of slots has changed.
+     */
+    private void updateSlots() {
+        for (int location = 0; location < slotLists.size(); location++) {
+            if (loadSlots(location, slotModels.get(location))) {
+                slotLists.get(location).setVisibleRowCount(slotModels.get(location).getSize());
+                slotLists.get(location).revalidate();
+            }
+        }
+    }
+
+    /**
+     * Fills a location's list model with the names of the equipment in its critical slots.
+     *
+     * @return Whether the number of slots shown has changed
+     */
+    private boolean loadSlots(int location, CriticalSlotListModel<String> model) {
+        List<String> critNames = new ArrayList<>();
+        List<Object> states = new ArrayList<>();
+
+        for (int slot = 0; slot < getTank().getNumberOfCriticals(location); slot++) {
+            CriticalSlot cs = getTank().getCritical(location, slot);
+            if (cs == null) {
+                continue;
+            } else if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
+                critNames.add(getMech().getSystemName(cs.getIndex()));
+                states.add(CriticalSlotListModel.slotState(cs));
+            } else if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
+                try {
+                    Mounted m = cs.getMount();
+                    // Critical didn't get removed. Remove it now.
+                    if (m == null) {
+
+                        m = cs.getMount();
+
+                        if (m == null) {
+                            getTank().setCritical(location, slot, null);
+                            continue;
+                        }
+                        cs.setMount(m);
+                    }
+                    StringBuffer critName = new StringBuffer(m.getName());
+                    if (critName.length() > 25) {
+                        critName.setLength(25);
+                        critName.append("...");
+                    }
+                    if (m.isRearMounted()) {
+                        critName.append(" (R)");
+                    }
+                    if (m.isSponsonTurretMounted()) {
+                        critName.append(" (ST)");
+                    }
+                    if (m.isPintleTurretMounted()) {
+                        critName.append(" (PT)");
+                    }
+                    critNames.add(critName.toString());
+                    states.add(CriticalSlotListModel.slotState(cs));
+
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        }
+
+        if (critNames.size() == 0) {
+            critNames.add(MtfFile.EMPTY);
+            states.add(null);
+        }
+        return model.update(critNames, states);
+    }
 }
\ No newline at end of file
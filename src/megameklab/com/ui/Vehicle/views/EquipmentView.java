@@ -22,7 +22,6 @@ import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -37,8 +36,10 @@ import megamek.common.Entity;
 import megamek.common.EquipmentType;
 import megamek.common.MiscType;
 import megamek.common.Mounted;
+import megamek.common.VTOL;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentListCellKeySelectionManager;
 import megameklab.com.util.EquipmentListCellRenderer;
 import megameklab.com.util.IView;
@@ -105,14 +106,10 @@ public class EquipmentView extends IView implements ActionListener {
         add(equipmentScroll, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-
-            if (UnitUtil.isUnitEquipment(eq, eSource.getEntity())) {
-                masterEquipmentList.add(eq);
-            }
-        }
+        final boolean vtol = eSource.getEntity() instanceof VTOL;
+        EquipmentCatalog catalog = EquipmentCatalog.getInstance();
+        masterEquipmentList.addAll(catalog.select("tank-equipment" + (vtol ? ":vtol" : ""),
+                catalog.getAll(), eq -> UnitUtil.isTankEquipment(eq, vtol)));
 
         Collections.sort(masterEquipmentList, StringUtils.equipmentTypeComparator());
         loadEquipmentTable();
@@ -20,6 +20,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -29,12 +30,13 @@ import megamek.common.AmmoType;
 import megamek.common.Entity;
 import megamek.common.Mounted;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestAdvancedAerospace;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 /**
@@ -56,9 +58,7 @@ public class AdvancedAeroStatusBar extends ITab {
     private JLabel remainingTons = new JLabel();
     private JLabel heatSink = new JLabel();
     private JLabel cost = new JLabel();
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestAdvancedAerospace testAdvAero = null;
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -69,7 +69,8 @@ public class AdvancedAeroStatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testAdvAero = new TestAdvancedAerospace(getJumpship(), entityVerifier.aeroOption, null);
+        metrics = new UnitMetrics(parent, EnumSet.of(Metric.BATTLE_VALUE, Metric.COST,
+                Metric.WEIGHT, Metric.UNALLOCATED_AMMO), this::refreshMetrics);
         btnValidate.addActionListener(e -> UnitUtil.showValidation(getJumpship(), getParentFrame()));
         btnFluffImage.addActionListener(e -> getFluffImage());
         //btnFluffImage.setEnabled(false);
@@ -97,20 +98,12 @@ public class AdvancedAeroStatusBar extends ITab {
 
 
         refresh();
+        metrics.refreshNow();
     }
 
     public void refresh() {
 
         int heat = getJumpship().getHeatCapacity();
-        double tonnage = getJumpship().getWeight();
-        double currentTonnage;
-        int bv = getJumpship().calculateBattleValue();
-        long currentCost = (long) Math.round(getJumpship().getCost(false));
-        
-        testAdvAero = new TestAdvancedAerospace(getJumpship(), entityVerifier.aeroOption, null);
-        currentTonnage = testAdvAero.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getJumpship());
-
         double totalHeat = calculateTotalHeat();
 
         heatSink.setText("Heat: " + totalHeat + "/" + heat);
@@ -122,6 +115,19 @@ public class AdvancedAeroStatusBar extends ITab {
         }
         heatSink.setVisible(getJumpship().getEntityType() == Entity.ETYPE_AERO);
 
+        metrics.refresh();
+    }
+
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        double tonnage = getJumpship().getWeight();
+        double currentTonnage = metrics.get(Metric.WEIGHT)
+                + metrics.get(Metric.UNALLOCATED_AMMO);
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        long currentCost = (long) metrics.get(Metric.COST);
+
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");        
         remainingTons.setText("Remaining: " + (tonnage - currentTonnage));
@@ -201,6 +207,7 @@ public class AdvancedAeroStatusBar extends ITab {
                             .substring(new File(System.getProperty("user.dir")
                                     .toString()).getAbsolutePath().length() + 1);
             getJumpship().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
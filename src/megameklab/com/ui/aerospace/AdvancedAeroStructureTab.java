@@ -44,6 +44,8 @@ import megameklab.com.ui.view.HeatSinkView;
 import megameklab.com.ui.view.MVFArmorView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.listeners.AdvancedAeroBuildListener;
+import megameklab.com.util.ArmorOptimizer;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -61,6 +63,7 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
     
     private JPanel masterPanel;
     private BasicInfoView panInfo;
+    private CachingTechManager techManager;
     private AdvancedAeroChassisView panChassis;
     private MVFArmorView panArmor;
     private MovementView panMovement;
@@ -84,14 +87,15 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
     private void setUpPanels() {
         masterPanel = new JPanel(new GridBagLayout());
         panInfo = new BasicInfoView(getJumpship().getConstructionTechAdvancement());
-        panChassis = new AdvancedAeroChassisView(panInfo);
-        panArmor = new MVFArmorView(panInfo);
-        panMovement = new MovementView(panInfo);
+        techManager = new CachingTechManager(panInfo);
+        panChassis = new AdvancedAeroChassisView(techManager);
+        panArmor = new MVFArmorView(techManager);
+        panMovement = new MovementView(techManager);
         panFuel = new AeroFuelView();
-        panHeat = new HeatSinkView(panInfo);
-        panCrew = new AerospaceCrewView(panInfo);
+        panHeat = new HeatSinkView(techManager);
+        panCrew = new AerospaceCrewView(techManager);
         panGravDecks = new GravDeckView();
-        panArmorAllocation = new ArmorAllocationView(panInfo, Entity.ETYPE_AERO);
+        panArmorAllocation = new ArmorAllocationView(techManager, Entity.ETYPE_AERO);
         panSummary = new AdvancedAeroSummaryView(eSource);
 
         GridBagConstraints gbc = new GridBagConstraints();
@@ -145,7 +149,7 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
     }
     
     public ITechManager getTechManager() {
-        return panInfo;
+        return techManager;
     }
     
     /*
@@ -278,7 +282,7 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
     @Override
     public void updateTechLevel() {
         getJumpship().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
-        if (UnitUtil.checkEquipmentByTechLevel(getJumpship(), panInfo)) {
+        if (UnitUtil.checkEquipmentByTechLevel(getJumpship(), techManager)) {
             refresh.refreshEquipment();
         } else {
             refresh.refreshEquipmentTable();
@@ -516,8 +520,25 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
         refresh.refreshStatus();
     }
 
+    /**
+     * Searches for the allocation that best meets the objective chosen in the allocation view.
+     */
+    private void optimizeArmor(ArmorOptimizer.Objective objective) {
+        new ArmorOptimizer(getJumpship(), objective).optimize(ArmorOptimizer.DEFAULT_TIME_BUDGET)
+                .apply(getJumpship());
+        getJumpship().autoSetThresh();
+        panArmorAllocation.setFromEntity(getJumpship());
+        refresh.refreshPreview();
+        refresh.refreshSummary();
+        refresh.refreshStatus();
+    }
+
     @Override
     public void autoAllocateArmor() {
+        if (null != panArmorAllocation.getObjective()) {
+            optimizeArmor(panArmorAllocation.getObjective());
+            return;
+        }
         // ignore unarmored system-wide location and warship broadsides
         final int ARMOR_FACINGS = getJumpship() instanceof Warship ?
                 getJumpship().locations() - 3 : getJumpship().locations() - 1;
@@ -231,6 +231,7 @@ public class AdvancedAeroUI extends MegaMekLabMainUI {
     @Override
     public void refreshAll() {
         statusbar.refresh();
+        getValidation().refresh();
         structureTab.refresh();
         equipmentTab.refresh();
         buildTab.refresh();
@@ -254,12 +255,13 @@ public class AdvancedAeroUI extends MegaMekLabMainUI {
     @Override
     public void refreshHeader() {
         String title = getEntity().getChassis() + " " + getEntity().getModel() + ".blk";
-        setTitle(title);
+        setUnitTitle(title);
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
@@ -214,6 +214,7 @@ public class DropshipMainUI extends MegaMekLabMainUI {
     @Override
     public void refreshAll() {
         statusbar.refresh();
+        getValidation().refresh();
         structureTab.refresh();
         equipmentTab.refresh();
         buildTab.refresh();
@@ -237,12 +238,13 @@ public class DropshipMainUI extends MegaMekLabMainUI {
     @Override
     public void refreshHeader() {
         String title = getEntity().getChassis() + " " + getEntity().getModel() + ".blk";
-        setTitle(title);
+        setUnitTitle(title);
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
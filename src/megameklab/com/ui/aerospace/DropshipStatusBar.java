@@ -20,6 +20,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -29,12 +30,13 @@ import megamek.common.AmmoType;
 import megamek.common.Entity;
 import megamek.common.Mounted;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestSmallCraft;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 /**
@@ -55,9 +57,7 @@ public class DropshipStatusBar extends ITab {
     private JLabel tons = new JLabel();
     private JLabel heatSink = new JLabel();
     private JLabel cost = new JLabel();
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestSmallCraft testSmallCraft = null;
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -68,7 +68,8 @@ public class DropshipStatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testSmallCraft = new TestSmallCraft(getSmallCraft(), entityVerifier.aeroOption, null);
+        metrics = new UnitMetrics(parent, EnumSet.of(Metric.BATTLE_VALUE, Metric.COST,
+                Metric.WEIGHT, Metric.UNALLOCATED_AMMO), this::refreshMetrics);
         btnValidate.addActionListener(e -> UnitUtil.showValidation(getSmallCraft(), getParentFrame()));
         btnFluffImage.addActionListener(e -> getFluffImage());
         //btnFluffImage.setEnabled(false);
@@ -94,21 +95,12 @@ public class DropshipStatusBar extends ITab {
 
 
         refresh();
+        metrics.refreshNow();
     }
 
     public void refresh() {
 
         int heat = getSmallCraft().getHeatCapacity();
-        double tonnage = getSmallCraft().getWeight();
-        double currentTonnage;
-        int bv = getSmallCraft().calculateBattleValue();
-        long currentCost = (long) Math.round(getSmallCraft().getCost(false));
-
-        testSmallCraft = new TestSmallCraft(getSmallCraft(), entityVerifier.aeroOption, null);
-
-        currentTonnage = testSmallCraft.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getSmallCraft());
-
         double totalHeat = calculateTotalHeat();
 
         heatSink.setText("Heat: " + totalHeat + "/" + heat);
@@ -120,6 +112,19 @@ public class DropshipStatusBar extends ITab {
         }
         heatSink.setVisible(getSmallCraft().getEntityType() == Entity.ETYPE_AERO);
 
+        metrics.refresh();
+    }
+
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        double tonnage = getSmallCraft().getWeight();
+        double currentTonnage = metrics.get(Metric.WEIGHT)
+                + metrics.get(Metric.UNALLOCATED_AMMO);
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        long currentCost = (long) metrics.get(Metric.COST);
+
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");
         if (currentTonnage > tonnage) {
@@ -195,6 +200,7 @@ public class DropshipStatusBar extends ITab {
                             .substring(new File(System.getProperty("user.dir")
                                     .toString()).getAbsolutePath().length() + 1);
             getSmallCraft().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
@@ -43,6 +43,8 @@ import megameklab.com.ui.view.HeatSinkView;
 import megameklab.com.ui.view.MVFArmorView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.listeners.DropshipBuildListener;
+import megameklab.com.util.ArmorOptimizer;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -62,6 +64,7 @@ public class DropshipStructureTab extends ITab implements DropshipBuildListener
     
     private JPanel masterPanel;
     private BasicInfoView panInfo;
+    private CachingTechManager techManager;
     private DropshipChassisView panChassis;
     private MVFArmorView panArmor;
     private MovementView panMovement;
@@ -84,13 +87,14 @@ public class DropshipStructureTab extends ITab implements DropshipBuildListener
     private void setUpPanels() {
         masterPanel = new JPanel(new GridBagLayout());
         panInfo = new BasicInfoView(getSmallCraft().getConstructionTechAdvancement());
-        panChassis = new DropshipChassisView(panInfo);
-        panArmor = new MVFArmorView(panInfo);
-        panMovement = new MovementView(panInfo);
+        techManager = new CachingTechManager(panInfo);
+        panChassis = new DropshipChassisView(techManager);
+        panArmor = new MVFArmorView(techManager);
+        panMovement = new MovementView(techManager);
         panFuel = new AeroFuelView();
-        panHeat = new HeatSinkView(panInfo);
-        panCrew = new AerospaceCrewView(panInfo);
-        panArmorAllocation = new ArmorAllocationView(panInfo, Entity.ETYPE_AERO);
+        panHeat = new HeatSinkView(techManager);
+        panCrew = new AerospaceCrewView(techManager);
+        panArmorAllocation = new ArmorAllocationView(techManager, Entity.ETYPE_AERO);
         panSummary = new DropshipSummaryView(eSource);
 
         GridBagConstraints gbc = new GridBagConstraints();
@@ -141,7 +145,7 @@ public class DropshipStructureTab extends ITab implements DropshipBuildListener
     }
     
     public ITechManager getTechManager() {
-        return panInfo;
+        return techManager;
     }
     
     /*
@@ -270,7 +274,7 @@ public class DropshipStructureTab extends ITab implements DropshipBuildListener
     @Override
     public void updateTechLevel() {
         getSmallCraft().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
-        if (UnitUtil.checkEquipmentByTechLevel(getSmallCraft(), panInfo)) {
+        if (UnitUtil.checkEquipmentByTechLevel(getSmallCraft(), techManager)) {
             refresh.refreshEquipment();
         } else {
             refresh.refreshEquipmentTable();
@@ -474,8 +478,25 @@ public class DropshipStructureTab extends ITab implements DropshipBuildListener
         refresh.refreshStatus();
     }
 
+    /**
+     * Searches for the allocation that best meets the objective chosen in the allocation view.
+     */
+    private void optimizeArmor(ArmorOptimizer.Objective objective) {
+        new ArmorOptimizer(getSmallCraft(), objective).optimize(ArmorOptimizer.DEFAULT_TIME_BUDGET)
+                .apply(getSmallCraft());
+        getSmallCraft().autoSetThresh();
+        panArmorAllocation.setFromEntity(getSmallCraft());
+        refresh.refreshPreview();
+        refresh.refreshSummary();
+        refresh.refreshStatus();
+    }
+
     @Override
     public void autoAllocateArmor() {
+        if (null != panArmorAllocation.getObjective()) {
+            optimizeArmor(panArmorAllocation.getObjective());
+            return;
+        }
         // Ignore unarmored system-wide location
         final int ARMOR_FACINGS = getSmallCraft().locations() - 1;
         for (int loc = 0; loc < ARMOR_FACINGS; loc++) {
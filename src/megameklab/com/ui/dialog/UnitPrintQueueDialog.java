@@ -41,7 +41,7 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import megamek.client.ui.swing.UnitLoadingDialog;
 import megamek.client.ui.swing.UnitSelectorDialog;
 import megamek.common.Entity;
-import megamek.common.MechFileParser;
+import megameklab.com.util.ParsedUnitCache;
 import megameklab.com.util.UnitPrintManager;
 
 /*
@@ -186,7 +186,7 @@ public class UnitPrintQueueDialog extends JDialog implements ActionListener, Key
 
             for (File entityFile : f.getSelectedFiles()) {
                 try {
-                    Entity tempEntity = new MechFileParser(entityFile).getEntity();
+                    Entity tempEntity = ParsedUnitCache.getInstance().load(entityFile);
                     units.add(tempEntity);
                 } catch (Exception ex) {
                     ex.printStackTrace();
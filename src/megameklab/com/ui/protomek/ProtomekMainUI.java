@@ -150,6 +150,7 @@ public class ProtomekMainUI extends MegaMekLabMainUI {
     @Override
     public void refreshAll() {
         statusbar.refresh();
+        getValidation().refresh();
         structureTab.refresh();
         equipmentTab.refresh();
         buildTab.refresh();
@@ -186,13 +187,14 @@ public class ProtomekMainUI extends MegaMekLabMainUI {
 
         String title = getEntity().getChassis() + " " + getEntity().getModel()
                 + ".blk";
-        setTitle(title);
+        setUnitTitle(title);
 
     }
 
     @Override
     public void refreshStatus() {
         statusbar.refresh();
+        getValidation().refresh();
     }
 
     @Override
@@ -20,17 +20,20 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestProtomech;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.util.FluffThumbnails;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitMetrics;
+import megameklab.com.util.UnitMetrics.Metric;
 import megameklab.com.util.UnitUtil;
 
 /**
@@ -50,8 +53,7 @@ public class ProtomekStatusBar extends ITab {
     private JLabel tons = new JLabel();
     private JLabel heatSink = new JLabel();
     private JLabel cost = new JLabel();
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
-    private TestProtomech testEntity = null;
+    private UnitMetrics metrics;
     private DecimalFormat formatter;
     private JFrame parentFrame;
 
@@ -62,7 +64,8 @@ public class ProtomekStatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testEntity = new TestProtomech(getProtomech(), entityVerifier.mechOption, null);
+        metrics = new UnitMetrics(parent, EnumSet.of(Metric.BATTLE_VALUE, Metric.COST,
+                Metric.WEIGHT), this::refreshMetrics);
         btnValidate.addActionListener(ev -> UnitUtil.showValidation(getProtomech(), getParentFrame()));
         btnFluffImage.addActionListener(ev -> getFluffImage());
 
@@ -90,23 +93,35 @@ public class ProtomekStatusBar extends ITab {
 
 
         refresh();
+        metrics.refreshNow();
     }
 
     public void refresh() {
-        double tonnage = getProtomech().getWeight() * 1000;
-        double currentTonnage;
-        int bv = getProtomech().calculateBattleValue();
         int maxCrits = 0;
         for (int l = 0; l < getProtomech().locations(); l++) {
             maxCrits += TestProtomech.maxSlotsByLocation(l, getProtomech());
         }
         long currentCrits = getProtomech().getEquipment().stream()
                 .filter(m -> TestProtomech.requiresSlot(m.getType())).count();
-        long currentCost = (long) Math.round(getProtomech().getCost(false));
 
-        testEntity = new TestProtomech(getProtomech(), entityVerifier.mechOption, null);
+        crits.setText("Criticals: " +  currentCrits + "/" + maxCrits);
+        if(currentCrits > maxCrits) {
+            crits.setForeground(Color.red);
+        } else {
+            crits.setForeground(Color.BLACK);
+        }
+
+        metrics.refresh();
+    }
 
-        currentTonnage = testEntity.calculateWeight() * 1000;
+    /**
+     * Updates the labels for the values that are calculated in the background.
+     */
+    private void refreshMetrics() {
+        double tonnage = getProtomech().getWeight() * 1000;
+        double currentTonnage = metrics.get(Metric.WEIGHT) * 1000;
+        int bv = (int) metrics.get(Metric.BATTLE_VALUE);
+        long currentCost = (long) metrics.get(Metric.COST);
 
         tons.setText("Mass: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");
@@ -120,14 +135,6 @@ public class ProtomekStatusBar extends ITab {
         bvLabel.setToolTipText("BV 2.0");
 
         cost.setText("Cost: " + formatter.format(currentCost) + " C-bills");
-
-        crits.setText("Criticals: " +  currentCrits + "/" + maxCrits);
-        if(currentCrits > maxCrits) {
-            crits.setForeground(Color.red);
-        } else {
-            crits.setForeground(Color.BLACK);
-        }
-
     }
 
     private void getFluffImage() {
@@ -142,6 +149,7 @@ public class ProtomekStatusBar extends ITab {
             String relativeFilePath = new File(fDialog.getDirectory() + fDialog.getFile()).getAbsolutePath();
             relativeFilePath = "." + File.separatorChar + relativeFilePath.substring(new File(System.getProperty("user.dir").toString()).getAbsolutePath().length() + 1);
             getProtomech().getFluff().setMMLImagePath(relativeFilePath);
+            FluffThumbnails.getInstance().prefetch(new File(relativeFilePath));
         }
         refresh.refreshPreview();
         return;
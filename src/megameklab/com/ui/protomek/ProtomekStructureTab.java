@@ -52,6 +52,8 @@ import megameklab.com.ui.view.BasicInfoView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.ProtomekChassisView;
 import megameklab.com.ui.view.listeners.ProtomekBuildListener;
+import megameklab.com.util.ArmorOptimizer;
+import megameklab.com.util.CachingTechManager;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -67,6 +69,7 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener
     private static final long serialVersionUID = 6498316429919711881L;
     
     private BasicInfoView panBasicInfo;
+    private CachingTechManager techManager;
     private ProtomekChassisView panChassis;
     private BAProtoArmorView panArmor;
     private MovementView panMovement;
@@ -87,10 +90,11 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener
     private void setUpPanels() {
         masterPanel = new JPanel(new GridBagLayout());
         panBasicInfo = new BasicInfoView(getProtomech().getConstructionTechAdvancement());
-        panChassis = new ProtomekChassisView(panBasicInfo);
-        panArmor = new BAProtoArmorView(panBasicInfo);
-        panMovement = new MovementView(panBasicInfo);
-        panArmorAllocation = new ArmorAllocationView(panBasicInfo, Entity.ETYPE_PROTOMECH);
+        techManager = new CachingTechManager(panBasicInfo);
+        panChassis = new ProtomekChassisView(techManager);
+        panArmor = new BAProtoArmorView(techManager);
+        panMovement = new MovementView(techManager);
+        panArmorAllocation = new ArmorAllocationView(techManager, Entity.ETYPE_PROTOMECH);
         panSummary = new ProtomekSummaryView(eSource);
 
         GridBagConstraints gbc;
@@ -171,7 +175,7 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener
     }
 
     public ITechManager getTechManager() {
-        return panBasicInfo;
+        return techManager;
     }
 
     /*
@@ -357,12 +361,12 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener
         if (!getTechManager().isLegal(panArmor.getArmor())) {
             UnitUtil.removeISorArmorMounts(getProtomech(), false);
         }
-        if (UnitUtil.checkEquipmentByTechLevel(getProtomech(), panBasicInfo)) {
+        if (UnitUtil.checkEquipmentByTechLevel(getProtomech(), techManager)) {
             refresh.refreshEquipment();
         } else {
             refresh.refreshEquipmentTable();
         }
-        if (!panBasicInfo.isLegal(Protomech.TA_INTERFACE_COCKPIT)) {
+        if (!techManager.isLegal(Protomech.TA_INTERFACE_COCKPIT)) {
             getProtomech().setInterfaceCockpit(false);
         }
         panChassis.setFromEntity(getProtomech());
@@ -568,8 +572,24 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener
         refresh.refreshStatus();
     }
 
+    /**
+     * Searches for the allocation that best meets the objective chosen in the allocation view.
+     */
+    private void optimizeArmor(ArmorOptimizer.Objective objective) {
+        new ArmorOptimizer(getProtomech(), objective, panArmor.getArmorPoints())
+                .optimize(ArmorOptimizer.DEFAULT_TIME_BUDGET).apply(getProtomech());
+        panArmorAllocation.setFromEntity(getProtomech());
+        refresh.refreshPreview();
+        refresh.refreshSummary();
+        refresh.refreshStatus();
+    }
+
     @Override
     public void autoAllocateArmor() {
+        if (null != panArmorAllocation.getObjective()) {
+            optimizeArmor(panArmorAllocation.getObjective());
+            return;
+        }
         double pointsToAllocate = panArmor.getArmorPoints();
         double maxArmor = UnitUtil.getMaximumArmorPoints(getProtomech());
         if (pointsToAllocate > maxArmor) {
@@ -27,8 +27,8 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -58,6 +58,7 @@ import javax.swing.RowFilter;
 import javax.swing.RowSorter;
 import javax.swing.SortOrder;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.Timer;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
@@ -80,6 +81,9 @@ import megamek.common.weapons.tag.TAGWeapon;
 import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
+import megameklab.com.util.EquipmentFilterIndex;
+import megameklab.com.util.EquipmentSearchIndex;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
@@ -189,6 +193,8 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     private CriticalTableModel equipmentList;
     private EquipmentTableModel masterEquipmentList;
+    private EquipmentFilterIndex filterIndex;
+    private final Timer filterTimer = new Timer(EquipmentSearchIndex.SEARCH_DELAY, ev -> filterEquipment(true));
     private JTable masterEquipmentTable = new JTable();
     private JScrollPane masterEquipmentScroll = new JScrollPane();
     private JTable equipmentTable = new JTable();
@@ -223,6 +229,10 @@ public class EquipmentTab extends ITab implements ActionListener {
         equipmentScroll.setPreferredSize(new java.awt.Dimension(300, 200));
 
         masterEquipmentList = new EquipmentTableModel(eSource.getEntity(), eSource.getTechManager());
+        filterIndex = new EquipmentFilterIndex(masterEquipmentList, eSource,
+                EquipmentCategory.values().length,
+                (eq, cat) -> UnitUtil.isEntityEquipment(eq, eSource.getEntity())
+                        && EquipmentCategory.values()[cat].filter(eq, eSource.getEntity()));
         masterEquipmentTable.setModel(masterEquipmentList);
         masterEquipmentTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
         equipmentSorter = new TableRowSorter<EquipmentTableModel>(masterEquipmentList);
@@ -268,14 +278,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentTable.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "add");
         masterEquipmentTable.getActionMap().put("add", new EnterAction());
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            allTypes.add(eq);
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getAll());
 
         loadEquipmentTable();
 
@@ -293,18 +296,19 @@ public class EquipmentTab extends ITab implements ActionListener {
         txtFilter.setText("");
         txtFilter.setMinimumSize(new java.awt.Dimension(200, 28));
         txtFilter.setPreferredSize(new java.awt.Dimension(200, 28));
+        filterTimer.setRepeats(false);
         txtFilter.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void changedUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
             @Override
             public void insertUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
             @Override
             public void removeUpdate(DocumentEvent e) {
-                filterEquipment();
+                filterTimer.restart();
             }
         });
 
@@ -503,6 +507,7 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         updateEquipment();
         addAllListeners();
@@ -510,6 +515,7 @@ public class EquipmentTab extends ITab implements ActionListener {
     }
     
     public void refreshTable() {
+        masterEquipmentList.invalidate();
         filterEquipment();
     }
 
@@ -679,30 +685,40 @@ public class EquipmentTab extends ITab implements ActionListener {
     }
 
     private void filterEquipment() {
+        filterEquipment(false);
+    }
+
+    /**
+     * @param selectBest Whether to select the most relevant match of the search text. This is only
+     *                   done when the user changes the search text, so that other changes to the
+     *                   filter do not move the selection.
+     */
+    private void filterEquipment(boolean selectBest) {
         RowFilter<EquipmentTableModel, Integer> equipmentTypeFilter = null;
         final EquipmentCategory nType = (EquipmentCategory) choiceType.getSelectedItem();
+        final BitSet available = (null == nType) ? new BitSet()
+                : filterIndex.getAvailable(nType.ordinal(), chkShowAll.isSelected());
+        final EquipmentSearchIndex.SearchResult matches = EquipmentSearchIndex.getInstance()
+                .search(txtFilter.getText());
+        if (null != matches) {
+            matches.retainMatches(available, masterEquipmentList);
+        }
         equipmentTypeFilter = new RowFilter<EquipmentTableModel,Integer>() {
             @Override
             public boolean include(Entry<? extends EquipmentTableModel, ? extends Integer> entry) {
-                Entity entity = eSource.getEntity();
-                EquipmentTableModel equipModel = entry.getModel();
-                EquipmentType etype = equipModel.getType(entry.getIdentifier());
-                if (!UnitUtil.isEntityEquipment(etype, entity)
-                        || !nType.filter(etype, eSource.getEntity())) {
-                    return false;
-                }
-                if (!eSource.getTechManager().isLegal(etype) && !chkShowAll.isSelected()) {
-                    return false;
-                }
-                if (txtFilter.getText().length() > 0) {
-                    String text = txtFilter.getText();
-                    return etype.getName().toLowerCase().contains(text.toLowerCase());
-                } else {
-                    return true;
-                }
+                return available.get(entry.getIdentifier());
             }
         };
         equipmentSorter.setRowFilter(equipmentTypeFilter);
+        if (selectBest && (null != matches)) {
+            // Select the most relevant match so it can be added right away
+            int best = matches.getBestRow(available, masterEquipmentList);
+            if (best >= 0) {
+                int view = masterEquipmentTable.convertRowIndexToView(best);
+                masterEquipmentTable.setRowSelectionInterval(view, view);
+                masterEquipmentTable.scrollRectToVisible(masterEquipmentTable.getCellRect(view, 0, true));
+            }
+        }
     }
 
     public void setEquipmentView() {
@@ -906,11 +922,11 @@ public class EquipmentTab extends ITab implements ActionListener {
      *
      */
     public class FormattedNumberSorter implements Comparator<String> {
+        DecimalFormat format = new DecimalFormat();
 
         @Override
         public int compare(String s0, String s1) {
             //lets find the weight class integer for each name
-            DecimalFormat format = new DecimalFormat();
             int l0 = 0;
             try {
                 l0 = format.parse(s0).intValue();
@@ -18,6 +18,7 @@ package megameklab.com.ui.tabs;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.event.HierarchyEvent;
 
 import javax.swing.JTabbedPane;
 
@@ -25,9 +26,16 @@ import megamek.client.ui.swing.MechViewPanel;
 import megamek.common.Entity;
 import megamek.common.MechView;
 import megamek.common.templates.TROView;
+import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.DebouncedEntityTask;
 import megameklab.com.util.ITab;
 
+/**
+ * Shows the unit summary and TRO readouts. The readouts are generated on a background thread
+ * from a snapshot of the unit, and rapid edits are coalesced into a single render. The TRO
+ * is only rendered while it is visible.
+ */
 public class PreviewTab extends ITab {
 
 	/**
@@ -38,6 +46,10 @@ public class PreviewTab extends ITab {
     private MechViewPanel panelMekView;
     private MechViewPanel panelTROView;
 
+    private final DebouncedEntityTask<Preview<MechView>> mechViewTask;
+    private final DebouncedEntityTask<Preview<TROView>> troViewTask;
+    private boolean troStale = true;
+
 	public PreviewTab(EntitySource eSource) {
 	    super(eSource);
 		this.setLayout(new BorderLayout());
@@ -53,29 +65,81 @@ public class PreviewTab extends ITab {
 
         add(panPreview, BorderLayout.CENTER);
         setBackground(Color.WHITE);
+
+        mechViewTask = new DebouncedEntityTask<>(eSource, DebouncedEntityTask.DEFAULT_DELAY,
+                PreviewTab::createMechView, this::showMechView);
+        troViewTask = new DebouncedEntityTask<>(eSource, DebouncedEntityTask.DEFAULT_DELAY,
+                PreviewTab::createTROView, this::showTROView);
+        // Catch up on any changes made while the TRO was hidden.
+        panelTROView.addHierarchyListener(e -> {
+            if (((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0)
+                    && panelTROView.isShowing() && troStale) {
+                troViewTask.runNow();
+            }
+        });
         refresh();
 	}
-	
+
+	/**
+	 * Requests that the readouts be regenerated. The work is deferred until editing pauses.
+	 */
 	public void refresh() {
-		boolean populateTextFields = true;
-		final Entity selectedUnit = eSource.getEntity();
-        MechView mechView = null;
-        TROView troView = null;
+	    mechViewTask.schedule();
+	    troStale = true;
+	    if (panelTROView.isShowing()) {
+	        troViewTask.schedule();
+	    } else {
+	        troViewTask.cancel();
+	    }
+	}
+
+	private static Preview<MechView> createMechView(Entity entity) {
         try {
-            mechView = new MechView(selectedUnit, false);
-            troView = TROView.createView(selectedUnit, true);
+            return new Preview<>(entity, new MechView(entity, false));
         } catch (Exception e) {
-            e.printStackTrace();
             // error unit didn't load right. this is bad news.
-            populateTextFields = false;
-        }
-        if (populateTextFields && (mechView != null)) {
-            panelMekView.setMech(selectedUnit, mechView);
-            panelTROView.setMech(selectedUnit, troView);
-        } else {
-            panelMekView.reset();
-            panelTROView.reset();
+            MegaMekLab.getLogger().error(PreviewTab.class, "createMechView(Entity)", e);
+            return new Preview<>(entity, null);
         }
 	}
+
+	private static Preview<TROView> createTROView(Entity entity) {
+	    try {
+	        return new Preview<>(entity, TROView.createView(entity, true));
+	    } catch (Exception e) {
+            MegaMekLab.getLogger().error(PreviewTab.class, "createTROView(Entity)", e);
+            return new Preview<>(entity, null);
+	    }
+	}
+
+	private void showMechView(Preview<MechView> preview) {
+	    if (null != preview.view) {
+	        panelMekView.setMech(preview.entity, preview.view);
+	    } else {
+	        panelMekView.reset();
+	    }
+	}
+
+	private void showTROView(Preview<TROView> preview) {
+	    troStale = false;
+	    if (null != preview.view) {
+	        panelTROView.setMech(preview.entity, preview.view);
+	    } else {
+	        panelTROView.reset();
+	    }
+	}
+
+	/**
+	 * Pairs a readout with the unit snapshot it was generated from, which is used for the fluff image.
+	 */
+	private static class Preview<V> {
+	    final Entity entity;
+	    final V view;
+
+	    Preview(Entity entity, V view) {
+	        this.entity = entity;
+	        this.view = view;
+	    }
+	}
 	
-}
\ No newline at end of file
+}
@@ -24,7 +24,6 @@ import java.awt.event.MouseListener;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.swing.AbstractListModel;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.JLabel;
@@ -42,6 +41,7 @@ import megamek.common.WeaponType;
 import megamek.common.annotations.Nullable;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CConfig;
+import megameklab.com.util.CriticalSlotListModel;
 import megameklab.com.util.CriticalTransferHandler;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -57,11 +57,13 @@ public class ProtomekMountList extends JList<Mounted> {
     private final EntitySource eSource;
     private final int location;
     private RefreshListener refresh;
+    private final CriticalSlotListModel<Mounted> mountModel = new CriticalSlotListModel<>();
     
     public ProtomekMountList(EntitySource eSource, RefreshListener refresh, int location) {
         this.eSource = eSource;
         this.refresh = refresh;
         this.location = location;
+        setModel(mountModel);
         refreshContents();
         setCellRenderer(new MountCellRenderer(true));
         addMouseListener(mouseListener);
@@ -93,15 +95,28 @@ public class ProtomekMountList extends JList<Mounted> {
         }
     }
     
+    /**
+     * Updates the list with the equipment in this location. Only the rows that have changed are
+     * repainted.
+     */
     public void refreshContents() {
-        MountedListModel model = new MountedListModel();
+        List<Mounted> mounts = new ArrayList<>();
+        List<Object> states = new ArrayList<>();
         for (Mounted m : getProtomech().getEquipment()) {
             if (m.getLocation() == location) {
-                model.add(m);
+                mounts.add(m);
+                states.add(CriticalSlotListModel.mountState(m));
             }
         }
-        setModel(model);
-        setVisibleRowCount(model.getSize());
+        if (mounts.isEmpty()) {
+            // Shown as a single empty slot
+            mounts.add(null);
+            states.add(null);
+        }
+        if (mountModel.update(mounts, states)) {
+            setVisibleRowCount(mountModel.getSize());
+            revalidate();
+        }
     }
     
     private void removeMount(Mounted mount) {
@@ -182,32 +197,6 @@ public class ProtomekMountList extends JList<Mounted> {
         }
     };
     
-    private static class MountedListModel extends AbstractListModel<Mounted> {
-
-        private static final long serialVersionUID = 2575915653617712928L;
-
-        private List<Mounted> list = new ArrayList<>();
-
-        @Override
-        public int getSize() {
-            return Math.max(1, list.size());
-        }
-
-        @Override
-        public Mounted getElementAt(int index) {
-            if (index >= list.size()) {
-                return null;
-            }
-            return list.get(index);
-        }
-        
-        public void add(Mounted mounted) {
-            list.add(mounted);
-            fireContentsChanged(this, list.size() - 1, list.size() - 1);
-        }
-        
-    }
-    
     private static class MountCellRenderer extends DefaultListCellRenderer {
 
         private static final long serialVersionUID = -1115364118975814321L;
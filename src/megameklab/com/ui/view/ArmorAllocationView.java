@@ -24,6 +24,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
@@ -39,8 +40,10 @@ import megamek.common.Protomech;
 import megamek.common.SuperHeavyTank;
 import megamek.common.Tank;
 import megamek.common.VTOL;
+import megamek.common.annotations.Nullable;
 import megamek.common.util.EncodeControl;
 import megameklab.com.ui.view.listeners.BuildListener;
+import megameklab.com.util.ArmorOptimizer;
 import megameklab.com.util.UnitUtil;
 
 /**
@@ -122,6 +125,7 @@ public class ArmorAllocationView extends BuildView implements
     private final JTextField txtWasted = new JTextField();
     private final JTextField txtPointsPerTon = new JTextField();
     private final JButton btnAutoAllocate = new JButton();
+    private final JComboBox<String> cbObjective = new JComboBox<>();
     
     private long entitytype;
     private int armorPoints = 0;
@@ -211,10 +215,28 @@ public class ArmorAllocationView extends BuildView implements
         gbc.anchor = GridBagConstraints.CENTER;
         add(Box.createVerticalStrut(18), gbc);
         gbc.gridy++;
+        for (String name : resourceMap.getString("ArmorAllocationView.cbObjective.values").split(",")) { //$NON-NLS-1$
+            cbObjective.addItem(name);
+        }
+        cbObjective.setToolTipText(resourceMap.getString("ArmorAllocationView.cbObjective.tooltip")); //$NON-NLS-1$
+        add(cbObjective, gbc);
+        gbc.gridy++;
         add(btnAutoAllocate, gbc);
         btnAutoAllocate.addActionListener(e -> listeners.forEach(BuildListener::autoAllocateArmor));
     }
     
+    /**
+     * @return The objective chosen for the armor optimizer, or {@code null} to use the standard
+     *         proportional allocation
+     */
+    public @Nullable ArmorOptimizer.Objective getObjective() {
+        final int index = cbObjective.getSelectedIndex();
+        if (index <= 0) {
+            return null;
+        }
+        return ArmorOptimizer.Objective.values()[index - 1];
+    }
+
     public void setFromEntity(Entity en) {
         setEntityType(en.getEntityType());
         maxArmorPoints = UnitUtil.getMaximumArmorPoints(en);
@@ -225,9 +247,11 @@ public class ArmorAllocationView extends BuildView implements
             armorPoints = currentPoints;
             raw = currentPoints;
             btnAutoAllocate.setEnabled(false);
+            cbObjective.setEnabled(false);
         } else {
             armorPoints = Math.min(raw, maxArmorPoints);
             btnAutoAllocate.setEnabled(true);
+            cbObjective.setEnabled(true);
         }
         wastedPoints = Math.max(0, raw - armorPoints);
         for (ArmorLocationView locView : locationViews) {
@@ -45,6 +45,8 @@ import megamek.common.util.EncodeControl;
 import megameklab.com.ui.util.CustomComboBox;
 import megameklab.com.ui.util.TechComboBox;
 import megameklab.com.ui.view.listeners.CVBuildListener;
+import megameklab.com.util.CachingTechManager;
+import megameklab.com.util.ChassisOptionCache;
 
 /**
  * Chassis panel for combat vehicles
@@ -388,8 +390,18 @@ public class CVChassisView extends BuildView implements ActionListener, ChangeLi
         engineRating = rating;
     }
     
+    /**
+     * @return The engines that can be selected for the current rating and settings
+     */
     public List<Engine> getAvailableEngines() {
+        return ChassisOptionCache.getInstance().getOptions("cv-engines", techManager, //$NON-NLS-1$
+                this::findAvailableEngines, getEngineRating());
+    }
+
+    private List<Engine> findAvailableEngines() {
         List<Engine> retVal = new ArrayList<>();
+        // Each engine is built for this check, so there is nothing to gain from caching it
+        final ITechManager engineTechManager = CachingTechManager.uncached(techManager);
         boolean isMixed = techManager.useMixedTech();
         int flags = Engine.TANK_ENGINE;
         if (techManager.useClanTechBase()) {
@@ -402,14 +414,14 @@ public class CVChassisView extends BuildView implements ActionListener, ChangeLi
         int[] engineTypes = ENGINE_TYPES;
         for (int i : engineTypes) {
             Engine e = new Engine(getEngineRating(), i, flags);
-            if (e.engineValid && techManager.isLegal(e)) {
+            if (e.engineValid && engineTechManager.isLegal(e)) {
                 retVal.add(e);
             }
             // Only add the opposite tech base if the engine is different.
             // (i.e. different slot requirement)
             if (isMixed && e.getSideTorsoCriticalSlots().length > 0) {
                 e = new Engine(getEngineRating(), i, altFlags);
-                if (e.engineValid && techManager.isLegal(e)) {
+                if (e.engineValid && engineTechManager.isLegal(e)) {
                     retVal.add(e);
                 }
             }
@@ -39,6 +39,8 @@ import megamek.common.util.EncodeControl;
 import megameklab.com.ui.util.CustomComboBox;
 import megameklab.com.ui.util.TechComboBox;
 import megameklab.com.ui.view.listeners.AeroBuildListener;
+import megameklab.com.util.CachingTechManager;
+import megameklab.com.util.ChassisOptionCache;
 
 /**
  * Structure tab chassis panel for aerospace and conventional fighters.
@@ -278,12 +280,22 @@ public class FighterChassisView extends BuildView implements ActionListener, Cha
         }
     }
     
+    /**
+     * @return The engines that can be selected for the current rating and settings
+     */
     public List<Engine> getAvailableEngines() {
+        return ChassisOptionCache.getInstance().getOptions("fighter-engines", techManager, //$NON-NLS-1$
+                this::findAvailableEngines, getEngineRating(), isPrimitive(), conventional);
+    }
+
+    private List<Engine> findAvailableEngines() {
         if (isPrimitive()) {
             return Collections.singletonList(new Engine(getEngineRating(),
                     Engine.NORMAL_ENGINE, 0));
         }
         List<Engine> retVal = new ArrayList<>();
+        // Each engine is built for this check, so there is nothing to gain from caching it
+        final ITechManager engineTechManager = CachingTechManager.uncached(techManager);
         boolean isMixed = techManager.useMixedTech();
         int flags = 0;
         if (techManager.useClanTechBase()) {
@@ -297,14 +309,14 @@ public class FighterChassisView extends BuildView implements ActionListener, Cha
         for (int i : ENGINE_TYPES) {
             Engine e = new Engine(getEngineRating(), i, flags);
             if (e.engineValid && (e.isFusion() || conventional)
-                    && techManager.isLegal(e)) {
+                    && engineTechManager.isLegal(e)) {
                 retVal.add(e);
             }
             // Only add the opposite tech base if the engine is different.
             if (isMixed && e.getSideTorsoCriticalSlots().length > 0) {
                 e = new Engine(getEngineRating(), i, altFlags);
                 if (e.engineValid && (e.isFusion() || conventional)
-                        && techManager.isLegal(e)) {
+                        && engineTechManager.isLegal(e)) {
                     retVal.add(e);
                 }
             }
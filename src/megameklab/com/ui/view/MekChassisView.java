@@ -49,6 +49,8 @@ import megamek.common.util.EncodeControl;
 import megameklab.com.ui.util.CustomComboBox;
 import megameklab.com.ui.util.TechComboBox;
 import megameklab.com.ui.view.listeners.MekBuildListener;
+import megameklab.com.util.CachingTechManager;
+import megameklab.com.util.ChassisOptionCache;
 
 /**
  * Construction options and systems for Meks.
@@ -583,8 +585,19 @@ public class MekChassisView extends BuildView implements ActionListener, ChangeL
         chkFullHeadEject.addActionListener(this);
     }
     
+    /**
+     * @return The engines that can be selected for the current rating and settings
+     */
     public List<Engine> getAvailableEngines() {
+        return ChassisOptionCache.getInstance().getOptions("mek-engines", techManager, //$NON-NLS-1$
+                this::findAvailableEngines, getEngineRating(), getBaseTypeIndex(),
+                isPrimitive(), isSuperheavy());
+    }
+
+    private List<Engine> findAvailableEngines() {
         List<Engine> retVal = new ArrayList<>();
+        // Each engine is built for this check, so there is nothing to gain from caching it
+        final ITechManager engineTechManager = CachingTechManager.uncached(techManager);
         boolean isMixed = techManager.useMixedTech();
         int flags = 0;
         if (techManager.useClanTechBase()) {
@@ -607,14 +620,14 @@ public class MekChassisView extends BuildView implements ActionListener, ChangeL
         for (int i : engineTypes) {
             Engine e = new Engine(getEngineRating(), i, flags);
             if (e.engineValid && (e.isFusion() || allowNonFusion)
-                    && techManager.isLegal(e)) {
+                    && engineTechManager.isLegal(e)) {
                 retVal.add(e);
             }
             // Only add the opposite tech base if the engine is different.
             if (isMixed && e.getSideTorsoCriticalSlots().length > 0) {
                 e = new Engine(getEngineRating(), i, altFlags);
                 if (e.engineValid && (e.isFusion() || allowNonFusion)
-                        && techManager.isLegal(e)) {
+                        && engineTechManager.isLegal(e)) {
                     retVal.add(e);
                 }
             }
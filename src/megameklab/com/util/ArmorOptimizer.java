@@ -0,0 +1,597 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import megamek.common.Aero;
+import megamek.common.Entity;
+import megamek.common.Jumpship;
+import megamek.common.Mech;
+import megamek.common.Protomech;
+import megamek.common.SuperHeavyTank;
+import megamek.common.Tank;
+import megamek.common.VTOL;
+
+/**
+ * Searches for a distribution of a unit's armor points across its locations that scores best
+ * against a chosen {@link Objective}. Each location is kept within {@link UnitUtil#getMaxArmor}
+ * and every available point is allocated.
+ *
+ * The starting point is the ideal share of each location, rounded. It is improved by moving
+ * points between locations until no move helps, and the result is then perturbed and improved
+ * again from several random starts, which are evaluated in parallel on the common fork-join
+ * pool. The search stops when a round finds no improvement or the time budget runs out.
+ *
+ * The unit is only read by the constructor and written by {@link Allocation#apply(Entity)}, both
+ * of which must be called on the event dispatch thread.
+ */
+public class ArmorOptimizer {
+
+    /**
+     * What the optimizer tries to achieve.
+     */
+    public enum Objective {
+        /** Each location gets the same share of its capacity */
+        EVEN,
+        /** Locations facing forward get a larger share than those facing the rear */
+        FRONT_WEIGHTED,
+        /** Even distribution, preferring totals that fill whole rows of pips on the record sheet */
+        PIP_ROWS
+    }
+
+    /** The default time in milliseconds allowed for a search started from the UI */
+    public static final long DEFAULT_TIME_BUDGET = 250;
+
+    /** The number of pips in a row on the record sheet */
+    private static final int PIP_ROW = 5;
+    /** The share of a torso location's armor that goes to the rear */
+    private static final double REAR_SHARE = 0.25;
+    private static final double FRONT_WEIGHTED_REAR_SHARE = 0.15;
+    private static final double SYMMETRY_WEIGHT = 2.0;
+    private static final double ROW_WEIGHT = 1.5;
+    private static final double EPSILON = 1e-9;
+    /** The number of points moved at once between two locations */
+    private static final int[] STEPS = { 1, 2, PIP_ROW };
+    private static final int MAX_ROUNDS = 8;
+
+    private final Objective objective;
+    private final int points;
+    private final int[] locations;
+    private final boolean[] rear;
+    private final int[] minimum;
+    private final int[] group;
+    private final int[] groupMax;
+    private final double[] target;
+    private final int[][] pairs;
+
+    /**
+     * Records the locations of a unit and the number of points to allocate.
+     *
+     * @param entity    The unit to allocate armor for
+     * @param objective The objective to optimize for
+     */
+    public ArmorOptimizer(Entity entity, Objective objective) {
+        this(entity, objective, UnitUtil.getArmorPoints(entity, entity.getLabArmorTonnage()));
+    }
+
+    /**
+     * Records the locations of a unit, for units whose armor is not set by tonnage.
+     *
+     * @param entity    The unit to allocate armor for
+     * @param objective The objective to optimize for
+     * @param total     The number of armor points to allocate
+     */
+    public ArmorOptimizer(Entity entity, Objective objective, int total) {
+        this.objective = objective;
+        final List<Integer> armored = getArmoredLocations(entity);
+        final int facingMin;
+        if (entity.hasETypeFlag(Entity.ETYPE_SMALL_CRAFT)
+                || entity.hasETypeFlag(Entity.ETYPE_JUMPSHIP)) {
+            // Armor provided by the structural integrity is spread evenly over the facings
+            facingMin = (int) Math.floor(UnitUtil.getSIBonusArmorPoints(entity) / armored.size());
+        } else {
+            facingMin = 0;
+        }
+        final double rearShare = (objective == Objective.FRONT_WEIGHTED)?
+                FRONT_WEIGHTED_REAR_SHARE : REAR_SHARE;
+
+        List<int[]> slotList = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        List<Double> caps = new ArrayList<>();
+        groupMax = new int[armored.size()];
+        for (int g = 0; g < armored.size(); g++) {
+            final int loc = armored.get(g);
+            final Integer max = UnitUtil.getMaxArmor(entity, loc);
+            int min = facingMin;
+            double capacity = (null == max)? 1.0 : max;
+            if (entity.hasETypeFlag(Entity.ETYPE_VTOL) && (loc == VTOL.LOC_ROTOR)) {
+                // The rotor always gets its full two points
+                groupMax[g] = Math.min(2, total);
+                min = groupMax[g];
+                capacity = 0.0;
+            } else {
+                groupMax[g] = (null == max)? total : max;
+            }
+            final double weight = capacity * getFacingWeight(entity, loc);
+            if (entity.hasRearArmor(loc)) {
+                slotList.add(new int[] { loc, 0, min, g });
+                weights.add(weight * (1.0 - rearShare));
+                caps.add(groupMax[g] * (1.0 - rearShare));
+                slotList.add(new int[] { loc, 1, 0, g });
+                weights.add(weight * rearShare);
+                caps.add(groupMax[g] * rearShare);
+            } else {
+                slotList.add(new int[] { loc, 0, min, g });
+                weights.add(weight);
+                caps.add((double) groupMax[g]);
+            }
+        }
+        int capacityTotal = Arrays.stream(groupMax).sum();
+        points = Math.min(total, capacityTotal);
+
+        final int n = slotList.size();
+        locations = new int[n];
+        rear = new boolean[n];
+        minimum = new int[n];
+        group = new int[n];
+        int minTotal = 0;
+        for (int i = 0; i < n; i++) {
+            locations[i] = slotList.get(i)[0];
+            rear[i] = slotList.get(i)[1] != 0;
+            minimum[i] = slotList.get(i)[2];
+            group[i] = slotList.get(i)[3];
+            minTotal += minimum[i];
+        }
+        if (minTotal > points) {
+            // Not enough points to cover the minimums, so start every location from zero
+            Arrays.fill(minimum, 0);
+        }
+        target = distribute(weights, caps);
+        pairs = findPairs(entity);
+    }
+
+    /**
+     * @param entity The unit
+     * @return       The locations that take armor and are managed by the optimizer
+     */
+    private static List<Integer> getArmoredLocations(Entity entity) {
+        List<Integer> list = new ArrayList<>();
+        int first = 0;
+        int last = entity.locations() - 1;
+        if (entity.hasETypeFlag(Entity.ETYPE_JUMPSHIP)) {
+            // Ignore the hull and warship broadsides
+            last = Jumpship.LOC_ARS;
+        } else if (entity.hasETypeFlag(Entity.ETYPE_AERO)) {
+            last = Aero.LOC_AFT;
+        } else if (entity.hasETypeFlag(Entity.ETYPE_TANK)) {
+            // The body is not armored
+            first = Tank.LOC_BODY + 1;
+        } else if (entity.hasETypeFlag(Entity.ETYPE_PROTOMECH)) {
+            first = ((Protomech) entity).firstArmorIndex();
+        }
+        for (int loc = first; loc <= last; loc++) {
+            Integer max = UnitUtil.getMaxArmor(entity, loc);
+            if ((null == max) || (max > 0)) {
+                list.add(loc);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @return The relative share of armor that a location should get when the objective favors
+     *         locations that face forward
+     */
+    private double getFacingWeight(Entity entity, int loc) {
+        if (objective != Objective.FRONT_WEIGHTED) {
+            return 1.0;
+        }
+        if (entity.hasETypeFlag(Entity.ETYPE_JUMPSHIP)) {
+            switch (loc) {
+                case Jumpship.LOC_NOSE:
+                    return 1.4;
+                case Jumpship.LOC_FLS:
+                case Jumpship.LOC_FRS:
+                    return 1.2;
+                case Jumpship.LOC_ALS:
+                case Jumpship.LOC_ARS:
+                    return 0.9;
+                case Jumpship.LOC_AFT:
+                    return 0.7;
+            }
+        } else if (entity.hasETypeFlag(Entity.ETYPE_AERO)) {
+            switch (loc) {
+                case Aero.LOC_NOSE:
+                    return 1.4;
+                case Aero.LOC_AFT:
+                    return 0.7;
+            }
+        } else if (entity.hasETypeFlag(Entity.ETYPE_SUPER_HEAVY_TANK)) {
+            switch (loc) {
+                case SuperHeavyTank.LOC_FRONT:
+                    return 1.5;
+                case SuperHeavyTank.LOC_FRONTLEFT:
+                case SuperHeavyTank.LOC_FRONTRIGHT:
+                    return 1.2;
+                case SuperHeavyTank.LOC_REARLEFT:
+                case SuperHeavyTank.LOC_REARRIGHT:
+                    return 0.9;
+                case SuperHeavyTank.LOC_REAR:
+                    return 0.7;
+            }
+        } else if (entity.hasETypeFlag(Entity.ETYPE_TANK)) {
+            switch (loc) {
+                case Tank.LOC_FRONT:
+                    return 1.5;
+                case Tank.LOC_REAR:
+                    return 0.7;
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * @return Pairs of slot indices on opposite sides of the unit, which should get the same armor
+     */
+    private int[][] findPairs(Entity entity) {
+        int[][] locPairs;
+        if (entity.hasETypeFlag(Entity.ETYPE_MECH)) {
+            locPairs = new int[][] { { Mech.LOC_LARM, Mech.LOC_RARM }, { Mech.LOC_LT, Mech.LOC_RT },
+                    { Mech.LOC_LLEG, Mech.LOC_RLEG } };
+        } else if (entity.hasETypeFlag(Entity.ETYPE_PROTOMECH)) {
+            locPairs = new int[][] { { Protomech.LOC_LARM, Protomech.LOC_RARM } };
+        } else if (entity.hasETypeFlag(Entity.ETYPE_SUPER_HEAVY_TANK)) {
+            locPairs = new int[][] { { SuperHeavyTank.LOC_FRONTLEFT, SuperHeavyTank.LOC_FRONTRIGHT },
+                    { SuperHeavyTank.LOC_REARLEFT, SuperHeavyTank.LOC_REARRIGHT } };
+        } else if (entity.hasETypeFlag(Entity.ETYPE_TANK)) {
+            locPairs = new int[][] { { Tank.LOC_LEFT, Tank.LOC_RIGHT } };
+        } else if (entity.hasETypeFlag(Entity.ETYPE_JUMPSHIP)) {
+            locPairs = new int[][] { { Jumpship.LOC_FLS, Jumpship.LOC_FRS },
+                    { Jumpship.LOC_ALS, Jumpship.LOC_ARS } };
+        } else if (entity.hasETypeFlag(Entity.ETYPE_AERO)) {
+            locPairs = new int[][] { { Aero.LOC_LWING, Aero.LOC_RWING } };
+        } else {
+            locPairs = new int[0][];
+        }
+        List<int[]> list = new ArrayList<>();
+        for (int[] locPair : locPairs) {
+            for (int i = 0; i < locations.length; i++) {
+                if (locations[i] != locPair[0]) {
+                    continue;
+                }
+                for (int j = 0; j < locations.length; j++) {
+                    if ((locations[j] == locPair[1]) && (rear[j] == rear[i])) {
+                        list.add(new int[] { i, j });
+                    }
+                }
+            }
+        }
+        return list.toArray(new int[0][]);
+    }
+
+    /**
+     * Divides the points among the slots in proportion to their weights, giving any share above a
+     * slot's capacity to the others.
+     *
+     * @return The ideal (fractional) number of points for each slot
+     */
+    private double[] distribute(List<Double> weights, List<Double> caps) {
+        final int n = weights.size();
+        double[] result = new double[n];
+        boolean[] full = new boolean[n];
+        double remaining = points;
+        for (int i = 0; i < n; i++) {
+            result[i] = minimum[i];
+            remaining -= minimum[i];
+            full[i] = weights.get(i) <= 0;
+        }
+        boolean capped = true;
+        while ((remaining > EPSILON) && capped) {
+            capped = false;
+            double totalWeight = 0;
+            for (int i = 0; i < n; i++) {
+                if (!full[i]) {
+                    totalWeight += weights.get(i);
+                }
+            }
+            if (totalWeight <= 0) {
+                break;
+            }
+            double[] share = new double[n];
+            for (int i = 0; i < n; i++) {
+                if (!full[i]) {
+                    share[i] = remaining * weights.get(i) / totalWeight;
+                    if (result[i] + share[i] > caps.get(i)) {
+                        // Fill this slot, then divide what is left among the rest
+                        remaining -= Math.max(0, caps.get(i) - result[i]);
+                        result[i] = Math.max(result[i], caps.get(i));
+                        full[i] = true;
+                        capped = true;
+                    }
+                }
+            }
+            if (!capped) {
+                for (int i = 0; i < n; i++) {
+                    if (!full[i]) {
+                        result[i] += share[i];
+                    }
+                }
+                remaining = 0;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the search.
+     *
+     * @param budgetMs The maximum time to spend, in milliseconds
+     * @return         The best allocation found
+     */
+    public Allocation optimize(long budgetMs) {
+        final long deadline = System.currentTimeMillis() + budgetMs;
+        int[] start = initialAllocation();
+        Candidate best = new Candidate(start, score(start));
+        final int restarts = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+        for (int round = 0; (round < MAX_ROUNDS) && (System.currentTimeMillis() < deadline); round++) {
+            Candidate found = ForkJoinPool.commonPool().invoke(
+                    new SearchTask(best.values, round * restarts, restarts, deadline));
+            if (found.score > best.score + EPSILON) {
+                best = found;
+            } else if (round > 0) {
+                break;
+            }
+        }
+        return new Allocation(best.values);
+    }
+
+    /**
+     * @return The ideal share of each slot, rounded so that the total is exactly the number of
+     *         points available
+     */
+    private int[] initialAllocation() {
+        final int n = target.length;
+        int[] values = new int[n];
+        int[] groupTotal = new int[groupMax.length];
+        int allocated = 0;
+        for (int i = 0; i < n; i++) {
+            values[i] = Math.max(minimum[i], (int) Math.floor(target[i] + EPSILON));
+            groupTotal[group[i]] += values[i];
+            allocated += values[i];
+        }
+        // Hand out the rounding remainder to the slots with the largest fractions first
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(target[b] - Math.floor(target[b]),
+                target[a] - Math.floor(target[a])));
+        while (allocated < points) {
+            boolean added = false;
+            for (int i : order) {
+                if ((allocated < points) && (groupTotal[group[i]] < groupMax[group[i]])) {
+                    values[i]++;
+                    groupTotal[group[i]]++;
+                    allocated++;
+                    added = true;
+                }
+            }
+            if (!added) {
+                break;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Scores an allocation. Higher is better.
+     */
+    private double score(int[] values) {
+        double penalty = 0;
+        for (int i = 0; i < values.length; i++) {
+            final double diff = values[i] - target[i];
+            penalty += diff * diff;
+        }
+        for (int[] pair : pairs) {
+            final int diff = values[pair[0]] - values[pair[1]];
+            penalty += SYMMETRY_WEIGHT * diff * diff;
+        }
+        if (objective == Objective.PIP_ROWS) {
+            for (int i = 0; i < values.length; i++) {
+                final int partial = values[i] % PIP_ROW;
+                if ((partial > 0) && (values[i] < groupMax[group[i]])) {
+                    penalty += ROW_WEIGHT * (PIP_ROW - partial);
+                }
+            }
+        }
+        return -penalty;
+    }
+
+    /**
+     * Improves an allocation by repeatedly making the best single transfer of points from one
+     * slot to another, until no transfer improves the score.
+     */
+    private Candidate improve(int[] start, long deadline) {
+        final int n = start.length;
+        int[] values = start.clone();
+        int[] groupTotal = new int[groupMax.length];
+        for (int i = 0; i < n; i++) {
+            groupTotal[group[i]] += values[i];
+        }
+        double score = score(values);
+        while (System.currentTimeMillis() < deadline) {
+            double bestScore = score;
+            int bestFrom = -1;
+            int bestTo = -1;
+            int bestStep = 0;
+            for (int from = 0; from < n; from++) {
+                for (int to = 0; to < n; to++) {
+                    if (from == to) {
+                        continue;
+                    }
+                    for (int step : STEPS) {
+                        if ((values[from] - step < minimum[from])
+                                || ((group[from] != group[to])
+                                        && (groupTotal[group[to]] + step > groupMax[group[to]]))) {
+                            continue;
+                        }
+                        values[from] -= step;
+                        values[to] += step;
+                        final double s = score(values);
+                        values[from] += step;
+                        values[to] -= step;
+                        if (s > bestScore + EPSILON) {
+                            bestScore = s;
+                            bestFrom = from;
+                            bestTo = to;
+                            bestStep = step;
+                        }
+                    }
+                }
+            }
+            if (bestFrom < 0) {
+                break;
+            }
+            values[bestFrom] -= bestStep;
+            values[bestTo] += bestStep;
+            groupTotal[group[bestFrom]] -= bestStep;
+            groupTotal[group[bestTo]] += bestStep;
+            score = bestScore;
+        }
+        return new Candidate(values, score);
+    }
+
+    /**
+     * Makes a number of random transfers to an allocation, so that the search can escape a local
+     * optimum.
+     */
+    private int[] perturb(int[] start, long seed) {
+        final int n = start.length;
+        int[] values = start.clone();
+        if (n < 2) {
+            return values;
+        }
+        int[] groupTotal = new int[groupMax.length];
+        for (int i = 0; i < n; i++) {
+            groupTotal[group[i]] += values[i];
+        }
+        Random random = new Random(seed);
+        final int moves = n + random.nextInt(n);
+        for (int m = 0; m < moves; m++) {
+            final int from = random.nextInt(n);
+            final int to = random.nextInt(n);
+            final int step = STEPS[random.nextInt(STEPS.length)];
+            if ((from != to) && (values[from] - step >= minimum[from])
+                    && ((group[from] == group[to])
+                            || (groupTotal[group[to]] + step <= groupMax[group[to]]))) {
+                values[from] -= step;
+                values[to] += step;
+                groupTotal[group[from]] -= step;
+                groupTotal[group[to]] += step;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Improves a range of random restarts, splitting the range between worker threads.
+     */
+    private class SearchTask extends RecursiveTask<Candidate> {
+
+        private static final long serialVersionUID = 4425934632174766193L;
+
+        private final int[] start;
+        private final int first;
+        private final int count;
+        private final long deadline;
+
+        SearchTask(int[] start, int first, int count, long deadline) {
+            this.start = start;
+            this.first = first;
+            this.count = count;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (count == 1) {
+                // The first restart improves the starting point without perturbing it
+                return improve((first == 0)? start : perturb(start, first), deadline);
+            }
+            final int half = count / 2;
+            SearchTask right = new SearchTask(start, first + half, count - half, deadline);
+            right.fork();
+            Candidate left = new SearchTask(start, first, half, deadline).compute();
+            Candidate other = right.join();
+            // Prefer the lower restart on a tie so the result does not depend on thread timing
+            return (other.score > left.score + EPSILON)? other : left;
+        }
+    }
+
+    private static class Candidate {
+        final int[] values;
+        final double score;
+
+        Candidate(int[] values, double score) {
+            this.values = values;
+            this.score = score;
+        }
+    }
+
+    /**
+     * The result of a search, which can be applied to the unit.
+     */
+    public class Allocation {
+        private final int[] values;
+
+        private Allocation(int[] values) {
+            this.values = values;
+        }
+
+        /**
+         * @param location The location
+         * @param rearArmor Whether to return the rear armor of the location
+         * @return The number of points allocated to the location
+         */
+        public int getPoints(int location, boolean rearArmor) {
+            for (int i = 0; i < values.length; i++) {
+                if ((locations[i] == location) && (rear[i] == rearArmor)) {
+                    return values[i];
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Sets the armor of each location of the unit.
+         *
+         * @param entity The unit the optimizer was created for
+         */
+        public void apply(Entity entity) {
+            for (int i = 0; i < values.length; i++) {
+                if (rear[i]) {
+                    entity.initializeRearArmor(values[i], locations[i]);
+                } else {
+                    entity.initializeArmor(values[i], locations[i]);
+                }
+            }
+        }
+    }
+}
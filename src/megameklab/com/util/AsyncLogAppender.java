@@ -0,0 +1,66 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.PrintStream;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Layout;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * A log4j appender that passes formatted events to the {@link AsyncLogSink}, so that logger
+ * output and redirected standard output share one log file and one writer thread. If the log
+ * file could not be opened, events are written to standard error instead. It is configured in
+ * mmconf/log4j.xml.
+ */
+public class AsyncLogAppender extends AppenderSkeleton {
+
+    @Override
+    protected void append(LoggingEvent event) {
+        final StringBuilder sb = new StringBuilder();
+        if (null == layout) {
+            sb.append(event.getRenderedMessage()).append(Layout.LINE_SEP);
+        } else {
+            sb.append(layout.format(event));
+        }
+        if ((null == layout) || layout.ignoresThrowable()) {
+            final String[] trace = event.getThrowableStrRep();
+            if (null != trace) {
+                for (String line : trace) {
+                    sb.append(line).append(Layout.LINE_SEP);
+                }
+            }
+        }
+        final byte[] message = sb.toString().getBytes();
+        final AsyncLogSink sink = AsyncLogSink.getInstance();
+        if (sink.isAccepting()) {
+            sink.write(message);
+        } else {
+            final PrintStream err = sink.getStandardError();
+            err.write(message, 0, message.length);
+            err.flush();
+        }
+    }
+
+    @Override
+    public boolean requiresLayout() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the log file on a dedicated thread. Code that logs only places the message in a
+ * fixed-size ring buffer, which does not take a lock, so the event dispatch thread and the print
+ * thread do not wait on the disk. The writer thread takes messages from the buffer in batches and
+ * flushes the file once the buffer is empty. When the file reaches its size limit it is renamed
+ * with a numeric suffix and a new file is started, keeping a limited number of old files.
+ *
+ * If the buffer is full, the {@link OverflowPolicy} decides whether the caller waits for space or
+ * the message is discarded. Discarded messages are counted and the count is written to the log.
+ * Messages logged before the sink is started are kept in the buffer until it is, and are
+ * discarded if it fills up in the meantime.
+ *
+ * Both the redirected standard output streams (see {@link #newOutputStream()}) and the logger
+ * (see {@link AsyncLogAppender}) write to the same sink.
+ */
+public class AsyncLogSink {
+
+    public enum OverflowPolicy {
+        /** Wait for the writer to make space. No messages are lost. */
+        BLOCK,
+        /** Discard the message and count it. Logging never waits. */
+        DROP
+    }
+
+    /** The number of messages the buffer can hold; must be a power of two */
+    private static final int CAPACITY = 8192;
+    /** The longest the writer sleeps when there is nothing to write, in milliseconds */
+    private static final long IDLE_WAIT = 500;
+    /** How long to wait for the writer to finish when shutting down, in milliseconds */
+    private static final long SHUTDOWN_WAIT = 2000;
+    private static final int WRITE_BUFFER = 64 * 1024;
+    private static final byte[] LINE_SEP = System.lineSeparator().getBytes();
+
+    private static AsyncLogSink instance = null;
+
+    private final byte[][] entries = new byte[CAPACITY][];
+    /**
+     * For each slot, the position that may next use it. A producer may fill the slot when this
+     * equals its claimed position, and the writer may take the entry when it is one greater.
+     */
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    /** The next position to be claimed by a producer */
+    private final AtomicLong tail = new AtomicLong();
+    /** The next position to be taken by the writer; only used by the writer thread */
+    private long head = 0;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile OverflowPolicy policy = OverflowPolicy.BLOCK;
+    private volatile Thread writer = null;
+    private volatile boolean running = false;
+    /** Whether {@link #start} has been called, whether or not it succeeded */
+    private volatile boolean started = false;
+    private volatile boolean writerWaiting = false;
+
+    private File file;
+    private long maxFileSize;
+    private int maxBackups;
+    private OutputStream out;
+    private long fileSize;
+    /**
+     * The standard error stream from before output was redirected to the sink. Problems with the
+     * log file itself are reported here, as are messages when there is no log file.
+     */
+    private final PrintStream fallback = System.err;
+
+    /**
+     * @return The shared log sink
+     */
+    public static synchronized AsyncLogSink getInstance() {
+        if (null == instance) {
+            instance = new AsyncLogSink();
+        }
+        return instance;
+    }
+
+    private AsyncLogSink() {
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Opens the log file and starts the writer thread. The file is appended to if it exists.
+     *
+     * @param file        The log file
+     * @param maxFileSize The size at which the file is rolled over, in bytes
+     * @param maxBackups  The number of rolled over files to keep
+     * @param policy      What to do when messages are logged faster than they can be written
+     * @throws IOException If the file cannot be opened
+     */
+    public synchronized void start(File file, long maxFileSize, int maxBackups,
+            OverflowPolicy policy) throws IOException {
+        if (running) {
+            return;
+        }
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxBackups = maxBackups;
+        this.policy = policy;
+        started = true;
+        try {
+            open();
+        } catch (IOException ex) {
+            // Messages logged so far would otherwise never be written
+            byte[] message;
+            while (null != (message = poll())) {
+                fallback.write(message, 0, message.length);
+            }
+            fallback.flush();
+            throw ex;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "Log Writer"); //$NON-NLS-1$
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "Log Shutdown")); //$NON-NLS-1$
+    }
+
+    /**
+     * Writes any remaining messages, closes the file, and stops the writer thread.
+     */
+    public void stop() {
+        final Thread t = writer;
+        if (!running || (null == t)) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(t);
+        try {
+            t.join(SHUTDOWN_WAIT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Whether messages passed to {@link #write(byte[])} will be written to the log file.
+     *         This is true before the sink is started, since the messages are kept until then,
+     *         and false if the file could not be opened or the sink has been stopped.
+     */
+    public boolean isAccepting() {
+        return running || !started;
+    }
+
+    /**
+     * @return The standard error stream from before output was redirected to the sink
+     */
+    public PrintStream getStandardError() {
+        return fallback;
+    }
+
+    /**
+     * @return The number of messages discarded because the buffer was full that have not yet
+     *         been reported in the log
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Adds a message to the log. The message should end with a line separator.
+     *
+     * @param message The encoded message
+     */
+    public void write(byte[] message) {
+        while (!offer(message)) {
+            final Thread t = writer;
+            if ((policy == OverflowPolicy.DROP) || !running || (null == t)
+                    || (Thread.currentThread() == t)) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(t);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Creates a stream that adds each complete line written to it to the log, for use with
+     * {@link System#setOut(PrintStream)} and {@link System#setErr(PrintStream)}. The stream is not
+     * thread-safe, which is not a problem when it is wrapped in a {@link PrintStream}.
+     *
+     * @return A new stream
+     */
+    public OutputStream newOutputStream() {
+        return new LineOutputStream();
+    }
+
+    private boolean offer(byte[] message) {
+        long pos = tail.get();
+        while (true) {
+            final int index = (int) (pos & (CAPACITY - 1));
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    entries[index] = message;
+                    // Publishes the entry to the writer
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // The writer has not yet taken the entry from a full lap ago
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    private byte[] poll() {
+        final int index = (int) (head & (CAPACITY - 1));
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        final byte[] message = entries[index];
+        entries[index] = null;
+        // Returns the slot to the producers for the next lap
+        sequences.set(index, head + CAPACITY);
+        head++;
+        return message;
+    }
+
+    private void writeLoop() {
+        while (true) {
+            boolean wrote = false;
+            byte[] message;
+            while (null != (message = poll())) {
+                writeToFile(message, true);
+                wrote = true;
+            }
+            final long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                writeToFile(("[" + lost + " log messages discarded]").getBytes(), false); //$NON-NLS-1$ //$NON-NLS-2$
+                writeToFile(LINE_SEP, false);
+                wrote = true;
+            }
+            if (wrote) {
+                flush();
+            } else if (!running) {
+                break;
+            } else {
+                writerWaiting = true;
+                if (sequences.get((int) (head & (CAPACITY - 1))) != head + 1) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(IDLE_WAIT));
+                }
+                writerWaiting = false;
+            }
+        }
+        close();
+    }
+
+    private void writeToFile(byte[] message, boolean canRoll) {
+        if (null == out) {
+            return;
+        }
+        try {
+            if (canRoll && (fileSize > 0) && (fileSize + message.length > maxFileSize)) {
+                roll();
+            }
+            out.write(message);
+            fileSize += message.length;
+        } catch (IOException ex) {
+            fallback.println("Unable to write to log file: " + ex.getMessage()); //$NON-NLS-1$
+        }
+    }
+
+    private void flush() {
+        if (null != out) {
+            try {
+                out.flush();
+            } catch (IOException ex) {
+                fallback.println("Unable to write to log file: " + ex.getMessage()); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        out = new BufferedOutputStream(new FileOutputStream(file, true), WRITE_BUFFER);
+        fileSize = file.length();
+    }
+
+    private void close() {
+        if (null != out) {
+            try {
+                out.close();
+            } catch (IOException ex) {
+                fallback.println("Unable to close log file: " + ex.getMessage()); //$NON-NLS-1$
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * Renames the log file to name.1, after moving any existing name.1 to name.2 and so on, and
+     * starts a new file.
+     */
+    private void roll() throws IOException {
+        close();
+        if (maxBackups > 0) {
+            new File(file.getPath() + "." + maxBackups).delete(); //$NON-NLS-1$
+            for (int i = maxBackups - 1; i >= 1; i--) {
+                final File backup = new File(file.getPath() + "." + i); //$NON-NLS-1$
+                if (backup.exists()) {
+                    backup.renameTo(new File(file.getPath() + "." + (i + 1))); //$NON-NLS-1$
+                }
+            }
+            file.renameTo(new File(file.getPath() + ".1")); //$NON-NLS-1$
+        } else {
+            file.delete();
+        }
+        open();
+    }
+
+    /**
+     * Collects bytes until the end of a line and then adds the line to the log.
+     */
+    private class LineOutputStream extends OutputStream {
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+        @Override
+        public void write(int b) {
+            line.write(b);
+            if (b == '\n') {
+                flush();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            final int end = off + len;
+            int start = off;
+            for (int i = off; i < end; i++) {
+                if (b[i] == '\n') {
+                    line.write(b, start, i + 1 - start);
+                    flush();
+                    start = i + 1;
+                }
+            }
+            line.write(b, start, end - start);
+        }
+
+        @Override
+        public void flush() {
+            if (line.size() > 0) {
+                AsyncLogSink.this.write(line.toByteArray());
+                line.reset();
+            }
+        }
+    }
+}
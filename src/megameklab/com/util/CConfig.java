@@ -19,14 +19,31 @@ package megameklab.com.util;
 import java.awt.Color;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Class for Client's configuration.
+ * Class for Client's configuration. Values are read from an immutable copy of the config that is
+ * replaced whenever a value changes, and numbers, flags, and colors are parsed once per change
+ * rather than on every lookup.
  */
 public class CConfig {
 
@@ -71,13 +88,48 @@ public class CConfig {
     
     public static final String CONFIG_SAVE_LOC = "Save-Location-Default";
     public static final String CONFIG_PLAF = "lookAndFeel";
+    public static final String UI_PREWARM = "uiPrewarm";
     
     public static final String RS_SHOW_QUIRKS = "rs_show_quirks";
     public static final String RS_SHOW_PILOT_DATA = "rs_show_pilot_data";
     public static final String RS_SHOW_ERA = "rs_show_era";
     public static final String RS_SHOW_ROLE = "rs_show_role";
 
-    private static Properties config;// config. player values.
+    /** The delay between the last change and the config file being written, in milliseconds */
+    private static final long SAVE_DELAY = 500;
+
+    /**
+     * Notified when config values change.
+     */
+    @FunctionalInterface
+    public interface ConfigListener {
+        /**
+         * @param param The key that changed, or null if the whole config was reloaded
+         * @param value The new value, or null if the whole config was reloaded
+         */
+        void configChanged(String param, String value);
+    }
+
+    // config. player values. Replaced rather than modified, so it can be read without locking.
+    private static volatile State config = new State(new HashMap<>());
+
+    private static final List<ConfigListener> listeners = new CopyOnWriteArrayList<>();
+
+    private static final ScheduledExecutorService saveExecutor =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "Config Writer"); //$NON-NLS-1$
+                t.setDaemon(true);
+                return t;
+            });
+    private static ScheduledFuture<?> pendingSave = null;
+    /** Held while the files are written, so that two saves do not overlap */
+    private static final Object writeLock = new Object();
+
+    static {
+        // Write any pending changes if the application exits before the save delay has passed
+        Runtime.getRuntime().addShutdownHook(new Thread(CConfig::flushPendingSave,
+                "Config Shutdown")); //$NON-NLS-1$
+    }
 
     // CONSTRUCTOR
     public CConfig() {
@@ -86,7 +138,7 @@ public class CConfig {
             new File(CONFIG_DIR).mkdir();
         }
         
-        config = setDefaults();
+        setValues(setDefaults());
         // check to see if a config is present. if not, make one.
         if (!(new File(CONFIG_FILE).exists()) && !(new File(CONFIG_BACKUP_FILE).exists())) {
             createConfig();
@@ -126,6 +178,7 @@ public class CConfig {
      * Loads the Config file.
      */
     public static void loadConfigFile() {
+        Properties loaded = config.toProperties();
         try {
             File configfile = new File(CONFIG_FILE);
             FileInputStream fis = new FileInputStream(configfile);
@@ -134,24 +187,25 @@ public class CConfig {
                 FileInputStream backupStream = new FileInputStream(backupfile);
                 if (fis.available() < backupStream.available()) {
                     try {
-                        config.load(backupStream);
+                        loaded.load(backupStream);
                         backupStream.close();
                     } catch (Exception ex) {
                         ex.printStackTrace();
                     }
 
                 } else {
-                    config.load(fis);
+                    loaded.load(fis);
+                    backupStream.close();
                 }
             } else {
-                config.load(fis);
+                loaded.load(fis);
             }
             fis.close();
         } catch (IOException ie) {
             try {
                 File configfile = new File(CONFIG_BACKUP_FILE);
                 FileInputStream fis = new FileInputStream(configfile);
-                config.load(fis);
+                loaded.load(fis);
                 fis.close();
             } catch (Exception ex) {
                 ex.printStackTrace();
@@ -159,6 +213,7 @@ public class CConfig {
         } catch (Exception ex) {
             ex.printStackTrace();
         }
+        setValues(loaded);
     }
 
     // Creates a new config file
@@ -182,16 +237,7 @@ public class CConfig {
      * @return           The value associated with the key
      */
     public static String getParam(String param, String defaultVal) {
-        String tparam = null;
-
-        if (param.endsWith(":")) {
-            param = param.substring(0, param.lastIndexOf(":"));
-        }
-        tparam = config.getProperty(param);
-        if (tparam == null) {
-            tparam = defaultVal;
-        }
-        return tparam;
+        return config.get(param, defaultVal);
     }
     
     /**
@@ -208,18 +254,53 @@ public class CConfig {
      * Set a config value.
      */
     public static void setParam(String param, String value) {
-        config.setProperty(param, value);
+        synchronized (CConfig.class) {
+            if (value.equals(config.values.get(param))) {
+                return;
+            }
+            Map<String, String> values = new HashMap<>(config.values);
+            values.put(param, value);
+            config = new State(values);
+        }
+        listeners.forEach(l -> l.configChanged(param, value));
+    }
+
+    private static void setValues(Properties props) {
+        Map<String, String> values = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            values.put(key, props.getProperty(key));
+        }
+        config = new State(values);
+        listeners.forEach(l -> l.configChanged(null, null));
+    }
+
+    /**
+     * Registers a listener to be notified when a config value is set or the config file is
+     * reloaded. Listeners are notified on the thread that made the change.
+     *
+     * @param listener The listener to add
+     */
+    public static void addListener(ConfigListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener The listener to remove
+     */
+    public static void removeListener(ConfigListener listener) {
+        listeners.remove(listener);
     }
 
     /**
      * See if a paramater is enabled (YES, TRUE or ON).
      */
     public static boolean isParam(String param) {
-        String tparam = CConfig.getParam(param);
-        if (tparam.equalsIgnoreCase("YES") || tparam.equalsIgnoreCase("TRUE") || tparam.equalsIgnoreCase("ON")) {
-            return true;
-        }
-        return false;
+        final State state = config;
+        return state.enabled.computeIfAbsent(param, p -> {
+            String tparam = state.get(p, "");
+            return tparam.equalsIgnoreCase("YES") || tparam.equalsIgnoreCase("TRUE")
+                    || tparam.equalsIgnoreCase("ON");
+        });
     }
 
     /**
@@ -227,13 +308,14 @@ public class CConfig {
      * property is a non-number. Used mostly by the misc. mail tab checks.
      */
     public static int getIntParam(String param) {
-        int toReturn;
-        try {
-            toReturn = Integer.parseInt(CConfig.getParam(param));
-        } catch (Exception ex) {
-            return 0;
-        }
-        return toReturn;
+        final State state = config;
+        return state.ints.computeIfAbsent(param, p -> {
+            try {
+                return Integer.parseInt(state.get(p, ""));
+            } catch (Exception ex) {
+                return 0;
+            }
+        });
     }
 
     /**
@@ -241,62 +323,104 @@ public class CConfig {
      * property does not exist.
      */
     public static boolean getBooleanParam(String param) {
-        boolean toReturn;
-        try {
-            toReturn = Boolean.parseBoolean(CConfig.getParam(param));
-        } catch (Exception ex) {
-            return false;
-        }
-        return toReturn;
+        final State state = config;
+        return state.booleans.computeIfAbsent(param, p -> Boolean.parseBoolean(state.get(p, "")));
     }
 
     /**
-     * Write the config file out to ./data/mwconfig.txt.
+     * Writes the config file out to ./mmconf/megameklab.properties. The file is written on a
+     * background thread after a short delay, so that several changes in a row are written
+     * together.
      */
     public static void saveConfig() {
+        synchronized (CConfig.class) {
+            if (null != pendingSave) {
+                pendingSave.cancel(false);
+            }
+            pendingSave = saveExecutor.schedule(CConfig::flushPendingSave, SAVE_DELAY,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
 
-        try {
-
-            FileOutputStream fos = new FileOutputStream(CONFIG_BACKUP_FILE);
-            PrintStream ps = new PrintStream(fos);
-            config.store(ps, "Client Config Backup");
-            fos.close();
-            ps.close();
-        } catch (FileNotFoundException fnfe) {
-
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            return;
+    /**
+     * Writes the config file immediately, such as when the application is about to exit.
+     */
+    public static void saveConfigNow() {
+        synchronized (CConfig.class) {
+            if (null != pendingSave) {
+                pendingSave.cancel(false);
+                pendingSave = null;
+            }
         }
-        try {
-            FileOutputStream fos = new FileOutputStream(CONFIG_FILE);
-            PrintStream ps = new PrintStream(fos);
-            config.store(ps, "Client Config");
-            fos.close();
-            ps.close();
-        } catch (FileNotFoundException fnfe) {
+        writeConfig(config.toProperties());
+    }
 
-        } catch (Exception ex) {
-            ex.printStackTrace();
+    private static void flushPendingSave() {
+        synchronized (CConfig.class) {
+            if (null == pendingSave) {
+                return;
+            }
+            pendingSave = null;
         }
+        writeConfig(config.toProperties());
     }
 
-    public static Color getForegroundColor(String fieldName) {
-        Color masterColor = Color.black;
+    private static void writeConfig(Properties props) {
+        synchronized (writeLock) {
+            try {
+                writeAtomically(props, CONFIG_BACKUP_FILE, "Client Config Backup");
+            } catch (Exception ex) {
+                ex.printStackTrace();
+                return;
+            }
+            try {
+                writeAtomically(props, CONFIG_FILE, "Client Config");
+            } catch (Exception ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
 
+    /**
+     * Writes the config to a temporary file and then moves it into place, so that the file is
+     * never left partly written.
+     */
+    private static void writeAtomically(Properties props, String fileName, String comments)
+            throws IOException {
+        final Path target = Paths.get(fileName);
+        final Path temp = Files.createTempFile(Paths.get(CONFIG_DIR), "megameklab", ".tmp");
         try {
-            masterColor = Color.getColor("", Integer.parseInt(CConfig.getParam(fieldName + CConfig.CONFIG_FOREGROUND)));
-        } catch (Exception ex) {
-
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                props.store(out, comments);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
         }
-        return masterColor;
+    }
+
+    public static Color getForegroundColor(String fieldName) {
+        final State state = config;
+        return state.foregrounds.computeIfAbsent(fieldName,
+                f -> parseColor(state.get(f + CConfig.CONFIG_FOREGROUND, ""), Color.black));
     }
 
     public static Color getBackgroundColor(String fieldName) {
-        Color masterColor = Color.WHITE;
+        final State state = config;
+        return state.backgrounds.computeIfAbsent(fieldName,
+                f -> parseColor(state.get(f + CConfig.CONFIG_BACKGROUND, ""), Color.WHITE));
+    }
+
+    private static Color parseColor(String value, Color defaultColor) {
+        Color masterColor = defaultColor;
 
         try {
-            masterColor = Color.getColor("", Integer.parseInt(CConfig.getParam(fieldName + CConfig.CONFIG_BACKGROUND)));
+            masterColor = Color.getColor("", Integer.parseInt(value));
         } catch (Exception ex) {
 
         }
@@ -339,4 +463,36 @@ public class CConfig {
         CConfig.setParam(CConfig.CONFIG_SAVE_FILE_1, newFile);
         CConfig.saveConfig();
     }
+
+    /**
+     * The config values at one point in time, along with the values that have been parsed from
+     * them. The parsed values are filled in as they are requested and are discarded along with
+     * the state when a value changes.
+     */
+    private static class State {
+        final Map<String, String> values;
+        final Map<String, Integer> ints = new ConcurrentHashMap<>();
+        final Map<String, Boolean> booleans = new ConcurrentHashMap<>();
+        final Map<String, Boolean> enabled = new ConcurrentHashMap<>();
+        final Map<String, Color> foregrounds = new ConcurrentHashMap<>();
+        final Map<String, Color> backgrounds = new ConcurrentHashMap<>();
+
+        State(Map<String, String> values) {
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        String get(String param, String defaultVal) {
+            String tparam = values.get(param);
+            if ((tparam == null) && param.endsWith(":")) {
+                tparam = values.get(param.substring(0, param.lastIndexOf(":")));
+            }
+            return (tparam == null)? defaultVal : tparam;
+        }
+
+        Properties toProperties() {
+            Properties props = new Properties();
+            props.putAll(values);
+            return props;
+        }
+    }
 }
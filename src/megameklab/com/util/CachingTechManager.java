@@ -0,0 +1,246 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import megamek.common.ITechManager;
+import megamek.common.ITechnology;
+import megamek.common.SimpleTechLevel;
+
+/**
+ * Wraps a tech manager and remembers its legality decisions. The equipment filters, combo boxes,
+ * and tech level checks ask about the same technology many times during a single refresh, and
+ * the answer only depends on the year, faction, tech base, rules level, and the extinct and
+ * unofficial options.
+ *
+ * Those settings are read from the wrapped tech manager on every check and compared with the
+ * settings the current table was built for. If any of them has changed, the table is replaced
+ * with an empty one, so a check never sees answers made under different settings.
+ *
+ * Only the legality check is cached; the other methods pass straight through.
+ */
+public class CachingTechManager implements ITechManager {
+
+    private final ITechManager techManager;
+    private volatile Table table;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param techManager The tech manager that makes the legality decisions
+     */
+    public CachingTechManager(ITechManager techManager) {
+        this.techManager = techManager;
+        table = new Table(techManager);
+    }
+
+    /**
+     * @return The tech manager that makes the legality decisions
+     */
+    public ITechManager getTechManager() {
+        return techManager;
+    }
+
+    /**
+     * Finds the tech manager to use for technology that is checked only once, such as an object
+     * built for the check. Remembering such a decision would cost more than it saves.
+     *
+     * @param techManager A tech manager, which may be caching
+     * @return            The tech manager it wraps if it is caching, otherwise the tech manager
+     */
+    public static ITechManager uncached(ITechManager techManager) {
+        return (techManager instanceof CachingTechManager)
+                ? ((CachingTechManager) techManager).getTechManager() : techManager;
+    }
+
+    @Override
+    public boolean isLegal(ITechnology tech) {
+        Table current = table;
+        if (!current.matches(techManager)) {
+            current = new Table(techManager);
+            table = current;
+            invalidations.increment();
+        }
+        Boolean legal = current.get(tech);
+        if (null == legal) {
+            misses.increment();
+            legal = techManager.isLegal(tech);
+            current.put(tech, legal);
+        } else {
+            hits.increment();
+        }
+        return legal;
+    }
+
+    /**
+     * Discards all remembered decisions.
+     */
+    public void clear() {
+        table = new Table(techManager);
+        invalidations.increment();
+    }
+
+    /**
+     * @return The number of checks answered from the table
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of checks passed to the wrapped tech manager
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of times the table was discarded because the settings changed
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * @return The fraction of checks answered from the table, or zero if there have been none
+     */
+    public double getHitRate() {
+        final long h = hits.sum();
+        final long total = h + misses.sum();
+        return (total == 0)? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Sets the hit, miss, and invalidation counts back to zero.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        invalidations.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d hits, %d misses (%.1f%%), %d invalidations", //$NON-NLS-1$
+                getClass().getSimpleName(), getHits(), getMisses(), getHitRate() * 100.0,
+                getInvalidations());
+    }
+
+    @Override
+    public int getTechIntroYear() {
+        return techManager.getTechIntroYear();
+    }
+
+    @Override
+    public int getGameYear() {
+        return techManager.getGameYear();
+    }
+
+    @Override
+    public int getTechFaction() {
+        return techManager.getTechFaction();
+    }
+
+    @Override
+    public boolean useClanTechBase() {
+        return techManager.useClanTechBase();
+    }
+
+    @Override
+    public boolean useMixedTech() {
+        return techManager.useMixedTech();
+    }
+
+    @Override
+    public SimpleTechLevel getTechLevel() {
+        return techManager.getTechLevel();
+    }
+
+    @Override
+    public boolean unofficialNoYear() {
+        return techManager.unofficialNoYear();
+    }
+
+    @Override
+    public boolean useVariableTechLevel() {
+        return techManager.useVariableTechLevel();
+    }
+
+    @Override
+    public boolean showExtinct() {
+        return techManager.showExtinct();
+    }
+
+    /**
+     * The legality decisions made under one set of tech manager settings. The settings are kept
+     * as primitives so that checking them does not allocate.
+     */
+    private static class Table {
+        private final int introYear;
+        private final int gameYear;
+        private final int faction;
+        private final int techLevel;
+        private final boolean clan;
+        private final boolean mixed;
+        private final boolean unofficialNoYear;
+        private final boolean variableTechLevel;
+        private final boolean showExtinct;
+        // Weak keys, so that objects created for a single check do not accumulate
+        private final Map<ITechnology, Boolean> legal =
+                Collections.synchronizedMap(new WeakHashMap<>());
+
+        Table(ITechManager techManager) {
+            introYear = techManager.getTechIntroYear();
+            gameYear = techManager.getGameYear();
+            faction = techManager.getTechFaction();
+            techLevel = techLevelOrdinal(techManager);
+            clan = techManager.useClanTechBase();
+            mixed = techManager.useMixedTech();
+            unofficialNoYear = techManager.unofficialNoYear();
+            variableTechLevel = techManager.useVariableTechLevel();
+            showExtinct = techManager.showExtinct();
+        }
+
+        boolean matches(ITechManager techManager) {
+            return (introYear == techManager.getTechIntroYear())
+                    && (gameYear == techManager.getGameYear())
+                    && (faction == techManager.getTechFaction())
+                    && (techLevel == techLevelOrdinal(techManager))
+                    && (clan == techManager.useClanTechBase())
+                    && (mixed == techManager.useMixedTech())
+                    && (unofficialNoYear == techManager.unofficialNoYear())
+                    && (variableTechLevel == techManager.useVariableTechLevel())
+                    && (showExtinct == techManager.showExtinct());
+        }
+
+        private static int techLevelOrdinal(ITechManager techManager) {
+            final SimpleTechLevel level = techManager.getTechLevel();
+            return (null == level)? -1 : level.ordinal();
+        }
+
+        Boolean get(ITechnology tech) {
+            return legal.get(tech);
+        }
+
+        void put(ITechnology tech, Boolean value) {
+            legal.put(tech, value);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import megamek.common.ITechManager;
+
+/**
+ * Remembers the engines offered by the mek, vehicle, and fighter chassis views. Those views
+ * repopulate their engine combo boxes on every refresh, which happens whenever the tonnage, year,
+ * or tech level changes, and each refresh constructs a new {@link megamek.common.Engine} for every
+ * candidate type; with the cache, a combination that has been seen before does not need to build
+ * and check the engines again.
+ *
+ * The other option lists, such as structure, gyro, cockpit, and enhancement, and the options of
+ * the remaining chassis views are built from shared equipment and tech advancement objects, so
+ * their legality checks are already answered by {@link CachingTechManager} and they are not
+ * cached here.
+ *
+ * Entries are keyed by the tech manager's settings as well as the view's own parameters, so a
+ * change to the year, faction, tech base, or rules level selects a different entry. A limited
+ * number of entries is kept, discarding those used least recently.
+ */
+public class ChassisOptionCache {
+
+    private static final int MAX_OPTION_LISTS = 256;
+
+    private static ChassisOptionCache instance = null;
+
+    private final Map<List<Object>, List<?>> options =
+            new LinkedHashMap<List<Object>, List<?>>(16, 0.75f, true) {
+        private static final long serialVersionUID = -4962154400180398471L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, List<?>> eldest) {
+            return size() > MAX_OPTION_LISTS;
+        }
+    };
+
+    /**
+     * @return The shared cache
+     */
+    public static synchronized ChassisOptionCache getInstance() {
+        if (null == instance) {
+            instance = new ChassisOptionCache();
+        }
+        return instance;
+    }
+
+    private ChassisOptionCache() {
+    }
+
+    /**
+     * @param techManager The tech manager
+     * @return            A value that is equal for two tech managers that make the same legality
+     *                    decisions
+     */
+    private static List<Object> techState(ITechManager techManager) {
+        return Arrays.asList(techManager.getTechIntroYear(), techManager.getGameYear(),
+                techManager.getTechFaction(), techManager.useClanTechBase(),
+                techManager.useMixedTech(), techManager.getTechLevel(),
+                techManager.unofficialNoYear(), techManager.useVariableTechLevel(),
+                techManager.showExtinct());
+    }
+
+    /**
+     * Finds a list of options, building it if it has not been requested before with the same
+     * category, parameters, and tech manager settings.
+     *
+     * @param category    Identifies the kind of option and the view that uses it, e.g. "mek-engines"
+     * @param techManager The tech manager that decides which options are legal
+     * @param loader      Builds the list of options. It must depend only on the tech manager's
+     *                    settings and the parameters.
+     * @param params      Everything other than the tech manager that the loader depends on, such
+     *                    as the engine rating or unit type
+     * @return            The options, which must not be modified
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> getOptions(String category, ITechManager techManager,
+            Supplier<List<T>> loader, Object... params) {
+        List<Object> key = new ArrayList<>(params.length + 2);
+        key.add(category);
+        key.add(techState(techManager));
+        key.addAll(Arrays.asList(params));
+        List<?> list = options.get(key);
+        if (null == list) {
+            list = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+            options.put(key, list);
+        }
+        return (List<T>) list;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import megamek.common.Entity;
+
+/**
+ * Records the runs of empty critical slots in each location of a unit, so that questions about
+ * available space are answered without scanning the slots. There is one index for each unit,
+ * found with {@link #of(Entity)}, and it is kept up to date by the {@link UnitUtil} methods that
+ * change critical slots: {@link UnitUtil#addMounted(Entity, megamek.common.Mounted, int, boolean)},
+ * {@link UnitUtil#removeCriticals(Entity, megamek.common.Mounted)} and
+ * {@link UnitUtil#compactCriticals(Entity)}. Code that sets slots on the unit directly must call
+ * {@link #update(Entity, int)} for the location it changed. The mech critical view also updates
+ * each location it shows, so changes made by MegaMek itself, such as installing an engine, are
+ * picked up when the view is refreshed.
+ *
+ * A location that has changed is scanned again the next time it is queried; otherwise every
+ * query is a lookup.
+ */
+public class CriticalSlotIndex {
+
+    /** The most units indexed at once; one for each open unit is plenty */
+    private static final int MAX_INDEXES = 8;
+
+    /**
+     * The indexes, most recently used first. Units are compared by identity and held weakly, so a
+     * unit that is no longer edited is not kept alive by its index.
+     */
+    private static final List<CriticalSlotIndex> indexes = new ArrayList<>();
+
+    private final WeakReference<Entity> entity;
+    /** For each location, the number of contiguous empty slots starting at each slot */
+    private final int[][] freeRuns;
+    /** For each location, the longest run of empty slots */
+    private final int[] largestRuns;
+
+    private CriticalSlotIndex(Entity entity) {
+        this.entity = new WeakReference<>(entity);
+        freeRuns = new int[entity.locations()][];
+        largestRuns = new int[entity.locations()];
+    }
+
+    /**
+     * @param entity The unit
+     * @return       The unit's index, created if it does not have one yet
+     */
+    public static CriticalSlotIndex of(Entity entity) {
+        synchronized (indexes) {
+            CriticalSlotIndex index = find(entity);
+            if ((null != index) && (index.freeRuns.length == entity.locations())) {
+                return index;
+            } else if (null != index) {
+                indexes.remove(0);
+            }
+            index = new CriticalSlotIndex(entity);
+            indexes.add(0, index);
+            while (indexes.size() > MAX_INDEXES) {
+                indexes.remove(indexes.size() - 1);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Notes that the critical slots in a location of a unit have changed. This does nothing if
+     * the unit has not been indexed.
+     *
+     * @param entity   The unit
+     * @param location The location that changed
+     */
+    public static void update(Entity entity, int location) {
+        synchronized (indexes) {
+            final CriticalSlotIndex index = find(entity);
+            if ((null != index) && index.isIndexed(location)) {
+                index.freeRuns[location] = null;
+            }
+        }
+    }
+
+    /**
+     * Notes that any of the critical slots of a unit may have changed.
+     *
+     * @param entity The unit
+     */
+    public static void updateAll(Entity entity) {
+        synchronized (indexes) {
+            final CriticalSlotIndex index = find(entity);
+            if (null != index) {
+                for (int location = 0; location < index.freeRuns.length; location++) {
+                    index.freeRuns[location] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the index of a unit without moving it to the front, removing any whose unit is gone.
+     * Must be called while holding the lock on the list.
+     */
+    private static CriticalSlotIndex find(Entity entity) {
+        CriticalSlotIndex found = null;
+        for (Iterator<CriticalSlotIndex> iter = indexes.iterator(); iter.hasNext(); ) {
+            final CriticalSlotIndex index = iter.next();
+            final Entity indexed = index.entity.get();
+            if (null == indexed) {
+                iter.remove();
+            } else if (indexed == entity) {
+                found = index;
+                iter.remove();
+                break;
+            }
+        }
+        if (null != found) {
+            indexes.add(0, found);
+        }
+        return found;
+    }
+
+    /**
+     * @param location The location to check
+     * @param slot     The slot to start at
+     * @return         The number of contiguous empty slots starting at the given slot
+     */
+    public int getFreeRun(int location, int slot) {
+        if (!isIndexed(location)) {
+            return 0;
+        }
+        final int[] runs = getRuns(location);
+        return ((slot >= 0) && (slot < runs.length)) ? runs[slot] : 0;
+    }
+
+    /**
+     * @param location The location to check
+     * @return         The largest number of contiguous empty slots in the location
+     */
+    public int getLargestFreeRun(int location) {
+        if (!isIndexed(location)) {
+            return 0;
+        }
+        synchronized (indexes) {
+            getRuns(location);
+            return largestRuns[location];
+        }
+    }
+
+    /**
+     * @return The largest number of contiguous empty slots in each location, indexed by location
+     */
+    public int[] getLargestFreeRuns() {
+        int[] result = new int[largestRuns.length];
+        for (int location = 0; location < result.length; location++) {
+            result[location] = getLargestFreeRun(location);
+        }
+        return result;
+    }
+
+    private boolean isIndexed(int location) {
+        return (location >= 0) && (location < freeRuns.length);
+    }
+
+    private int[] getRuns(int location) {
+        synchronized (indexes) {
+            final Entity unit = entity.get();
+            if (null == unit) {
+                return new int[0];
+            }
+            final int numSlots = unit.getNumberOfCriticals(location);
+            // The number of slots can change without a slot being set, such as for superheavies
+            if ((null == freeRuns[location]) || (freeRuns[location].length != numSlots)) {
+                int[] runs = new int[numSlots];
+                int largest = 0;
+                // Scan backwards so each slot's run is one more than the next slot's
+                for (int slot = numSlots - 1; slot >= 0; slot--) {
+                    if (null == unit.getCritical(location, slot)) {
+                        runs[slot] = (slot + 1 < numSlots) ? runs[slot + 1] + 1 : 1;
+                        largest = Math.max(largest, runs[slot]);
+                    }
+                }
+                freeRuns[location] = runs;
+                largestRuns[location] = largest;
+            }
+            return freeRuns[location];
+        }
+    }
+}
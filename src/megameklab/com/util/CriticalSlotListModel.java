@@ -0,0 +1,128 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.swing.AbstractListModel;
+
+import megamek.common.CriticalSlot;
+import megamek.common.Mounted;
+
+/**
+ * The contents of the critical slots in a single location. The critical views keep one model per
+ * location and update it in place when the unit changes. Each slot is compared with its previous
+ * contents, and events are only fired for the slots that differ, so a change to one slot
+ * repaints only that slot rather than rebuilding the list for every location.
+ *
+ * Along with the value shown in the list, each slot has a state that captures anything else the
+ * cell renderer reads from the unit (such as whether the slot is armored or the ammo remaining).
+ * A slot whose value is the same but whose state has changed is also repainted.
+ *
+ * @param <E> The type of value shown in the list
+ */
+public class CriticalSlotListModel<E> extends AbstractListModel<E> {
+
+    private static final long serialVersionUID = -3165329581873466425L;
+
+    private final List<E> values = new ArrayList<>();
+    private final List<Object> states = new ArrayList<>();
+
+    @Override
+    public int getSize() {
+        return values.size();
+    }
+
+    @Override
+    public E getElementAt(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * Replaces the contents of the list, firing events only for the slots that have changed.
+     *
+     * @param newValues The values to show, one per slot
+     * @param newStates The state of each slot, in the same order as the values
+     * @return          Whether the number of slots has changed, in which case the list may need
+     *                  to be resized
+     */
+    public boolean update(List<E> newValues, List<?> newStates) {
+        final int oldSize = values.size();
+        final int newSize = newValues.size();
+        final int common = Math.min(oldSize, newSize);
+        int firstChanged = -1;
+        for (int i = 0; i < common; i++) {
+            final boolean changed = !Objects.equals(values.get(i), newValues.get(i))
+                    || !Objects.equals(states.get(i), newStates.get(i));
+            if (changed) {
+                values.set(i, newValues.get(i));
+                states.set(i, newStates.get(i));
+                if (firstChanged < 0) {
+                    firstChanged = i;
+                }
+            } else if (firstChanged >= 0) {
+                fireContentsChanged(this, firstChanged, i - 1);
+                firstChanged = -1;
+            }
+        }
+        if (firstChanged >= 0) {
+            fireContentsChanged(this, firstChanged, common - 1);
+        }
+        if (newSize > oldSize) {
+            values.addAll(newValues.subList(oldSize, newSize));
+            states.addAll(newStates.subList(oldSize, newSize));
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        } else if (newSize < oldSize) {
+            values.subList(newSize, oldSize).clear();
+            states.subList(newSize, oldSize).clear();
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        }
+        return newSize != oldSize;
+    }
+
+    /**
+     * Describes what the critical slot renderer shows for a slot, apart from its name.
+     *
+     * @param cs The critical slot, which may be {@code null} if it is empty
+     * @return   A value that is equal for two slots that render the same way
+     */
+    public static Object slotState(CriticalSlot cs) {
+        if (null == cs) {
+            return null;
+        }
+        if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
+            return Arrays.asList(cs.getType(), cs.getIndex(), cs.isArmored());
+        }
+        return Arrays.asList(cs.getType(), cs.isArmored(), mountState(cs.getMount()),
+                mountState(cs.getMount2()));
+    }
+
+    /**
+     * Describes what the renderer shows for a piece of equipment, apart from its name.
+     *
+     * @param m The equipment, which may be {@code null}
+     * @return  A value that is equal for two mounts that render the same way
+     */
+    public static Object mountState(Mounted m) {
+        if (null == m) {
+            return null;
+        }
+        return Arrays.asList(m.getType(), m.getLocation(), m.isRearMounted(), m.isArmored(),
+                m.isMechTurretMounted(), m.isSponsonTurretMounted(), m.isPintleTurretMounted(),
+                m.isDWPMounted(), m.isOmniPodMounted(), m.getLinked(), m.getBaseShotsLeft());
+    }
+}
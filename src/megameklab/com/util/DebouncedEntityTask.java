@@ -0,0 +1,175 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import megamek.common.Entity;
+import megameklab.com.MegaMekLab;
+import megameklab.com.ui.EntitySource;
+
+/**
+ * Runs a calculation against a snapshot of the current unit on a background thread.
+ * Requests are debounced so that a burst of edits (such as typing in a text field) results
+ * in a single run. A run that is superseded by a later one is cancelled and its result is
+ * discarded, so the result handler only ever sees the most recent state of the unit.
+ *
+ * All public methods must be called on the event dispatch thread, and the result handler is
+ * invoked there.
+ *
+ * @param <T> The type of the calculation result
+ */
+public class DebouncedEntityTask<T> {
+
+    /** The default delay in milliseconds between the last request and the start of the run */
+    public static final int DEFAULT_DELAY = 250;
+
+    /**
+     * A calculation that works directly from the serialized unit, for tasks that can use the
+     * snapshot's version to skip restoring the unit.
+     */
+    @FunctionalInterface
+    public interface SnapshotTask<T> {
+        T apply(EntitySnapshot snapshot) throws Exception;
+    }
+
+    private final EntitySource eSource;
+    private final SnapshotTask<T> task;
+    private final Consumer<T> onResult;
+    private final Timer timer;
+
+    private SwingWorker<T, Void> worker = null;
+    private long generation = 0;
+
+    /**
+     * @param eSource  Provides the unit to take the snapshot from
+     * @param delay    The quiet period in milliseconds before a run starts
+     * @param task     The calculation to perform. This is called on a background thread with
+     *                 a private copy of the unit.
+     * @param onResult Receives the result on the event dispatch thread
+     */
+    public DebouncedEntityTask(EntitySource eSource, int delay, Function<Entity, T> task,
+            Consumer<T> onResult) {
+        this(eSource, delay, (SnapshotTask<T>) snapshot -> task.apply(snapshot.restore()), onResult);
+    }
+
+    private DebouncedEntityTask(EntitySource eSource, int delay, SnapshotTask<T> task,
+            Consumer<T> onResult) {
+        this.eSource = eSource;
+        this.task = task;
+        this.onResult = onResult;
+        timer = new Timer(delay, e -> start());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Creates a task that receives the snapshot rather than a restored copy of the unit.
+     *
+     * @param eSource  Provides the unit to take the snapshot from
+     * @param delay    The quiet period in milliseconds before a run starts
+     * @param task     The calculation to perform on a background thread
+     * @param onResult Receives the result on the event dispatch thread
+     * @return         The new task
+     */
+    public static <T> DebouncedEntityTask<T> ofSnapshot(EntitySource eSource, int delay,
+            SnapshotTask<T> task, Consumer<T> onResult) {
+        return new DebouncedEntityTask<>(eSource, delay, task, onResult);
+    }
+
+    /**
+     * Requests a run after the debounce delay. Any pending request is replaced and any run
+     * in progress will have its result discarded.
+     */
+    public void schedule() {
+        invalidate();
+        timer.restart();
+    }
+
+    /**
+     * Starts a run immediately, skipping the debounce delay.
+     */
+    public void runNow() {
+        timer.stop();
+        start();
+    }
+
+    /**
+     * Cancels any pending or running calculation.
+     */
+    public void cancel() {
+        timer.stop();
+        invalidate();
+    }
+
+    /**
+     * @return Whether a run is waiting for the debounce delay or is in progress
+     */
+    public boolean isPending() {
+        return timer.isRunning() || ((null != worker) && !worker.isDone());
+    }
+
+    private void invalidate() {
+        generation++;
+        if (null != worker) {
+            worker.cancel(true);
+            worker = null;
+        }
+    }
+
+    private void start() {
+        invalidate();
+        final Entity entity = eSource.getEntity();
+        if (null == entity) {
+            return;
+        }
+        final EntitySnapshot snapshot = EntitySnapshot.of(entity);
+        if (null == snapshot) {
+            // The failure has already been logged; there is nothing to calculate from.
+            return;
+        }
+        final long runGeneration = generation;
+        worker = new SwingWorker<T, Void>() {
+
+            @Override
+            protected T doInBackground() throws Exception {
+                if (isCancelled()) {
+                    return null;
+                }
+                return task.apply(snapshot);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || (runGeneration != generation)) {
+                    return;
+                }
+                worker = null;
+                try {
+                    onResult.accept(get());
+                } catch (ExecutionException e) {
+                    MegaMekLab.getLogger().error(DebouncedEntityTask.class, "done()",
+                            e.getCause());
+                } catch (InterruptedException e) {
+                    // Shouldn't get here because we're done...
+                }
+            }
+        };
+        worker.execute();
+    }
+}
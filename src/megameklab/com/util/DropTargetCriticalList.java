@@ -28,6 +28,7 @@ import java.util.Vector;
 import javax.swing.JList;
 import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu;
+import javax.swing.ListModel;
 
 import megamek.common.CriticalSlot;
 import megamek.common.Entity;
@@ -52,6 +53,16 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
     public DropTargetCriticalList(Vector<E> vector, EntitySource eSource,
             RefreshListener refresh, boolean buildView) {
         super(vector);
+        init(eSource, refresh, buildView);
+    }
+
+    public DropTargetCriticalList(ListModel<E> model, EntitySource eSource,
+            RefreshListener refresh, boolean buildView) {
+        super(model);
+        init(eSource, refresh, buildView);
+    }
+
+    private void init(EntitySource eSource, RefreshListener refresh, boolean buildView) {
         this.eSource = eSource;
         this.refresh = refresh;
         this.buildView = buildView;
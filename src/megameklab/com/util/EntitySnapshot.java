@@ -0,0 +1,108 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.zip.CRC32;
+
+import megamek.common.Entity;
+import megamek.common.annotations.Nullable;
+import megameklab.com.MegaMekLab;
+
+/**
+ * A frozen copy of a unit's state. The unit is serialized when the snapshot is taken, which
+ * must happen on the thread that owns the unit (normally the event dispatch thread). Each call
+ * to {@link #restore()} produces an independent copy that can be used on any thread without
+ * seeing later edits.
+ */
+public class EntitySnapshot {
+
+    private final byte[] data;
+    private long version = -1;
+
+    private EntitySnapshot(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Recreates a snapshot from the bytes returned by {@link #toByteArray()}, such as ones read
+     * back from disk. The bytes are not checked until the snapshot is restored.
+     */
+    static EntitySnapshot ofBytes(byte[] data) {
+        return new EntitySnapshot(data);
+    }
+
+    /**
+     * Serializes the current state of the unit.
+     *
+     * @param entity The unit to copy
+     * @return       The snapshot, or {@code null} if the unit could not be serialized
+     */
+    public static @Nullable EntitySnapshot of(Entity entity) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(entity);
+            out.flush();
+            return new EntitySnapshot(bytes.toByteArray());
+        } catch (IOException ex) {
+            MegaMekLab.getLogger().error(EntitySnapshot.class, "of(Entity)", ex);
+            return null;
+        }
+    }
+
+    /**
+     * @return A new copy of the unit as it was when the snapshot was taken
+     */
+    public Entity restore() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            Entity entity = (Entity) in.readObject();
+            // Equipment types are transient and need to be looked up again
+            entity.restore();
+            return entity;
+        }
+    }
+
+    /**
+     * A content version of the unit. Two snapshots of units in the same state have the same
+     * version, so this can be used as a cache key for values derived from the unit.
+     *
+     * @return A checksum of the serialized unit combined with its length
+     */
+    public synchronized long getVersion() {
+        if (version < 0) {
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length);
+            version = ((long) data.length << 32) | crc.getValue();
+        }
+        return version;
+    }
+
+    /**
+     * @return The size of the serialized unit, in bytes
+     */
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * @return The serialized unit. The array is shared and must not be modified.
+     */
+    byte[] toByteArray() {
+        return data;
+    }
+}
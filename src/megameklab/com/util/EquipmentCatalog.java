@@ -0,0 +1,136 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import megamek.common.AmmoType;
+import megamek.common.EquipmentType;
+import megamek.common.MiscType;
+import megamek.common.TechAdvancement;
+import megamek.common.WeaponType;
+
+/**
+ * An immutable snapshot of all equipment types, taken once after the types have been
+ * initialized and shared by all views. The equipment is partitioned by kind and tech base,
+ * and subsets selected for a particular kind of unit are kept so that reloading a tab or
+ * switching unit types does not require scanning every type again.
+ */
+public class EquipmentCatalog {
+
+    private static EquipmentCatalog instance = null;
+
+    private final List<EquipmentType> all;
+    private final List<EquipmentType> weapons;
+    private final List<EquipmentType> ammo;
+    private final List<EquipmentType> misc;
+    private final Map<Integer, List<EquipmentType>> byTechBase;
+    private final Map<String, List<EquipmentType>> selections = new ConcurrentHashMap<>();
+
+    /**
+     * @return The shared catalog, which is built the first time it is requested. The equipment
+     *         types must already have been initialized.
+     */
+    public static synchronized EquipmentCatalog getInstance() {
+        if (null == instance) {
+            instance = new EquipmentCatalog();
+        }
+        return instance;
+    }
+
+    private EquipmentCatalog() {
+        List<EquipmentType> allTypes = new ArrayList<>();
+        List<EquipmentType> weaponTypes = new ArrayList<>();
+        List<EquipmentType> ammoTypes = new ArrayList<>();
+        List<EquipmentType> miscTypes = new ArrayList<>();
+        for (Enumeration<EquipmentType> e = EquipmentType.getAllTypes(); e.hasMoreElements(); ) {
+            EquipmentType eq = e.nextElement();
+            allTypes.add(eq);
+            if (eq instanceof WeaponType) {
+                weaponTypes.add(eq);
+            } else if (eq instanceof AmmoType) {
+                ammoTypes.add(eq);
+            } else if (eq instanceof MiscType) {
+                miscTypes.add(eq);
+            }
+        }
+        all = Collections.unmodifiableList(allTypes);
+        weapons = Collections.unmodifiableList(weaponTypes);
+        ammo = Collections.unmodifiableList(ammoTypes);
+        misc = Collections.unmodifiableList(miscTypes);
+        byTechBase = Collections.unmodifiableMap(allTypes.stream()
+                .collect(Collectors.groupingBy(EquipmentType::getTechBase,
+                        Collectors.collectingAndThen(Collectors.toList(),
+                                Collections::unmodifiableList))));
+    }
+
+    /**
+     * @return All equipment types, in the order they were registered
+     */
+    public List<EquipmentType> getAll() {
+        return all;
+    }
+
+    /**
+     * @return All weapon types
+     */
+    public List<EquipmentType> getWeapons() {
+        return weapons;
+    }
+
+    /**
+     * @return All ammo types
+     */
+    public List<EquipmentType> getAmmo() {
+        return ammo;
+    }
+
+    /**
+     * @return All miscellaneous equipment types
+     */
+    public List<EquipmentType> getMisc() {
+        return misc;
+    }
+
+    /**
+     * @param techBase One of the {@link TechAdvancement} tech base constants
+     * @return         The equipment with the given tech base
+     */
+    public List<EquipmentType> getByTechBase(int techBase) {
+        return byTechBase.getOrDefault(techBase, Collections.emptyList());
+    }
+
+    /**
+     * Selects a subset of the equipment, such as what can be mounted on a particular type of
+     * unit. The result is kept and returned for later requests with the same key, so the filter
+     * must depend only on the equipment and on what the key describes.
+     *
+     * @param key    Identifies the selection, e.g. "tank-equipment:vtol"
+     * @param source The list to select from, normally one of this catalog's lists
+     * @param filter The test for inclusion
+     * @return       The matching equipment, in the same order as the source
+     */
+    public List<EquipmentType> select(String key, List<EquipmentType> source,
+            Predicate<EquipmentType> filter) {
+        return selections.computeIfAbsent(key, k -> Collections.unmodifiableList(
+                source.stream().filter(filter).collect(Collectors.toList())));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.ITechManager;
+import megamek.common.Mounted;
+import megameklab.com.ui.EntitySource;
+
+/**
+ * Caches which rows of an {@link EquipmentTableModel} belong to each equipment category for the
+ * current unit, and which are legal under the current tech settings. The equipment tab filters
+ * combine these with a text match instead of testing every row on every keystroke.
+ *
+ * The category sets are recalculated when the unit's configuration changes, and only for
+ * categories that are actually requested. The legality set is recalculated separately when the
+ * tech settings change (year, faction, tech base or rules level), so changing the year does not
+ * require the category tests to be repeated.
+ */
+public class EquipmentFilterIndex {
+
+    /**
+     * Decides whether a piece of equipment belongs in a category for the current unit.
+     * This does not need to consider tech legality.
+     */
+    @FunctionalInterface
+    public interface CategoryFilter {
+        boolean include(EquipmentType etype, int category);
+    }
+
+    private final EquipmentTableModel model;
+    private final EntitySource eSource;
+    private final CategoryFilter filter;
+    private final BitSet[] categories;
+    private BitSet legal = null;
+
+    private Entity keyEntity = null;
+    private List<Object> unitKey = null;
+    private List<Object> techKey = null;
+
+    /**
+     * @param model         The table model whose rows are indexed
+     * @param eSource       Provides the unit and the tech manager
+     * @param numCategories The number of categories, which are identified by index
+     * @param filter        The test for category membership
+     */
+    public EquipmentFilterIndex(EquipmentTableModel model, EntitySource eSource, int numCategories,
+            CategoryFilter filter) {
+        this.model = model;
+        this.eSource = eSource;
+        this.filter = filter;
+        categories = new BitSet[numCategories];
+        model.addTableModelListener(e -> invalidate());
+    }
+
+    /**
+     * Finds the rows to show for a category.
+     *
+     * @param category The selected category
+     * @param showAll  If true, equipment that is not legal under the current tech settings is included
+     * @return         The model rows that match. The caller may modify the returned set.
+     */
+    public BitSet getAvailable(int category, boolean showAll) {
+        if ((category < 0) || (category >= categories.length)) {
+            return new BitSet();
+        }
+        checkKeys();
+        BitSet result = (BitSet) getCategory(category).clone();
+        if (!showAll) {
+            result.and(getLegal());
+        }
+        return result;
+    }
+
+    /**
+     * Discards all cached sets, such as when the model's rows change.
+     */
+    public void invalidate() {
+        Arrays.fill(categories, null);
+        legal = null;
+    }
+
+    private void checkKeys() {
+        final Entity entity = eSource.getEntity();
+        final List<Object> newUnitKey = unitKey(entity);
+        if ((entity != keyEntity) || !newUnitKey.equals(unitKey)) {
+            Arrays.fill(categories, null);
+            keyEntity = entity;
+            unitKey = newUnitKey;
+        }
+        final List<Object> newTechKey = techKey(eSource.getTechManager());
+        if (!newTechKey.equals(techKey)) {
+            legal = null;
+            techKey = newTechKey;
+        }
+    }
+
+    private BitSet getCategory(int category) {
+        if (null == categories[category]) {
+            BitSet bits = new BitSet(model.getRowCount());
+            for (int row = 0; row < model.getRowCount(); row++) {
+                if (filter.include(model.getType(row), category)) {
+                    bits.set(row);
+                }
+            }
+            categories[category] = bits;
+        }
+        return categories[category];
+    }
+
+    private BitSet getLegal() {
+        if (null == legal) {
+            final ITechManager techManager = eSource.getTechManager();
+            BitSet bits = new BitSet(model.getRowCount());
+            for (int row = 0; row < model.getRowCount(); row++) {
+                if ((null == techManager) || techManager.isLegal(model.getType(row))) {
+                    bits.set(row);
+                }
+            }
+            legal = bits;
+        }
+        return legal;
+    }
+
+    /**
+     * The unit properties that determine which equipment can be mounted. The installed equipment
+     * is included because ammo and some equipment depend on what else is mounted.
+     */
+    private static List<Object> unitKey(Entity entity) {
+        if (null == entity) {
+            return Arrays.asList();
+        }
+        int equipmentHash = 1;
+        for (Mounted m : entity.getEquipment()) {
+            equipmentHash = 31 * equipmentHash + m.getType().hashCode();
+        }
+        return Arrays.asList(entity.getEntityType(), entity.getWeight(), entity.isClan(),
+                entity.isMixedTech(), entity.getTechLevel(), entity.getMovementMode(),
+                entity.isOmni(), entity.isSupportVehicle(), equipmentHash);
+    }
+
+    private static List<Object> techKey(ITechManager techManager) {
+        if (null == techManager) {
+            return Arrays.asList();
+        }
+        return Arrays.asList(techManager.getGameYear(), techManager.getTechIntroYear(),
+                techManager.getTechFaction(), techManager.useClanTechBase(),
+                techManager.useMixedTech(), techManager.getTechLevel(),
+                techManager.unofficialNoYear(), techManager.useVariableTechLevel(),
+                techManager.showExtinct());
+    }
+}
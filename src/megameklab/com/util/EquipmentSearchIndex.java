@@ -0,0 +1,289 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import megamek.common.EquipmentType;
+
+/**
+ * A text search over the names, internal names, and lookup aliases of all equipment types.
+ * Names are lower-cased once when the index is built and indexed by trigram, so a query only
+ * checks the equipment that contains every trigram of the query. A query that extends the
+ * previous one (as happens while typing) only searches the previous matches.
+ *
+ * A single index is shared by the equipment tabs of all unit types.
+ */
+public class EquipmentSearchIndex {
+
+    /** The delay in milliseconds after the last keystroke before the search field is applied */
+    public static final int SEARCH_DELAY = 150;
+
+    /** Relevance ranks, lowest is best */
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_WORD = 2;
+    private static final int RANK_NAME = 3;
+    private static final int RANK_ALIAS = 4;
+
+    private static final int GRAM = 3;
+
+    private static EquipmentSearchIndex instance = null;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, int[]> trigrams = new HashMap<>();
+
+    private String lastQuery = null;
+    private SearchResult lastResult = null;
+
+    /**
+     * @return The shared index, which is built the first time it is requested
+     */
+    public static synchronized EquipmentSearchIndex getInstance() {
+        if (null == instance) {
+            instance = new EquipmentSearchIndex();
+        }
+        return instance;
+    }
+
+    private EquipmentSearchIndex() {
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (EquipmentType etype : EquipmentCatalog.getInstance().getAll()) {
+            Entry entry = new Entry(entries.size(), etype);
+            entries.add(entry);
+            Set<String> grams = new LinkedHashSet<>();
+            addGrams(entry.name, grams);
+            for (String alias : entry.aliases) {
+                addGrams(alias, grams);
+            }
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, k -> new ArrayList<>()).add(entry.id);
+            }
+        }
+        for (Map.Entry<String, List<Integer>> p : postings.entrySet()) {
+            trigrams.put(p.getKey(), p.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static void addGrams(String term, Set<String> grams) {
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM));
+        }
+    }
+
+    /**
+     * Finds the equipment that matches a query.
+     *
+     * @param query The text to search for. Case is ignored.
+     * @return      The matching equipment, or {@code null} if the query is blank and all
+     *              equipment should be shown
+     */
+    public synchronized SearchResult search(String query) {
+        final String q = query.trim().toLowerCase();
+        if (q.isEmpty()) {
+            return null;
+        }
+        if (q.equals(lastQuery)) {
+            return lastResult;
+        }
+        BitSet candidates;
+        if ((null != lastQuery) && q.startsWith(lastQuery)) {
+            // Anything that contains the new query also contains the old one
+            candidates = lastResult.ids;
+        } else if (q.length() >= GRAM) {
+            candidates = gramCandidates(q);
+        } else {
+            candidates = new BitSet(entries.size());
+            candidates.set(0, entries.size());
+        }
+        Map<EquipmentType, Integer> ranks = new IdentityHashMap<>();
+        List<Entry> matches = new ArrayList<>();
+        BitSet ids = new BitSet(entries.size());
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            Entry entry = entries.get(id);
+            int rank = entry.rank(q);
+            if (rank >= 0) {
+                ranks.put(entry.type, rank);
+                matches.add(entry);
+                ids.set(id);
+            }
+        }
+        matches.sort(Comparator.comparingInt((Entry e) -> ranks.get(e.type))
+                .thenComparingInt(e -> e.name.length())
+                .thenComparing(e -> e.name));
+        List<EquipmentType> ordered = new ArrayList<>(matches.size());
+        for (Entry e : matches) {
+            ordered.add(e.type);
+        }
+        lastQuery = q;
+        lastResult = new SearchResult(ranks, Collections.unmodifiableList(ordered), ids);
+        return lastResult;
+    }
+
+    private BitSet gramCandidates(String q) {
+        BitSet result = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            int[] posting = trigrams.get(q.substring(i, i + GRAM));
+            if (null == posting) {
+                return new BitSet();
+            }
+            BitSet bits = new BitSet(entries.size());
+            for (int id : posting) {
+                bits.set(id);
+            }
+            if (null == result) {
+                result = bits;
+            } else {
+                result.and(bits);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The equipment matching a query, with its relevance.
+     */
+    public static class SearchResult {
+        private final Map<EquipmentType, Integer> ranks;
+        private final List<EquipmentType> ordered;
+        private final BitSet ids;
+
+        private SearchResult(Map<EquipmentType, Integer> ranks, List<EquipmentType> ordered,
+                BitSet ids) {
+            this.ranks = ranks;
+            this.ordered = ordered;
+            this.ids = ids;
+        }
+
+        /**
+         * @param etype The equipment to check
+         * @return      Whether the equipment matches the query
+         */
+        public boolean contains(EquipmentType etype) {
+            return ranks.containsKey(etype);
+        }
+
+        /**
+         * @return The matching equipment, most relevant first
+         */
+        public List<EquipmentType> getMatches() {
+            return ordered;
+        }
+
+        /**
+         * Removes rows that do not match the query from a set of table rows.
+         *
+         * @param rows  The rows of the model to filter
+         * @param model The model that provides the equipment for each row
+         */
+        public void retainMatches(BitSet rows, EquipmentTableModel model) {
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (!contains(model.getType(row))) {
+                    rows.clear(row);
+                }
+            }
+        }
+
+        /**
+         * Finds the most relevant match among a set of table rows.
+         *
+         * @param rows  The rows of the model that are shown
+         * @param model The model that provides the equipment for each row
+         * @return      The model row of the best match, or -1 if none of the rows match
+         */
+        public int getBestRow(BitSet rows, EquipmentTableModel model) {
+            int best = -1;
+            int bestRank = Integer.MAX_VALUE;
+            int bestLength = Integer.MAX_VALUE;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                EquipmentType etype = model.getType(row);
+                Integer rank = ranks.get(etype);
+                if ((null != rank) && ((rank < bestRank)
+                        || ((rank == bestRank) && (etype.getName().length() < bestLength)))) {
+                    best = row;
+                    bestRank = rank;
+                    bestLength = etype.getName().length();
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * The case-folded search terms for a single piece of equipment.
+     */
+    private static class Entry {
+        final int id;
+        final EquipmentType type;
+        final String name;
+        final List<String> aliases = new ArrayList<>();
+
+        Entry(int id, EquipmentType type) {
+            this.id = id;
+            this.type = type;
+            name = type.getName().toLowerCase();
+            addAlias(type.getInternalName());
+            for (Enumeration<String> e = type.getNames(); e.hasMoreElements(); ) {
+                addAlias(e.nextElement());
+            }
+        }
+
+        private void addAlias(String alias) {
+            if (null != alias) {
+                String folded = alias.toLowerCase();
+                if (!folded.equals(name) && !aliases.contains(folded)) {
+                    aliases.add(folded);
+                }
+            }
+        }
+
+        /**
+         * @return The relevance rank of this equipment for the query, or -1 if it does not match
+         */
+        int rank(String q) {
+            if (name.equals(q)) {
+                return RANK_EXACT;
+            }
+            int index = name.indexOf(q);
+            if (index == 0) {
+                return RANK_PREFIX;
+            }
+            while (index > 0) {
+                if (!Character.isLetterOrDigit(name.charAt(index - 1))) {
+                    return RANK_WORD;
+                }
+                index = name.indexOf(q, index + 1);
+            }
+            if (name.contains(q)) {
+                return RANK_NAME;
+            }
+            for (String alias : aliases) {
+                if (alias.contains(q)) {
+                    return RANK_ALIAS;
+                }
+            }
+            return -1;
+        }
+    }
+}
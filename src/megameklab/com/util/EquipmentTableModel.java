@@ -20,6 +20,7 @@ import java.awt.Color;
 import java.awt.Component;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
@@ -82,9 +83,17 @@ public class EquipmentTableModel extends AbstractTableModel {
     public final static int COL_REF = 21;
     public final static int N_COL = 22;
 
-    private ArrayList<EquipmentType> data = new ArrayList<EquipmentType>();
+    private List<EquipmentType> data = new ArrayList<EquipmentType>();
     private Entity entity = null;
     final private ITechManager techManager;
+    final private DecimalFormat formatter = new DecimalFormat();
+
+    /**
+     * Display values by row and column, filled in as cells are requested. Painting and sorting
+     * ask for the same cells many times, and several columns are expensive to calculate. The
+     * values are cleared by {@link #setData(List)} and {@link #invalidate()}.
+     */
+    private Object[][] cache = new Object[0][];
 
     public EquipmentTableModel(Entity e, ITechManager techManager) {
         entity = e;
@@ -215,22 +224,41 @@ public class EquipmentTableModel extends AbstractTableModel {
     }
 
     // fill table with values
-    public void setData(ArrayList<EquipmentType> equip) {
+    public void setData(List<EquipmentType> equip) {
         data = equip;
+        cache = new Object[data.size()][];
         fireTableDataChanged();
     }
 
+    /**
+     * Clears the displayed values so they are calculated again. This must be called when the unit
+     * or the tech settings change in a way that may affect them.
+     */
+    public void invalidate() {
+        cache = new Object[data.size()][];
+        if (!data.isEmpty()) {
+            fireTableRowsUpdated(0, data.size() - 1);
+        }
+    }
+
     @Override
     public Object getValueAt(int row, int col) {
-        EquipmentType type;
-        WeaponType wtype = null;
-        AmmoType atype = null;
-        MiscType mtype = null;
         if (data.isEmpty()) {
             return "";
-        } else {
-            type = data.get(row);
         }
+        if (null == cache[row]) {
+            cache[row] = new Object[N_COL];
+        }
+        if (null == cache[row][col]) {
+            cache[row][col] = calculateValue(data.get(row), col);
+        }
+        return cache[row][col];
+    }
+
+    private Object calculateValue(EquipmentType type, int col) {
+        WeaponType wtype = null;
+        AmmoType atype = null;
+        MiscType mtype = null;
         if (type instanceof WeaponType) {
             wtype = (WeaponType) type;
         }
@@ -240,7 +268,6 @@ public class EquipmentTableModel extends AbstractTableModel {
         if (type instanceof MiscType) {
             mtype = (MiscType) type;
         }
-        DecimalFormat formatter = new DecimalFormat();
 
         if (col == COL_NAME) {
             return UnitUtil.trimInfantryWeaponNames(type.getName());
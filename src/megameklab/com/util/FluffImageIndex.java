@@ -0,0 +1,128 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * Finds image files by name without checking the disk for each name. The first lookup in a
+ * directory lists it and remembers the files by name, ignoring case; later lookups use the list.
+ * The directory's modification time is checked again at most every {@link #RECHECK_INTERVAL}
+ * milliseconds, and the directory is listed again if it has changed, so files added or removed
+ * while the program runs are found after a short delay.
+ *
+ * This matters when printing many units with fluff images from a network share, where each check
+ * for a file is slow and most of the names checked do not exist.
+ */
+public class FluffImageIndex {
+
+    /** How long a directory listing is used before checking whether the directory has changed */
+    private static final long RECHECK_INTERVAL = 2000;
+
+    private static final Map<File, Listing> listings = new ConcurrentHashMap<>();
+
+    private static class Listing {
+        /** The directory's modification time when it was listed, or 0 if it does not exist */
+        final long modified;
+        /**
+         * Whether the directory's modification time was old enough when it was listed to show any
+         * later change. Some file systems only record times to the second or coarser, so a file
+         * added just after listing may not change the time.
+         */
+        final boolean settled;
+        /** Files in the directory by lower case name */
+        final Map<String, File> files;
+        volatile long checked;
+
+        Listing(long modified, long now, Map<String, File> files) {
+            this.modified = modified;
+            this.settled = now - modified > RECHECK_INTERVAL;
+            this.files = files;
+            this.checked = now;
+        }
+    }
+
+    private FluffImageIndex() {
+    }
+
+    /**
+     * Finds a file in a directory, ignoring case.
+     *
+     * @param dir  The directory
+     * @param name The file name
+     * @return     The file with its name as it is on disk, or null if there is none
+     */
+    public static @Nullable File find(File dir, String name) {
+        return listingFor(dir).files.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Finds a file, ignoring the case of the file name but not of the directories above it.
+     *
+     * @param file The file to find
+     * @return     The file with its name as it is on disk, or null if there is none
+     */
+    public static @Nullable File find(File file) {
+        final File absolute = file.getAbsoluteFile();
+        final File dir = absolute.getParentFile();
+        return (null == dir) ? null : find(dir, absolute.getName());
+    }
+
+    /**
+     * Forgets every directory listing, so the next lookup in each lists it again.
+     */
+    public static void clear() {
+        listings.clear();
+    }
+
+    private static Listing listingFor(File dir) {
+        final File key = dir.getAbsoluteFile();
+        final long now = System.currentTimeMillis();
+        Listing listing = listings.get(key);
+        if ((null != listing) && (now - listing.checked < RECHECK_INTERVAL)) {
+            return listing;
+        }
+        final long modified = key.lastModified();
+        if ((null != listing) && listing.settled && (listing.modified == modified)) {
+            listing.checked = now;
+            return listing;
+        }
+        listing = new Listing(modified, now, list(key));
+        listings.put(key, listing);
+        return listing;
+    }
+
+    private static Map<String, File> list(File dir) {
+        // Only the names are read; checking which entries are files would be one more call each
+        final String[] names = dir.list();
+        if ((null == names) || (names.length == 0)) {
+            return Collections.emptyMap();
+        }
+        // Sorted so that the same file is chosen each time if two names differ only by case
+        Arrays.sort(names);
+        final Map<String, File> byName = new HashMap<>();
+        for (String name : names) {
+            byName.putIfAbsent(name.toLowerCase(Locale.ROOT), new File(dir, name));
+        }
+        return byName;
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import megamek.common.annotations.Nullable;
+import megamek.common.logging.LogLevel;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Provides fluff images scaled down to the sizes they are printed at, so that the full-size image
+ * only has to be decoded once. Each scaled image is stored under {@link #CACHE_DIR}, named for a
+ * hash of the image file's contents and the size, so an edited image gets new thumbnails and an
+ * image copied to another name shares them. Opaque images are stored as JPEG and those with
+ * transparency as PNG. An image that is already small enough is used as it is. Recently used
+ * thumbnails are also kept in memory for as long as memory allows.
+ */
+public class FluffThumbnails {
+
+    public static final String CACHE_DIR = CConfig.CONFIG_DIR + "/thumbnails"; //$NON-NLS-1$
+
+    /**
+     * The sizes thumbnails are made in. An image smaller than a size is kept at its own size.
+     */
+    public enum Size {
+        /** For record sheets, enough for a fluff image box several inches across at 300 DPI */
+        PRINT(1200);
+
+        /** The largest width or height of the thumbnail, in pixels */
+        public final int maxDimension;
+
+        Size(int maxDimension) {
+            this.maxDimension = maxDimension;
+        }
+    }
+
+    /** The content hash of an image file, with the size and time it was computed for */
+    private static class FileHash {
+        final long length;
+        final long modified;
+        final String hash;
+
+        FileHash(long length, long modified, String hash) {
+            this.length = length;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+
+    private static FluffThumbnails instance;
+
+    private final Path dir;
+    private final Map<File, FileHash> hashes = new ConcurrentHashMap<>();
+    private final Map<String, SoftReference<BufferedImage>> images = new ConcurrentHashMap<>();
+    private final ExecutorService loader;
+
+    private FluffThumbnails(Path dir) {
+        this.dir = dir;
+        final AtomicInteger count = new AtomicInteger();
+        loader = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), r -> {
+            final Thread t = new Thread(r, "Thumbnail Loader " + count.incrementAndGet()); //$NON-NLS-1$
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    public static synchronized FluffThumbnails getInstance() {
+        if (null == instance) {
+            instance = new FluffThumbnails(Paths.get(CACHE_DIR));
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a thumbnail, making it if necessary. This may be called on any thread. Making a
+     * thumbnail decodes the full image, so {@link #prefetch(File)} should be called when the
+     * image is chosen.
+     *
+     * @param source The full-size image file
+     * @param size   The thumbnail size
+     * @return       The thumbnail, or null if the image cannot be read
+     */
+    public @Nullable BufferedImage getImage(File source, Size size) {
+        final String key = key(source, size);
+        if (null == key) {
+            return null;
+        }
+        final SoftReference<BufferedImage> ref = images.get(key);
+        BufferedImage image = (null == ref) ? null : ref.get();
+        if (null != image) {
+            return image;
+        }
+        images.remove(key);
+        final File file = thumbnailFile(source, size, key);
+        if (null == file) {
+            return null;
+        }
+        try {
+            image = ImageIO.read(file);
+        } catch (IOException ex) {
+            MegaMekLab.getLogger().error(FluffThumbnails.class, "getImage(File,Size)", ex); //$NON-NLS-1$
+        }
+        if (null != image) {
+            images.put(key, new SoftReference<>(image));
+        }
+        return image;
+    }
+
+    /**
+     * Makes the thumbnails of an image in the background, so they are ready when the image is
+     * first printed.
+     *
+     * @param source The full-size image file
+     */
+    public void prefetch(File source) {
+        for (Size size : Size.values()) {
+            loader.execute(() -> getThumbnailFile(source, size));
+        }
+    }
+
+    /**
+     * Gets the file a thumbnail is stored in, making it if necessary. This is the source file
+     * itself if it does not need to be scaled.
+     *
+     * @param source The full-size image file
+     * @param size   The thumbnail size
+     * @return       The thumbnail file, or null if the image cannot be read
+     */
+    public @Nullable File getThumbnailFile(File source, Size size) {
+        final String key = key(source, size);
+        return (null == key) ? null : thumbnailFile(source, size, key);
+    }
+
+    private @Nullable File thumbnailFile(File source, Size size, String key) {
+        final Path png = dir.resolve(key + ".png"); //$NON-NLS-1$
+        final Path jpeg = dir.resolve(key + ".jpg"); //$NON-NLS-1$
+        if (Files.exists(jpeg)) {
+            return jpeg.toFile();
+        } else if (Files.exists(png)) {
+            return png.toFile();
+        } else if (fitsAsIs(source, size)) {
+            return source;
+        }
+        Path temp = null;
+        try {
+            final BufferedImage full = ImageIO.read(source);
+            if (null == full) {
+                MegaMekLab.getLogger().log(FluffThumbnails.class, "thumbnailFile()", LogLevel.WARNING, //$NON-NLS-1$
+                        "Unsupported image format: " + source); //$NON-NLS-1$
+                return null;
+            }
+            final boolean opaque = !full.getColorModel().hasAlpha();
+            final BufferedImage thumbnail = scale(full, size.maxDimension, opaque);
+            final Path target = opaque ? jpeg : png;
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, "thumb", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+            if (!ImageIO.write(thumbnail, opaque ? "jpg" : "png", temp.toFile())) { //$NON-NLS-1$ //$NON-NLS-2$
+                throw new IOException("No image writer for " + target); //$NON-NLS-1$
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            images.put(key, new SoftReference<>(thumbnail));
+            return target.toFile();
+        } catch (IOException ex) {
+            MegaMekLab.getLogger().error(FluffThumbnails.class, "thumbnailFile()", ex); //$NON-NLS-1$
+            return null;
+        } finally {
+            if (null != temp) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether an image can be used without a thumbnail: it must be in a format that
+     * record sheets can embed and no larger than the size. Only the image header is read.
+     */
+    private static boolean fitsAsIs(File source, Size size) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            if (null == in) {
+                return false;
+            }
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return false;
+            }
+            final ImageReader reader = readers.next();
+            try {
+                final String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (!format.equals("png") && !format.equals("jpeg") && !format.equals("gif")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    return false;
+                }
+                reader.setInput(in, true, true);
+                return Math.max(reader.getWidth(0), reader.getHeight(0)) <= size.maxDimension;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Scales an image so that neither side is larger than the given size, halving it in steps so
+     * that bilinear filtering gives a smooth result.
+     */
+    private static BufferedImage scale(BufferedImage source, int maxDimension, boolean opaque) {
+        final double scale = Math.min(1.0,
+                maxDimension / (double) Math.max(source.getWidth(), source.getHeight()));
+        final int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        // An image that is small enough is still converted if its type cannot be written as is
+        if ((scale >= 1.0) && (source.getType() == type)) {
+            return source;
+        }
+        final int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        final int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            final BufferedImage next = new BufferedImage(width, height, type);
+            final Graphics2D g2d = next.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(current, 0, 0, width, height, null);
+            g2d.dispose();
+            current = next;
+        } while ((width != targetWidth) || (height != targetHeight));
+        return current;
+    }
+
+    /**
+     * @return The name of the thumbnail for a file, or null if the file cannot be read
+     */
+    private @Nullable String key(File source, Size size) {
+        final File file = source.getAbsoluteFile();
+        final long length = file.length();
+        final long modified = file.lastModified();
+        FileHash fileHash = hashes.get(file);
+        if ((null == fileHash) || (fileHash.length != length) || (fileHash.modified != modified)) {
+            try {
+                fileHash = new FileHash(length, modified, hash(file));
+            } catch (IOException | NoSuchAlgorithmException ex) {
+                MegaMekLab.getLogger().log(FluffThumbnails.class, "key()", LogLevel.WARNING, //$NON-NLS-1$
+                        "Unable to read image " + file + ": " + ex); //$NON-NLS-1$ //$NON-NLS-2$
+                return null;
+            }
+            hashes.put(file, fileHash);
+        }
+        return fileHash.hash + "-" + size.name().toLowerCase(Locale.ROOT); //$NON-NLS-1$
+    }
+
+    private static String hash(File file) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest md = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                md.update(buffer, 0, read);
+            }
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : md.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
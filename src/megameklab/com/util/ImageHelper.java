@@ -216,39 +216,36 @@ public class ImageHelper {
      * @return     A file to use for the fluff image, or null if no file is found.
      */
     public static File getFluffFile(Entity unit, String dir) {
-        String path = new File(fluffPath).getAbsolutePath();
+        File path = new File(fluffPath).getAbsoluteFile();
         File f = null;
         
         if (unit.getFluff().getMMLImagePath().length() > 0) {
-            f = new File(unit.getFluff().getMMLImagePath());
-            if (f.exists()) {
+            f = FluffImageIndex.find(new File(unit.getFluff().getMMLImagePath()));
+            if (null != f) {
                 return f;
             }
-            f = new File(path, unit.getFluff().getMMLImagePath());
-            if (f.exists()) {
+            f = FluffImageIndex.find(new File(path, unit.getFluff().getMMLImagePath()));
+            if (null != f) {
                 return f;
             }
         }
 
-        path = new File(path, dir).getAbsolutePath();
-        final String [] EXTENSIONS = { ".png", ".PNG", ".jpg", ".JPG", ".jpeg", ".JPEG", ".gif", ".GIF" };
+        path = new File(path, dir);
+        // Names are matched ignoring case
+        final String [] EXTENSIONS = { ".png", ".jpg", ".jpeg", ".gif" };
         for (String ext : EXTENSIONS) {
-            f = new File(path, unit.getShortNameRaw() + ext);
-            if (f.exists()) {
+            f = FluffImageIndex.find(path, unit.getShortNameRaw() + ext);
+            if (null != f) {
                 return f;
             }
         }
         for (String ext : EXTENSIONS) {
-            f = new File(path, unit.getChassis() + ext);
-            if (f.exists()) {
+            f = FluffImageIndex.find(path, unit.getChassis() + ext);
+            if (null != f) {
                 return f;
             }
         }
-        f = new File(path, "hud.png");
-        if (f.exists()) {
-            return f;
-        }
-        return null;
+        return FluffImageIndex.find(path, "hud.png");
     }
 
     public static Image getFluffImage(String image) {
@@ -257,20 +254,14 @@ public class ImageHelper {
             return null;
         }
 
-        Image fluff = null;
-
-        String path = new File(fluffPath).getAbsolutePath()
-                + File.separatorChar + image;
-
-        if (!(new File(path).exists())) {
-
-            path = new File(image).getAbsolutePath();
-            if (!(new File(path).exists())) {
+        File f = FluffImageIndex.find(new File(fluffPath, image));
+        if (null == f) {
+            f = FluffImageIndex.find(new File(image));
+            if (null == f) {
                 return null;
             }
         }
-        fluff = new ImageIcon(path).getImage();
-        return fluff;
+        return loadFluffImage(f);
     }
 
     public static Image getFluffImage(Entity unit, String dir) {
@@ -294,87 +285,53 @@ public class ImageHelper {
         }
 
         if (fluff == null) {
-            fluff = new ImageIcon(path + "hud.png").getImage();
+            File hud = FluffImageIndex.find(new File(path), "hud.png");
+            fluff = (null == hud) ? new ImageIcon(path + "hud.png").getImage() : loadFluffImage(hud);
         }
         return fluff;
     }
 
     public static Image getFluffPNG(Entity unit, String path) {
-        Image fluff = null;
-
-        String fluffFile = path + unit.getChassis() + " " + unit.getModel()
-                + ".png";
-        if (new File(fluffFile.toLowerCase()).exists()) {
-            fluff = new ImageIcon(fluffFile).getImage();
-        }
-
-        if (fluff == null) {
-            fluffFile = path + unit.getModel() + ".png";
-            if (new File(fluffFile.toLowerCase()).exists()) {
-                fluff = new ImageIcon(fluffFile).getImage();
-            }
-        }
-
-        if (fluff == null) {
-            fluffFile = path + unit.getChassis() + ".png";
-            if (new File(fluffFile.toLowerCase()).exists()) {
-                fluff = new ImageIcon(fluffFile).getImage();
-            }
-        }
-
-        return fluff;
+        return getFluffImage(unit, path, ".png");
     }
 
     public static Image getFluffJPG(Entity unit, String path) {
-        Image fluff = null;
-
-        String fluffFile = path + unit.getChassis() + " " + unit.getModel()
-                + ".jpg";
-        if (new File(fluffFile.toLowerCase()).exists()) {
-            fluff = new ImageIcon(fluffFile).getImage();
-        }
-
-        if (fluff == null) {
-            fluffFile = path + unit.getModel() + ".jpg";
-            if (new File(fluffFile.toLowerCase()).exists()) {
-                fluff = new ImageIcon(fluffFile).getImage();
-            }
-        }
-
-        if (fluff == null) {
-            fluffFile = path + unit.getChassis() + ".jpg";
-            if (new File(fluffFile.toLowerCase()).exists()) {
-                fluff = new ImageIcon(fluffFile).getImage();
-            }
-        }
-
-        return fluff;
+        return getFluffImage(unit, path, ".jpg");
     }
 
     public static Image getFluffGIF(Entity unit, String path) {
-        Image fluff = null;
-
-        String fluffFile = path + unit.getChassis() + " " + unit.getModel()
-                + ".gif";
-        if (new File(fluffFile.toLowerCase()).exists()) {
-            fluff = new ImageIcon(fluffFile).getImage();
-        }
-
-        if (fluff == null) {
-            fluffFile = path + unit.getModel() + ".gif";
-            if (new File(fluffFile.toLowerCase()).exists()) {
-                fluff = new ImageIcon(fluffFile).getImage();
-            }
-        }
+        return getFluffImage(unit, path, ".gif");
+    }
 
-        if (fluff == null) {
-            fluffFile = path + unit.getChassis() + ".gif";
-            if (new File(fluffFile.toLowerCase()).exists()) {
-                fluff = new ImageIcon(fluffFile).getImage();
+    /**
+     * Looks for an image named for the unit's chassis and model, its model, or its chassis, in
+     * that order, ignoring case.
+     *
+     * @param unit The unit
+     * @param path The directory to look in
+     * @param ext  The image file extension
+     * @return     The image, or null if none of the names are found
+     */
+    private static Image getFluffImage(Entity unit, String path, String ext) {
+        final File dir = new File(path);
+        final String[] names = { unit.getChassis() + " " + unit.getModel(), unit.getModel(),
+                unit.getChassis() };
+        for (String name : names) {
+            File f = FluffImageIndex.find(dir, name + ext);
+            if (null != f) {
+                return loadFluffImage(f);
             }
         }
+        return null;
+    }
 
-        return fluff;
+    /**
+     * Loads a fluff image at the size used for printing, from the thumbnail cache if it has
+     * already been scaled.
+     */
+    private static Image loadFluffImage(File f) {
+        Image image = FluffThumbnails.getInstance().getImage(f, FluffThumbnails.Size.PRINT);
+        return (null != image) ? image : new ImageIcon(f.getPath()).getImage();
     }
 
     public static void printMechWeaponsNEquipment(Mech mech, Graphics2D g2d) {
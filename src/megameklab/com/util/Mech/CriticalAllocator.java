@@ -0,0 +1,533 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util.Mech;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import megamek.common.Entity;
+import megamek.common.LandAirMech;
+import megamek.common.LocationFullException;
+import megamek.common.Mech;
+import megamek.common.MiscType;
+import megamek.common.Mounted;
+import megameklab.com.util.UnitUtil;
+
+/**
+ * Places unallocated equipment in a mech's critical slots. The search tries to place as many
+ * slots as possible, then to put explosive equipment in locations protected by CASE, then to
+ * avoid splitting equipment between locations. Larger items are placed first, so the first
+ * layout found is a first-fit-decreasing packing; the search then backtracks to improve on it
+ * until it finds an optimal layout or runs out of time.
+ *
+ * The constructor reads everything the search needs from the unit, so {@link #search(long)}
+ * does not touch the unit and may be run on a background thread. The constructor and
+ * {@link #apply(Plan)} must be called on the thread that owns the unit.
+ */
+public class CriticalAllocator {
+
+    /** The default time allowed for the search, in milliseconds */
+    public static final long DEFAULT_TIME_BUDGET = 2000;
+
+    /** How many search nodes to visit between checks of the clock */
+    private static final int CLOCK_INTERVAL = 256;
+
+    /** The pairs of locations that equipment may be split between, primary location first */
+    private static final int[][] SPLIT_PAIRS = {
+        { Mech.LOC_RT, Mech.LOC_CT }, { Mech.LOC_RT, Mech.LOC_RARM }, { Mech.LOC_RT, Mech.LOC_RLEG },
+        { Mech.LOC_LT, Mech.LOC_CT }, { Mech.LOC_LT, Mech.LOC_LARM }, { Mech.LOC_LT, Mech.LOC_LLEG }
+    };
+
+    private final Mech mech;
+    private final List<Item> items = new ArrayList<>();
+    private final boolean[][] initialFree;
+    private final boolean[] initialCase;
+
+    /**
+     * @param mech   The mech to allocate equipment on
+     * @param mounts The unallocated equipment to place
+     */
+    public CriticalAllocator(Mech mech, Collection<Mounted> mounts) {
+        this.mech = mech;
+        final int locations = mech.locations();
+        initialFree = new boolean[locations][];
+        initialCase = new boolean[locations];
+        for (int loc = 0; loc < locations; loc++) {
+            initialFree[loc] = new boolean[mech.getNumberOfCriticals(loc)];
+            for (int slot = 0; slot < initialFree[loc].length; slot++) {
+                initialFree[loc][slot] = (null == mech.getCritical(loc, slot));
+            }
+            initialCase[loc] = mech.locationHasCase(loc) || mech.hasCASEII(loc);
+        }
+        for (Mounted m : mounts) {
+            if ((m.getLocation() != Entity.LOC_NONE)
+                    || UnitUtil.isFixedLocationSpreadEquipment(m.getType())) {
+                continue;
+            }
+            final int size = UnitUtil.getCritsUsed(mech, m.getType());
+            if (size > 0) {
+                items.add(new Item(mech, m, size));
+            }
+        }
+        // CASE first so explosive equipment can take advantage of it, then largest first.
+        items.sort(Comparator.comparing((Item i) -> !i.isCase)
+                .thenComparing(Comparator.comparingInt((Item i) -> i.size).reversed())
+                .thenComparing(i -> i.mount.getType().getInternalName()));
+    }
+
+    /**
+     * @return The mech this allocator was created for
+     */
+    public Mech getMech() {
+        return mech;
+    }
+
+    /**
+     * Searches for the best layout. This does not read or change the unit.
+     *
+     * @param timeBudget The maximum time to search, in milliseconds
+     * @return           The best layout found
+     */
+    public Plan search(long timeBudget) {
+        Search search = new Search(System.nanoTime() + timeBudget * 1000000L);
+        search.run();
+        List<Placement> placements = new ArrayList<>();
+        for (Placement p : search.best) {
+            if (null != p) {
+                placements.add(p);
+            }
+        }
+        return new Plan(placements, items.size() - placements.size(), !search.stopped);
+    }
+
+    /**
+     * Places equipment on the unit according to a layout. Any placement whose slots are no
+     * longer free, or whose equipment has been placed, removed, or resized in the meantime, is
+     * skipped.
+     *
+     * @param plan The layout found by {@link #search(long)}
+     * @return     The number of pieces of equipment placed
+     */
+    public int apply(Plan plan) {
+        int placed = 0;
+        for (Placement p : plan.getPlacements()) {
+            if (!mech.getEquipment().contains(p.mount)
+                    || (UnitUtil.getCritsUsed(mech, p.mount.getType()) != p.slots + p.secondSlots)
+                    || (p.mount.getLocation() != Entity.LOC_NONE)
+                    || !isFree(p.location, p.slot, p.slots)
+                    || ((p.secondLocation != Entity.LOC_NONE)
+                            && !isFree(p.secondLocation, p.secondSlot, p.secondSlots))) {
+                continue;
+            }
+            try {
+                addSlots(p.mount, p.location, p.slot, p.slots);
+                if (p.secondLocation != Entity.LOC_NONE) {
+                    addSlots(p.mount, p.secondLocation, p.secondSlot, p.secondSlots);
+                }
+                UnitUtil.changeMountStatus(mech, p.mount, p.location, p.secondLocation, false);
+                placed++;
+            } catch (LocationFullException ex) {
+                UnitUtil.removeCriticals(mech, p.mount);
+                UnitUtil.changeMountStatus(mech, p.mount, Entity.LOC_NONE, Entity.LOC_NONE, false);
+            }
+        }
+        return placed;
+    }
+
+    private boolean isFree(int location, int slot, int slots) {
+        for (int s = slot; s < slot + slots; s++) {
+            if ((s >= mech.getNumberOfCriticals(location)) || (null != mech.getCritical(location, s))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addSlots(Mounted mount, int location, int slot, int slots)
+            throws LocationFullException {
+        if (mount.getType().isSpreadable() || mount.isSplitable()) {
+            // Added one slot at a time
+            for (int s = slot; s < slot + slots; s++) {
+                UnitUtil.addMounted(mech, mount, location, false, s);
+            }
+        } else {
+            UnitUtil.addMounted(mech, mount, location, false, slot);
+        }
+    }
+
+    /**
+     * The depth-first search state. Only the best layout found so far is kept.
+     */
+    private class Search {
+        private final long deadline;
+        private final boolean[][] free;
+        private final boolean[] hasCase;
+        private final Placement[] current;
+        private final int[] remainingSlots;
+        private final int totalExplosive;
+        private Placement[] best;
+        private long bestScore = Long.MIN_VALUE;
+        private int bestPlaced = 0;
+        private long maxScore;
+        private int nodes = 0;
+        private boolean stopped = false;
+
+        private int placedSlots = 0;
+        private int protectedSlots = 0;
+        private int splits = 0;
+
+        Search(long deadline) {
+            this.deadline = deadline;
+            free = new boolean[initialFree.length][];
+            for (int loc = 0; loc < free.length; loc++) {
+                free[loc] = initialFree[loc].clone();
+            }
+            hasCase = initialCase.clone();
+            current = new Placement[items.size()];
+            best = current.clone();
+            remainingSlots = new int[items.size() + 1];
+            int explosive = 0;
+            for (int i = items.size() - 1; i >= 0; i--) {
+                remainingSlots[i] = remainingSlots[i + 1] + items.get(i).size;
+                if (items.get(i).explosive) {
+                    explosive += items.get(i).size;
+                }
+            }
+            totalExplosive = explosive;
+            maxScore = score(remainingSlots[0], totalExplosive, 0);
+        }
+
+        void run() {
+            try {
+                place(0);
+            } catch (StopSearch ex) {
+                // Keep the best layout found so far
+            }
+        }
+
+        private long score(int placed, int protectedExplosive, int splitCount) {
+            return ((long) placed * (totalExplosive + 1) + protectedExplosive) * (items.size() + 1)
+                    - splitCount;
+        }
+
+        private void place(int index) {
+            if ((++nodes % CLOCK_INTERVAL == 0)
+                    && ((System.nanoTime() > deadline) || Thread.currentThread().isInterrupted())) {
+                stopped = true;
+                throw new StopSearch();
+            }
+            if (index == items.size()) {
+                long s = score(placedSlots, protectedSlots, splits);
+                if (s > bestScore) {
+                    bestScore = s;
+                    bestPlaced = placedSlots;
+                    best = current.clone();
+                    if (bestScore == maxScore) {
+                        // Cannot do better than this
+                        throw new StopSearch();
+                    }
+                }
+                return;
+            }
+            // Even placing everything that is left would not place more slots than the best layout
+            if (placedSlots + remainingSlots[index] < bestPlaced) {
+                return;
+            }
+            final Item item = items.get(index);
+            final int minLocation = symmetricMinimum(index);
+            for (int loc : item.locationOrder(hasCase)) {
+                if (loc < minLocation) {
+                    continue;
+                }
+                int slot = bestFit(loc, item.size);
+                if (slot >= 0) {
+                    Placement p = new Placement(item.mount, loc, slot, item.size,
+                            Entity.LOC_NONE, -1, 0);
+                    push(index, item, p);
+                    place(index + 1);
+                    pop(index, item, p);
+                }
+            }
+            if (item.splittable) {
+                for (int[] pair : SPLIT_PAIRS) {
+                    if ((pair[0] >= free.length) || (pair[1] >= free.length)
+                            || !item.valid[pair[0]] || !item.valid[pair[1]]) {
+                        continue;
+                    }
+                    int primaryStart = largestRunStart(pair[0]);
+                    if (primaryStart < 0) {
+                        continue;
+                    }
+                    int primarySlots = Math.min(runLength(pair[0], primaryStart), item.size - 1);
+                    int secondarySlots = item.size - primarySlots;
+                    int secondStart = bestFit(pair[1], secondarySlots);
+                    if (secondStart >= 0) {
+                        Placement p = new Placement(item.mount, pair[0], primaryStart, primarySlots,
+                                pair[1], secondStart, secondarySlots);
+                        push(index, item, p);
+                        place(index + 1);
+                        pop(index, item, p);
+                    }
+                }
+            }
+            // Leave it unplaced
+            place(index + 1);
+        }
+
+        /**
+         * Interchangeable items are placed in non-decreasing location order, so the same
+         * layout is not searched once for each ordering of identical equipment.
+         */
+        private int symmetricMinimum(int index) {
+            if ((index == 0) || items.get(index).splittable
+                    || !items.get(index).isInterchangeable(items.get(index - 1))) {
+                return 0;
+            }
+            final Placement previous = current[index - 1];
+            if (null == previous) {
+                // The previous one was left unplaced, so this one must be too
+                return Integer.MAX_VALUE;
+            }
+            return previous.location;
+        }
+
+        private void push(int index, Item item, Placement p) {
+            current[index] = p;
+            mark(p.location, p.slot, p.slots, false);
+            placedSlots += item.size;
+            if (p.secondLocation != Entity.LOC_NONE) {
+                mark(p.secondLocation, p.secondSlot, p.secondSlots, false);
+                splits++;
+            } else if (item.explosive && hasCase[p.location]) {
+                protectedSlots += item.size;
+            }
+            if (item.isCase) {
+                p.addedCase = !hasCase[p.location];
+                hasCase[p.location] = true;
+            }
+        }
+
+        private void pop(int index, Item item, Placement p) {
+            current[index] = null;
+            mark(p.location, p.slot, p.slots, true);
+            placedSlots -= item.size;
+            if (p.secondLocation != Entity.LOC_NONE) {
+                mark(p.secondLocation, p.secondSlot, p.secondSlots, true);
+                splits--;
+            } else if (item.explosive && hasCase[p.location]) {
+                protectedSlots -= item.size;
+            }
+            if (item.isCase && p.addedCase) {
+                hasCase[p.location] = false;
+            }
+        }
+
+        private void mark(int location, int slot, int slots, boolean value) {
+            for (int s = slot; s < slot + slots; s++) {
+                free[location][s] = value;
+            }
+        }
+
+        private int runLength(int location, int start) {
+            int length = 0;
+            while ((start + length < free[location].length) && free[location][start + length]) {
+                length++;
+            }
+            return length;
+        }
+
+        /**
+         * @return The start of the shortest run of free slots that can hold the given number of
+         *         slots, or -1 if there is none
+         */
+        private int bestFit(int location, int slots) {
+            int bestStart = -1;
+            int bestLength = Integer.MAX_VALUE;
+            int slot = 0;
+            while (slot < free[location].length) {
+                if (free[location][slot]) {
+                    int length = runLength(location, slot);
+                    if ((length >= slots) && (length < bestLength)) {
+                        bestStart = slot;
+                        bestLength = length;
+                    }
+                    slot += length;
+                } else {
+                    slot++;
+                }
+            }
+            return bestStart;
+        }
+
+        private int largestRunStart(int location) {
+            int bestStart = -1;
+            int bestLength = 0;
+            int slot = 0;
+            while (slot < free[location].length) {
+                if (free[location][slot]) {
+                    int length = runLength(location, slot);
+                    if (length > bestLength) {
+                        bestStart = slot;
+                        bestLength = length;
+                    }
+                    slot += length;
+                } else {
+                    slot++;
+                }
+            }
+            return bestStart;
+        }
+    }
+
+    /**
+     * Thrown to unwind the search when it is out of time or cannot improve.
+     */
+    private static class StopSearch extends RuntimeException {
+        private static final long serialVersionUID = -2412446925452811297L;
+    }
+
+    /**
+     * What the search needs to know about a piece of equipment, read from the unit up front.
+     */
+    private static class Item {
+        final Mounted mount;
+        final int size;
+        final boolean[] valid;
+        final boolean splittable;
+        final boolean explosive;
+        final boolean isCase;
+
+        Item(Mech mech, Mounted mount, int size) {
+            this.mount = mount;
+            this.size = size;
+            valid = new boolean[mech.locations()];
+            for (int loc = 0; loc < valid.length; loc++) {
+                valid[loc] = UnitUtil.isValidLocation(mech, mount.getType(), loc);
+            }
+            // Same rules as the build view's menu: targeting computers and LAM equipment
+            // are never split between locations.
+            splittable = (mount.getType().isSpreadable() || mount.isSplitable()) && (size > 1)
+                    && !((mount.getType() instanceof MiscType)
+                            && mount.getType().hasFlag(MiscType.F_TARGCOMP))
+                    && !(mech instanceof LandAirMech);
+            explosive = mount.getType().isExplosive(mount);
+            isCase = (mount.getType() instanceof MiscType)
+                    && (mount.getType().hasFlag(MiscType.F_CASE)
+                            || mount.getType().hasFlag(MiscType.F_CASEII));
+        }
+
+        /**
+         * @return The valid locations, with locations protected by CASE first for explosive
+         *         equipment
+         */
+        List<Integer> locationOrder(boolean[] hasCase) {
+            List<Integer> order = new ArrayList<>();
+            for (int loc = 0; loc < valid.length; loc++) {
+                if (valid[loc]) {
+                    order.add(loc);
+                }
+            }
+            if (explosive) {
+                order.sort(Comparator.comparing((Integer loc) -> !hasCase[loc]));
+            }
+            return order;
+        }
+
+        boolean isInterchangeable(Item other) {
+            return (mount.getType() == other.mount.getType()) && (size == other.size);
+        }
+    }
+
+    /**
+     * The slots chosen for a single piece of equipment.
+     */
+    public static class Placement {
+        private final Mounted mount;
+        private final int location;
+        private final int slot;
+        private final int slots;
+        private final int secondLocation;
+        private final int secondSlot;
+        private final int secondSlots;
+        /** Set during the search if placing this CASE protected a location that was not already */
+        private boolean addedCase = false;
+
+        private Placement(Mounted mount, int location, int slot, int slots,
+                int secondLocation, int secondSlot, int secondSlots) {
+            this.mount = mount;
+            this.location = location;
+            this.slot = slot;
+            this.slots = slots;
+            this.secondLocation = secondLocation;
+            this.secondSlot = secondSlot;
+            this.secondSlots = secondSlots;
+        }
+
+        public Mounted getMount() {
+            return mount;
+        }
+
+        public int getLocation() {
+            return location;
+        }
+
+        /**
+         * @return The location holding the rest of the equipment if it is split, otherwise
+         *         {@link Entity#LOC_NONE}
+         */
+        public int getSecondLocation() {
+            return secondLocation;
+        }
+    }
+
+    /**
+     * The result of a search.
+     */
+    public static class Plan {
+        private final List<Placement> placements;
+        private final int unplaced;
+        private final boolean optimal;
+
+        private Plan(List<Placement> placements, int unplaced, boolean optimal) {
+            this.placements = Collections.unmodifiableList(placements);
+            this.unplaced = unplaced;
+            this.optimal = optimal;
+        }
+
+        /**
+         * @return The equipment that was placed and where
+         */
+        public List<Placement> getPlacements() {
+            return placements;
+        }
+
+        /**
+         * @return The number of pieces of equipment that did not fit
+         */
+        public int getUnplacedCount() {
+            return unplaced;
+        }
+
+        /**
+         * @return Whether the search finished within its time budget, in which case no better
+         *         layout exists
+         */
+        public boolean isOptimal() {
+            return optimal;
+        }
+    }
+}
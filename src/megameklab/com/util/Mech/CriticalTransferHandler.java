@@ -47,6 +47,7 @@ import megamek.common.verifier.TestAero;
 import megamek.common.verifier.TestBattleArmor;
 import megamek.common.weapons.infantry.InfantryWeapon;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.CriticalSlotIndex;
 import megameklab.com.util.CriticalTableModel;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -114,6 +115,7 @@ public class CriticalTransferHandler extends TransferHandler {
                 for (int i = startSlot; i < (startSlot+UnitUtil.getCritsUsed(getUnit(), mounted.getType())); i++) {
                     getUnit().setCritical(loc, i, null);
                 }
+                CriticalSlotIndex.update(getUnit(), loc);
             }
             Mounted linkedBy = mounted.getLinkedBy();
             if (linkedBy != null && !(getUnit() instanceof BattleArmor)) {
@@ -263,6 +265,8 @@ public class CriticalTransferHandler extends TransferHandler {
                     critsUsed = 0;
                 }
             }
+            CriticalSlotIndex.update(mech, location);
+            CriticalSlotIndex.update(mech, nextLocation);
             int secondary = Entity.LOC_NONE;
             if ((primaryLocSpace <= 0) && (slotNumber > 0)) {
                 secondary = nextLocation;
@@ -303,6 +307,7 @@ public class CriticalTransferHandler extends TransferHandler {
                         return false;
                     }
                     mech.addEquipment(eq, location, false, slotNumber);
+                    CriticalSlotIndex.update(mech, location);
                     if (facing.equals("Front-Left")) {
                         eq.setFacing(5);
                     } else if (facing.equals("Front-Right")) {
@@ -317,6 +322,7 @@ public class CriticalTransferHandler extends TransferHandler {
                     }
             } else {
                 mech.addEquipment(eq, location, false, slotNumber);
+                CriticalSlotIndex.update(mech, location);
             }
             changeMountStatus(eq, location, false);
         } else {
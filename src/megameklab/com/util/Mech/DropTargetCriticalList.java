@@ -26,6 +26,7 @@ import java.util.Vector;
 import javax.swing.JList;
 import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu;
+import javax.swing.ListModel;
 
 import megamek.common.AmmoType;
 import megamek.common.BattleArmor;
@@ -47,6 +48,7 @@ import megamek.common.weapons.gaussrifles.GaussWeapon;
 import megamek.common.weapons.ppc.PPCWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CritListCellRenderer;
+import megameklab.com.util.CriticalSlotIndex;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
 
@@ -63,6 +65,16 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
     public DropTargetCriticalList(Vector<E> vector, EntitySource eSource,
             RefreshListener refresh, boolean buildView) {
         super(vector);
+        init(eSource, refresh, buildView);
+    }
+
+    public DropTargetCriticalList(ListModel<E> model, EntitySource eSource,
+            RefreshListener refresh, boolean buildView) {
+        super(model);
+        init(eSource, refresh, buildView);
+    }
+
+    private void init(EntitySource eSource, RefreshListener refresh, boolean buildView) {
         setDragEnabled(true);
         this.eSource = eSource;
         this.refresh = refresh;
@@ -642,6 +654,7 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
         }
         getUnit().setCritical(location, 3, new CriticalSlot(
                 CriticalSlot.TYPE_SYSTEM, Mech.ACTUATOR_HAND));
+        CriticalSlotIndex.update(getUnit(), location);
         addArm(location);
     }
 
@@ -675,6 +688,7 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
 
         getUnit().setCritical(location, 2, new CriticalSlot(
                 CriticalSlot.TYPE_SYSTEM, Mech.ACTUATOR_LOWER_ARM));
+        CriticalSlotIndex.update(getUnit(), location);
         if (refresh != null) {
             refresh.refreshAll();
         }
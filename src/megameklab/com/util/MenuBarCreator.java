@@ -51,8 +51,6 @@ import megamek.client.ui.swing.UnitSelectorDialog;
 import megamek.common.Aero;
 import megamek.common.BattleArmor;
 import megamek.common.Entity;
-import megamek.common.FixedWingSupport;
-import megamek.common.GunEmplacement;
 import megamek.common.Infantry;
 import megamek.common.Jumpship;
 import megamek.common.Mech;
@@ -64,6 +62,7 @@ import megamek.common.Tank;
 import megamek.common.loaders.BLKFile;
 import megamek.common.templates.TROView;
 import megameklab.com.MegaMekLab;
+import megameklab.com.ui.MainUIPool;
 import megameklab.com.ui.MegaMekLabMainUI;
 
 public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
@@ -630,7 +629,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         unitFile = f.getSelectedFile();
 
         try {
-            tempEntity = new MechFileParser(unitFile).getEntity();
+            tempEntity = ParsedUnitCache.getInstance().load(unitFile);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(parentFrame, String.format("Warning:Invalid unit, it might load incorrectly!\n%1$s", ex.getMessage()));
         } finally {
@@ -664,7 +663,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         unitFile = f.getSelectedFile();
 
         try {
-            tempEntity = new MechFileParser(unitFile).getEntity();
+            tempEntity = ParsedUnitCache.getInstance().load(unitFile);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(parentFrame, String.format("Warning:Invalid unit, it might load incorrectly!\n%1$s", ex.getMessage()));
         } finally {
@@ -696,7 +695,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         unitFile = f.getSelectedFile();
 
         try {
-            tempEntity = new MechFileParser(unitFile).getEntity();
+            tempEntity = ParsedUnitCache.getInstance().load(unitFile);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(parentFrame, String.format("Warning:Invalid unit, it might load incorrectly!\n%1$s", ex.getMessage()));
         } finally {
@@ -728,7 +727,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         unitFile = f.getSelectedFile();
 
         try {
-            tempEntity = new MechFileParser(unitFile).getEntity();
+            tempEntity = ParsedUnitCache.getInstance().load(unitFile);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(parentFrame, String.format("Warning:Invalid unit, it might load incorrectly!\n%1$s", ex.getMessage()));
         } finally {
@@ -760,7 +759,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         unitFile = f.getSelectedFile();
 
         try {
-            tempEntity = new MechFileParser(unitFile).getEntity();
+            tempEntity = ParsedUnitCache.getInstance().load(unitFile);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(parentFrame, String.format("Warning:Invalid unit, it might load incorrectly!\n%1$s", ex.getMessage()));
         } finally {
@@ -1205,64 +1204,33 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
             return;
         }
 
-        if (UnitUtil.validateUnit(newUnit).trim().length() > 0) {
-            JOptionPane.showMessageDialog(parentFrame, String.format(
-                    "Warning:Invalid unit, it might load incorrectly!\n%1$s",
-                            UnitUtil.validateUnit(newUnit)));
-        }
-
-        if (newUnit.getEntityType() != parentFrame.getEntity().getEntityType()) {
-            MegaMekLabMainUI newUI = null;
-            if (newUnit.hasETypeFlag(Entity.ETYPE_SMALL_CRAFT)) {
-                newUI = new megameklab.com.ui.aerospace.DropshipMainUI(((Aero)newUnit).isPrimitive());
-            } else if (newUnit.hasETypeFlag(Entity.ETYPE_JUMPSHIP)) {
-                newUI = new megameklab.com.ui.aerospace.AdvancedAeroUI(((Aero)newUnit).isPrimitive());
-            } else if (newUnit.hasETypeFlag(Entity.ETYPE_AERO)
-                    && !newUnit.hasETypeFlag(Entity.ETYPE_FIXED_WING_SUPPORT)) {
-                newUI = new megameklab.com.ui.Aero.MainUI(((Aero)newUnit).isPrimitive());
-            } else if (newUnit.hasETypeFlag(Entity.ETYPE_BATTLEARMOR)) {
-                newUI = new megameklab.com.ui.BattleArmor.MainUI();
-            } else if (newUnit.hasETypeFlag(Entity.ETYPE_INFANTRY)) {
-                newUI = new megameklab.com.ui.Infantry.MainUI();
-            } else if (newUnit.hasETypeFlag(Entity.ETYPE_PROTOMECH)) {
-                newUI = new megameklab.com.ui.protomek.ProtomekMainUI();
-            } else if (newUnit.hasETypeFlag(Entity.ETYPE_MECH)) {
-                newUI = new megameklab.com.ui.Mek.MainUI();
-            } else if (newUnit.hasETypeFlag(Entity.ETYPE_TANK)
-                    && !newUnit.hasETypeFlag(Entity.ETYPE_GUN_EMPLACEMENT)) {
-                newUI = new megameklab.com.ui.Vehicle.MainUI();
-            }
-            if (null == newUI) {
-                JOptionPane.showMessageDialog(parentFrame,
-                        "Warning: Could not create new UI, aborting unit load!"
-                        +System.lineSeparator()
-                        +"Probable cause: Unsupported unit type.");
-                return;
-            }
-            parentFrame.dispose();
-            UnitUtil.updateLoadedUnit(newUnit);
-            newUI.setEntity(newUnit);
-            newUI.reloadTabs();
-            newUI.repaint();
-            newUI.refreshAll();
-            return;
-        }
-
-        CConfig.updateSaveFiles("");
-        UnitUtil.updateLoadedUnit(newUnit);
-
+        final String saveFile;
         if (viewer.getChosenMechSummary().getSourceFile().getName().endsWith(".zip")) {
             String fileName = viewer.getChosenMechSummary().getSourceFile().getAbsolutePath();
             fileName = fileName.substring(0, fileName.lastIndexOf(File.separatorChar) + 1);
-            fileName = fileName + viewer.getChosenMechSummary().getName() + ".mtf";
-            CConfig.updateSaveFiles(fileName);
+            saveFile = fileName + viewer.getChosenMechSummary().getName() + ".mtf";
         } else {
-            CConfig.updateSaveFiles(viewer.getChosenMechSummary().getSourceFile().getAbsolutePath());
+            saveFile = viewer.getChosenMechSummary().getSourceFile().getAbsolutePath();
         }
-        parentFrame.setEntity(newUnit);
-        reload();
-        refresh();
-        parentFrame.setVisible(true);
+
+        new UnitLoadTask(parentFrame, newUnit.getShortName(), () -> newUnit, unit -> {
+            if (unit.getEntityType() != parentFrame.getEntity().getEntityType()) {
+                if (!switchUI(unit)) {
+                    JOptionPane.showMessageDialog(parentFrame,
+                            "Warning: Could not create new UI, aborting unit load!"
+                            +System.lineSeparator()
+                            +"Probable cause: Unsupported unit type.");
+                }
+                return;
+            }
+            CConfig.updateSaveFiles("");
+            CConfig.updateSaveFiles(saveFile);
+            parentFrame.setEntity(unit);
+            reload();
+            refresh();
+            parentFrame.setVisible(true);
+            warnIfInvalid(parentFrame);
+        }, this::warnLoadError).start();
     }
 
     private void loadUnitFromFile() {
@@ -1314,67 +1282,80 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         loadUnitFromFile(unitFile);
     }
 
+    /**
+     * Reads a unit file on a background thread and shows the unit when it is ready. The file is
+     * parsed, validated, and has its metrics calculated before the user interface is touched.
+     *
+     * @param unitFile The file to load
+     */
     private void loadUnitFromFile(File unitFile) {
-        try {
-            Entity tempEntity = new MechFileParser(unitFile).getEntity();
-
-
-            if (null == tempEntity) {
-                return;
-            }
-
-            if (UnitUtil.validateUnit(tempEntity).trim().length() > 0) {
-                JOptionPane.showMessageDialog(parentFrame, String.format(
-                        "Warning:Invalid unit, it might load incorrectly!\n%1$s",
-                                UnitUtil.validateUnit(tempEntity)));
-            }
-
-            if (tempEntity.getEntityType() != parentFrame.getEntity().getEntityType()) {
-                MegaMekLabMainUI newUI = null;
-                if (tempEntity.hasETypeFlag(Entity.ETYPE_SMALL_CRAFT)) {
-                    newUI = new megameklab.com.ui.aerospace.DropshipMainUI(((Aero)tempEntity).isPrimitive());
-                } else if (tempEntity.hasETypeFlag(Entity.ETYPE_JUMPSHIP)) {
-                    newUI = new megameklab.com.ui.aerospace.AdvancedAeroUI(((Aero)tempEntity).isPrimitive());
-                } else if ((tempEntity instanceof Aero)
-                        && !(tempEntity instanceof FixedWingSupport)) {
-                    newUI = new megameklab.com.ui.Aero.MainUI(((Aero)tempEntity).isPrimitive());
-                } else if (tempEntity instanceof BattleArmor) {
-                    newUI = new megameklab.com.ui.BattleArmor.MainUI();
-                } else if (tempEntity instanceof Infantry) {
-                    newUI = new megameklab.com.ui.Infantry.MainUI();
-                } else if (tempEntity instanceof Mech) {
-                    newUI = new megameklab.com.ui.Mek.MainUI();
-                } else if (tempEntity instanceof Protomech) {
-                    newUI = new megameklab.com.ui.protomek.ProtomekMainUI();
-                } else if ((tempEntity instanceof Tank)
-                        && !(tempEntity instanceof GunEmplacement)) {
-                    newUI = new megameklab.com.ui.Vehicle.MainUI();
-                }
-                if (null == newUI) {
+        new UnitLoadTask(parentFrame, unitFile.getName(),
+                () -> new MechFileParser(unitFile).getEntity(), unit -> {
+            if (unit.getEntityType() != parentFrame.getEntity().getEntityType()) {
+                if (!switchUI(unit)) {
                     JOptionPane.showMessageDialog(parentFrame,
                             "Warning: Could not create new UI, aborting unit load!");
-                    return;
                 }
-                parentFrame.dispose();
-                UnitUtil.updateLoadedUnit(tempEntity);
-                newUI.setEntity(tempEntity);
-                newUI.reloadTabs();
-                newUI.repaint();
-                newUI.refreshAll();
                 return;
             }
-            parentFrame.setEntity(tempEntity);
-            UnitUtil.updateLoadedUnit(parentFrame.getEntity());
-
+            parentFrame.setEntity(unit);
             CConfig.updateSaveFiles(unitFile.getAbsolutePath());
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(parentFrame, String.format(
-                    "Warning:Invalid unit, it might load incorrectly!\n%1$s",
-                    ex.getMessage()));
+            reload();
+            refresh();
+            parentFrame.setVisible(true);
+            warnIfInvalid(parentFrame);
+        }, this::warnLoadError).start();
+    }
+
+    private void warnLoadError(Throwable ex) {
+        JOptionPane.showMessageDialog(parentFrame, String.format(
+                "Warning:Invalid unit, it might load incorrectly!\n%1$s",
+                ex.getMessage()));
+    }
+
+    /**
+     * Moves a unit of another type into a main window for its type, taking the window from the
+     * {@link MainUIPool} and returning this one to it.
+     *
+     * @param unit The unit to load, which has already been updated by
+     *             {@link UnitUtil#updateLoadedUnit(Entity)}
+     * @return     Whether there is a window for the unit type
+     */
+    private boolean switchUI(Entity unit) {
+        final MainUIPool pool = MainUIPool.getInstance();
+        final MegaMekLabMainUI newUI = pool.acquire(unit);
+        if (null == newUI) {
+            return false;
         }
-        reload();
-        refresh();
-        parentFrame.setVisible(true);
+        newUI.setEntity(unit);
+        if (newUI.getJMenuBar() instanceof MenuBarCreator) {
+            // The unit type menus leave out the current type
+            ((MenuBarCreator) newUI.getJMenuBar()).loadFileMenuOptions();
+        }
+        newUI.reloadTabs();
+        newUI.refreshAll();
+        pool.transferBounds(parentFrame, newUI);
+        newUI.setVisible(true);
+        newUI.repaint();
+        pool.release(parentFrame);
+        warnIfInvalid(newUI);
+        return true;
+    }
+
+    /**
+     * Warns the user if a newly loaded unit does not validate. The check uses the frame's
+     * background validation, so the report is produced off the event dispatch thread and is
+     * shared with the validity indicator rather than being calculated separately.
+     *
+     * @param frame The frame the unit was loaded into
+     */
+    private static void warnIfInvalid(MegaMekLabMainUI frame) {
+        frame.getValidation().whenValidated(report -> {
+            if (report.trim().length() > 0) {
+                JOptionPane.showMessageDialog(frame, String.format(
+                        "Warning:Invalid unit, it might load incorrectly!\n%1$s", report));
+            }
+        });
     }
 
     private void refresh() {
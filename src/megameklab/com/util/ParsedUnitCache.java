@@ -0,0 +1,303 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import megamek.MegaMek;
+import megamek.common.Entity;
+import megamek.common.MechFileParser;
+import megamek.common.annotations.Nullable;
+import megamek.common.loaders.EntityLoadingException;
+import megamek.common.logging.LogLevel;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Keeps a serialized copy of each unit loaded from a file, so that loading the same file again
+ * skips parsing it. Each unit is stored in its own file under {@link #CACHE_DIR}, named for the
+ * path of the unit file. A stored unit is used only if the unit file has the same size and
+ * modification time as when it was stored, and it was stored by the same versions of MegaMek and
+ * MegaMekLab; otherwise the file is parsed again and the stored copy replaced.
+ *
+ * Stored units are read through a memory map, so repeated loads of a large unit are served from
+ * the operating system's page cache.
+ *
+ * The cache is kept to {@link #MAX_ENTRIES} units, and units that have not been loaded for
+ * {@link #MAX_AGE_DAYS} days are removed. The limits are applied on the first store of a session
+ * and after every {@link #PRUNE_INTERVAL} stores, so unit files that have been moved or deleted
+ * do not leave stored copies behind forever.
+ */
+public class ParsedUnitCache {
+
+    public static final String CACHE_DIR = CConfig.CONFIG_DIR + "/unitcache"; //$NON-NLS-1$
+
+    private static final int MAGIC = 0x4D4D4C55; // "MMLU"
+    private static final int FORMAT = 1;
+    private static final String STAMP = MegaMek.VERSION + "/" + MegaMekLab.VERSION; //$NON-NLS-1$
+    private static final String SUFFIX = ".unit"; //$NON-NLS-1$
+
+    /** The most units that are kept */
+    private static final int MAX_ENTRIES = 5000;
+    /** Units not loaded for this many days are removed */
+    private static final long MAX_AGE_DAYS = 90;
+    /** The number of units stored between checks of the limits */
+    private static final int PRUNE_INTERVAL = 200;
+
+    private static ParsedUnitCache instance;
+
+    private final Path dir;
+    private final AtomicInteger writes = new AtomicInteger();
+
+    private ParsedUnitCache(Path dir) {
+        this.dir = dir;
+    }
+
+    public static synchronized ParsedUnitCache getInstance() {
+        if (null == instance) {
+            instance = new ParsedUnitCache(Paths.get(CACHE_DIR));
+        }
+        return instance;
+    }
+
+    /**
+     * Loads a unit from a file, using the stored copy if it is current. This may be called on any
+     * thread. Each call returns a new unit.
+     *
+     * @param file The unit file
+     * @return     The unit
+     * @throws EntityLoadingException If the file has to be parsed and is not a valid unit
+     */
+    public Entity load(File file) throws EntityLoadingException {
+        final String path = file.getAbsolutePath();
+        final long size = file.length();
+        final long modified = file.lastModified();
+        final Path entry = entryFor(path);
+        if (null != entry) {
+            final EntitySnapshot snapshot = read(entry, path, size, modified);
+            if (null != snapshot) {
+                try {
+                    final Entity entity = snapshot.restore();
+                    // Record the use so that pruning removes the least recently loaded units
+                    if (!entry.toFile().setLastModified(System.currentTimeMillis())) {
+                        MegaMekLab.getLogger().log(ParsedUnitCache.class, "load(File)", LogLevel.DEBUG, //$NON-NLS-1$
+                                "Unable to update the time of " + entry); //$NON-NLS-1$
+                    }
+                    return entity;
+                } catch (Exception ex) {
+                    // Most likely a class changed without a version change; parse it again
+                    MegaMekLab.getLogger().log(ParsedUnitCache.class, "load(File)", LogLevel.DEBUG, //$NON-NLS-1$
+                            "Discarding stored copy of " + path + ": " + ex); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+        }
+        final Entity entity = new MechFileParser(file).getEntity();
+        if (null != entry) {
+            final EntitySnapshot snapshot = EntitySnapshot.of(entity);
+            if (null != snapshot) {
+                write(entry, path, size, modified, snapshot);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Removes every stored unit.
+     */
+    public void clear() {
+        final File[] files = dir.toFile().listFiles((d, name) -> name.endsWith(SUFFIX));
+        if (null != files) {
+            for (File f : files) {
+                if (!f.delete()) {
+                    f.deleteOnExit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes stored units that have not been loaded within {@link #MAX_AGE_DAYS}, then the least
+     * recently loaded units until no more than {@link #MAX_ENTRIES} remain. A unit that cannot be
+     * deleted is left for the next time.
+     */
+    private void prune() {
+        final File[] files = dir.toFile().listFiles((d, name) -> name.endsWith(SUFFIX));
+        if (null == files) {
+            return;
+        }
+        final long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+        final long[] modified = new long[files.length];
+        final Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            modified[i] = files[i].lastModified();
+            order[i] = i;
+        }
+        // Newest first, so everything past MAX_ENTRIES is the oldest
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> modified[i]).reversed());
+        int removed = 0;
+        for (int i = 0; i < order.length; i++) {
+            final int index = order[i];
+            if (((i >= MAX_ENTRIES) || (modified[index] < cutoff)) && files[index].delete()) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            MegaMekLab.getLogger().log(ParsedUnitCache.class, "prune()", LogLevel.DEBUG, //$NON-NLS-1$
+                    "Removed " + removed + " stored units"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * @return The file that stores the unit from the given path, or null if the name cannot be
+     *         computed
+     */
+    private @Nullable Path entryFor(String path) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-1") //$NON-NLS-1$
+                    .digest(path.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder(hash.length * 2 + SUFFIX.length());
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return dir.resolve(sb.append(SUFFIX).toString());
+        } catch (NoSuchAlgorithmException ex) {
+            MegaMekLab.getLogger().error(ParsedUnitCache.class, "entryFor(String)", ex); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * @return The stored unit, or null if there is none or it does not match the unit file
+     */
+    private @Nullable EntitySnapshot read(Path entry, String path, long size, long modified) {
+        try (FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer));
+            if ((in.readInt() != MAGIC) || (in.readInt() != FORMAT) || !in.readUTF().equals(STAMP)
+                    || !in.readUTF().equals(path) || (in.readLong() != size)
+                    || (in.readLong() != modified)) {
+                return null;
+            }
+            // A corrupt length must not allocate a huge array or read past the end
+            final int length = in.readInt();
+            if ((length < 0) || (length > buffer.remaining())) {
+                return null;
+            }
+            final byte[] data = new byte[length];
+            buffer.get(data);
+            return EntitySnapshot.ofBytes(data);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (Exception ex) {
+            // A truncated or corrupt entry; it will be replaced
+            MegaMekLab.getLogger().log(ParsedUnitCache.class, "read()", LogLevel.DEBUG, //$NON-NLS-1$
+                    "Unable to read stored copy of " + path + ": " + ex); //$NON-NLS-1$ //$NON-NLS-2$
+            return null;
+        }
+    }
+
+    /**
+     * Stores a unit. The entry is written to a temporary file and moved into place, so a reader
+     * never sees it partly written. Failing to store the unit is not an error; it is parsed again
+     * next time.
+     */
+    private void write(Path entry, String path, long size, long modified, EntitySnapshot snapshot) {
+        if (writes.getAndIncrement() % PRUNE_INTERVAL == 0) {
+            prune();
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, "unit", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+            try (OutputStream os = Files.newOutputStream(temp);
+                    DataOutputStream out = new DataOutputStream(os)) {
+                final byte[] data = snapshot.toByteArray();
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeUTF(STAMP);
+                out.writeUTF(path);
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.writeInt(data.length);
+                out.write(data);
+            }
+            try {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            // On Windows a mapped file cannot be replaced or deleted until the mapping is garbage
+            // collected, as there is no way to unmap it explicitly. Until then the old entry stays,
+            // and since it does not match the edited unit file, that unit is parsed on every load.
+            MegaMekLab.getLogger().log(ParsedUnitCache.class, "write()", LogLevel.DEBUG, //$NON-NLS-1$
+                    "Unable to store " + path + ": " + ex); //$NON-NLS-1$ //$NON-NLS-2$
+        } finally {
+            if (null != temp) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads from a buffer, advancing its position.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.awt.Component;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import megamek.common.Entity;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Loads a unit on a background thread. The unit is read, updated for use in the lab, validated,
+ * and has its status bar metrics calculated before it is handed to the user interface, so that
+ * the only work left on the event dispatch thread is showing it. A progress monitor appears if
+ * the load takes more than a moment, and cancelling it discards the unit.
+ *
+ * The validation report and metrics are kept by {@link UnitValidation} and {@link UnitMetrics},
+ * which use them when the unit is shown as long as it has not been changed in the meantime.
+ */
+public class UnitLoadTask extends SwingWorker<Entity, String> {
+
+    /** How often to check whether the user has cancelled, in milliseconds */
+    private static final int CANCEL_POLL = 100;
+
+    private final Callable<Entity> loader;
+    private final Consumer<Entity> onLoaded;
+    private final Consumer<Throwable> onError;
+    private final ProgressMonitor monitor;
+    private final Timer cancelPoll;
+    /** A problem found after the unit was read, which does not prevent it from being shown */
+    private volatile Throwable problem = null;
+
+    /**
+     * @param parent   The component to show the progress monitor over
+     * @param name     The name of the unit or file being loaded, shown in the progress monitor
+     * @param loader   Reads the unit. This is called on a background thread and returns null if
+     *                 there is no unit to load.
+     * @param onLoaded Receives the loaded unit on the event dispatch thread
+     * @param onError  Receives any error on the event dispatch thread. If the unit was read but
+     *                 a later step failed, this is called after the unit is passed to onLoaded.
+     */
+    public UnitLoadTask(Component parent, String name, Callable<Entity> loader,
+            Consumer<Entity> onLoaded, Consumer<Throwable> onError) {
+        this.loader = loader;
+        this.onLoaded = onLoaded;
+        this.onError = onError;
+        monitor = new ProgressMonitor(parent, "Loading " + name, "", 0, 100);
+        cancelPoll = new Timer(CANCEL_POLL, e -> {
+            if (monitor.isCanceled()) {
+                cancel(true);
+            }
+        });
+        addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) { //$NON-NLS-1$
+                monitor.setProgress((Integer) e.getNewValue());
+            }
+        });
+    }
+
+    /**
+     * Starts loading the unit.
+     */
+    public void start() {
+        cancelPoll.start();
+        execute();
+    }
+
+    @Override
+    protected Entity doInBackground() throws Exception {
+        publish("Reading unit");
+        final Entity entity = loader.call();
+        if ((null == entity) || isCancelled()) {
+            return null;
+        }
+        try {
+            publish("Updating unit");
+            setProgress(40);
+            UnitUtil.updateLoadedUnit(entity);
+            if (isCancelled()) {
+                return null;
+            }
+            final EntitySnapshot snapshot = EntitySnapshot.of(entity);
+            if (null != snapshot) {
+                publish("Validating");
+                setProgress(55);
+                UnitValidation.prevalidate(snapshot);
+                if (isCancelled()) {
+                    return null;
+                }
+                publish("Calculating values");
+                setProgress(80);
+                UnitMetrics.precalculate(snapshot);
+            }
+        } catch (Exception ex) {
+            problem = ex;
+        }
+        setProgress(100);
+        return entity;
+    }
+
+    @Override
+    protected void process(List<String> steps) {
+        monitor.setNote(steps.get(steps.size() - 1));
+    }
+
+    @Override
+    protected void done() {
+        cancelPoll.stop();
+        monitor.close();
+        if (isCancelled()) {
+            return;
+        }
+        try {
+            final Entity entity = get();
+            if (null != entity) {
+                onLoaded.accept(entity);
+                if (null != problem) {
+                    onError.accept(problem);
+                }
+            }
+        } catch (ExecutionException ex) {
+            onError.accept(ex.getCause());
+        } catch (InterruptedException | CancellationException ex) {
+            MegaMekLab.getLogger().error(getClass(), "done()", ex);
+        }
+    }
+}
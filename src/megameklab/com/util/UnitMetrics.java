@@ -0,0 +1,245 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import megamek.common.BattleArmor;
+import megamek.common.Entity;
+import megamek.common.Mech;
+import megamek.common.Tank;
+import megamek.common.verifier.TestBattleArmor;
+import megamek.common.verifier.TestEntity;
+import megamek.common.verifier.TestSupportVehicle;
+import megameklab.com.ui.EntitySource;
+
+/**
+ * Calculates the values shown in the status bar (battle value, cost, weight, and so on) on a
+ * background thread and caches them against the version of the unit they were calculated for.
+ * Refresh requests are debounced, and if the unit has not changed since the last calculation
+ * the cached values are reused without restoring the unit. Only the metrics requested by the
+ * owner are calculated. Values for a unit that is about to be shown can be calculated in
+ * advance with {@link #precalculate(EntitySnapshot)}.
+ */
+public class UnitMetrics {
+
+    public enum Metric {
+        /** Battle value, from {@link Entity#calculateBattleValue()} */
+        BATTLE_VALUE,
+        /** Cost in C-bills, from {@link Entity#getCost(boolean)} */
+        COST,
+        /**
+         * The weight of the installed components according to the unit verifier. For battle armor
+         * this is the weight of a single suit.
+         */
+        WEIGHT,
+        /** The total number of critical slots used, including unallocated equipment. Mechs only. */
+        CRITICALS,
+        /** The weight of ammo that has not been assigned a location */
+        UNALLOCATED_AMMO
+    }
+
+    /** Short delay, since the status bar is expected to keep up with editing */
+    private static final int DELAY = 100;
+
+    private static final int MAX_PRECALCULATED = 4;
+
+    /** Values for every metric calculated before the unit was shown, by unit version */
+    private static final Map<Long, Map<Metric, Double>> precalculated = Collections.synchronizedMap(
+            new LinkedHashMap<Long, Map<Metric, Double>>(8, 0.75f, true) {
+        private static final long serialVersionUID = -1365808207493415262L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<Metric, Double>> eldest) {
+            return size() > MAX_PRECALCULATED;
+        }
+    });
+
+    private final EnumSet<Metric> metrics;
+    private final DebouncedEntityTask<Values> task;
+    private final Runnable listener;
+    private volatile Values current = new Values(-1, new EnumMap<>(Metric.class));
+
+    /**
+     * @param eSource  Provides the unit
+     * @param metrics  The metrics to calculate
+     * @param listener Notified on the event dispatch thread when new values are available
+     */
+    public UnitMetrics(EntitySource eSource, EnumSet<Metric> metrics, Runnable listener) {
+        this.metrics = EnumSet.copyOf(metrics);
+        this.listener = listener;
+        task = DebouncedEntityTask.ofSnapshot(eSource, DELAY, this::calculate, this::update);
+    }
+
+    /**
+     * Requests recalculation after the unit has been edited. If nothing has changed, the listener
+     * is not notified.
+     */
+    public void refresh() {
+        task.schedule();
+    }
+
+    /**
+     * Requests calculation without waiting for editing to pause, such as when first showing the unit.
+     */
+    public void refreshNow() {
+        task.runNow();
+    }
+
+    /**
+     * @param metric The metric to check
+     * @return       Whether a value has been calculated for the metric
+     */
+    public boolean isAvailable(Metric metric) {
+        return current.values.containsKey(metric);
+    }
+
+    /**
+     * @param metric The metric to look up
+     * @return       The last calculated value of the metric, or zero if it has not been calculated
+     */
+    public double get(Metric metric) {
+        Double val = current.values.get(metric);
+        return (null == val) ? 0.0 : val;
+    }
+
+    /**
+     * @return The version of the unit the current values were calculated for, or -1 if nothing
+     *         has been calculated yet
+     */
+    public long getVersion() {
+        return current.version;
+    }
+
+    /**
+     * Calculates every metric for a unit that is about to be shown. A status bar that later asks
+     * for metrics of a unit in the same state uses these values instead of calculating them
+     * again. This may be called on any thread.
+     *
+     * @param snapshot The state of the unit
+     */
+    public static void precalculate(EntitySnapshot snapshot) throws IOException, ClassNotFoundException {
+        final Entity entity = snapshot.restore();
+        final Map<Metric, Double> values = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            Double val = calculate(metric, entity);
+            if (null != val) {
+                values.put(metric, val);
+            }
+        }
+        precalculated.put(snapshot.getVersion(), values);
+    }
+
+    private Values calculate(EntitySnapshot snapshot) throws Exception {
+        final Values cached = current;
+        if (snapshot.getVersion() == cached.version) {
+            return cached;
+        }
+        final Map<Metric, Double> ready = precalculated.get(snapshot.getVersion());
+        if (null != ready) {
+            // Every metric was calculated, but only the requested ones are reported
+            final Map<Metric, Double> values = new EnumMap<>(Metric.class);
+            for (Metric metric : metrics) {
+                if (ready.containsKey(metric)) {
+                    values.put(metric, ready.get(metric));
+                }
+            }
+            return new Values(snapshot.getVersion(), values);
+        }
+        final Entity entity = snapshot.restore();
+        final Map<Metric, Double> values = new EnumMap<>(Metric.class);
+        for (Metric metric : metrics) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Superseded by a later edit
+                return cached;
+            }
+            Double val = calculate(metric, entity);
+            if (null != val) {
+                values.put(metric, val);
+            }
+        }
+        return new Values(snapshot.getVersion(), values);
+    }
+
+    /**
+     * Calculates a single metric the way the status bar shows it. This may be called on any
+     * thread, but not while the unit is being edited on another.
+     *
+     * @param metric The metric to calculate
+     * @param entity The unit
+     * @return       The value, or null if the metric does not apply to the unit
+     */
+    public static Double calculate(Metric metric, Entity entity) {
+        switch (metric) {
+            case BATTLE_VALUE:
+                return (double) entity.calculateBattleValue();
+            case COST:
+                return (double) Math.round(entity.getCost(false));
+            case WEIGHT:
+                TestEntity testEntity = getWeightVerifier(entity);
+                if (null == testEntity) {
+                    return entity.getWeight();
+                } else if (entity instanceof BattleArmor) {
+                    return ((TestBattleArmor) testEntity).calculateWeight(BattleArmor.LOC_SQUAD);
+                }
+                return testEntity.calculateWeight();
+            case CRITICALS:
+                if (entity instanceof Mech) {
+                    return (double) UnitUtil.countUsedCriticals((Mech) entity);
+                }
+                return null;
+            case UNALLOCATED_AMMO:
+                return UnitUtil.getUnallocatedAmmoTonnage(entity);
+            default:
+                return null;
+        }
+    }
+
+    private static TestEntity getWeightVerifier(Entity entity) {
+        // Support VTOLs are not flagged as support tanks, so check for support vehicles directly.
+        if ((entity instanceof Tank) && entity.isSupportVehicle()) {
+            return new TestSupportVehicle((Tank) entity,
+                    UnitUtil.getEntityVerifierOptions().tankOption, null);
+        }
+        return UnitUtil.getEntityVerifier(entity);
+    }
+
+    private void update(Values values) {
+        if (values != current) {
+            current = values;
+            listener.run();
+        }
+    }
+
+    /**
+     * An immutable set of values calculated for a single version of the unit.
+     */
+    private static class Values {
+        final long version;
+        final Map<Metric, Double> values;
+
+        Values(long version, Map<Metric, Double> values) {
+            this.version = version;
+            this.values = values;
+        }
+    }
+}
@@ -55,7 +55,6 @@ import megamek.common.Infantry;
 import megamek.common.Jumpship;
 import megamek.common.LargeSupportTank;
 import megamek.common.Mech;
-import megamek.common.MechFileParser;
 import megamek.common.Protomech;
 import megamek.common.SmallCraft;
 import megamek.common.Tank;
@@ -403,7 +402,7 @@ public class UnitPrintManager {
             Vector<Entity> unitList = new Vector<Entity>();
 
             for (File entityFile : f.getSelectedFiles()) {
-                Entity tempEntity = new MechFileParser(entityFile).getEntity();
+                Entity tempEntity = ParsedUnitCache.getInstance().load(entityFile);
                 unitList.add(tempEntity);
             }
             printAllUnits(unitList, singleUnit);
@@ -148,6 +148,7 @@ public class UnitUtil {
 
     private static Font euroFont = null;
     private static Font euroBoldFont = null;
+    private static EntityVerifier entityVerifierOptions = null;
 
     /**
      * tells is EquipementType is an equipment that uses crits/mounted and is
@@ -430,6 +431,7 @@ public class UnitUtil {
                         } else { // If it's the only Mounted, clear the slot
                             cs = null;
                             unit.setCritical(loc, slot, cs);
+                            CriticalSlotIndex.update(unit, loc);
                         }
                     } else if ((cs.getMount2() != null)
                             && cs.getMount2().equals(eq)) {
@@ -442,7 +444,32 @@ public class UnitUtil {
     
     public static void addMounted(Entity unit, Mounted mounted, int loc,
             boolean rearMounted) throws LocationFullException {
-        unit.addEquipment(mounted, loc, rearMounted);
+        try {
+            unit.addEquipment(mounted, loc, rearMounted);
+        } finally {
+            // Some slots may have been filled even if the equipment did not fit
+            CriticalSlotIndex.update(unit, loc);
+        }
+        mounted.setOmniPodMounted(canPodMount(unit, mounted));
+    }
+
+    /**
+     * Adds equipment to a location starting at a specific critical slot.
+     *
+     * @param unit        The unit
+     * @param mounted     The equipment
+     * @param loc         The location
+     * @param rearMounted Whether the equipment is rear facing
+     * @param critSlot    The first slot to fill
+     * @throws LocationFullException if there is not enough room at the slot
+     */
+    public static void addMounted(Entity unit, Mounted mounted, int loc,
+            boolean rearMounted, int critSlot) throws LocationFullException {
+        try {
+            unit.addEquipment(mounted, loc, rearMounted, critSlot);
+        } finally {
+            CriticalSlotIndex.update(unit, loc);
+        }
         mounted.setOmniPodMounted(canPodMount(unit, mounted));
     }
 
@@ -479,6 +506,7 @@ public class UnitUtil {
                 }
             }
         }
+        CriticalSlotIndex.updateAll(unit);
 
         for (Mounted mount : unit.getEquipment()) {
             mount.setLocation(Entity.LOC_NONE, false);
@@ -1311,15 +1339,13 @@ public class UnitUtil {
         return null;
     }
 
+    /**
+     * @param unit The mech to check
+     * @return     The largest number of contiguous empty critical slots in each location,
+     *             indexed by location
+     */
     public static int[] getHighestContinuousNumberOfCritsArray(Mech unit) {
-        int[] critSpaces = new int[] { 0, 0, 0, 0, 0, 0, 0, 0 };
-
-        for (int loc = 0; loc <= Mech.LOC_LLEG; loc++) {
-            critSpaces[loc] = UnitUtil.getHighestContinuousNumberOfCrits(unit,
-                    loc);
-        }
-
-        return critSpaces;
+        return CriticalSlotIndex.of(unit).getLargestFreeRuns();
     }
 
 
@@ -1334,43 +1360,19 @@ public class UnitUtil {
      */
     public static int getContiguousNumberOfCrits(Entity unit, int location,
             int startingSlot){
-
-        int numCritSlots = unit.getNumberOfCriticals(location);
-        int contiguousCrits = 0;
-
-        for (int slot = startingSlot; slot < numCritSlots; slot++) {
-            if (unit.getCritical(location, slot) == null) {
-                contiguousCrits++;
-            } else {
-               break;
-            }
-        }
-        return contiguousCrits;
+        return CriticalSlotIndex.of(unit).getFreeRun(location, startingSlot);
     }
 
 
+    /**
+     * @param unit     The unit to check
+     * @param location The location to check
+     * @return         The largest number of contiguous empty critical slots in the location, or
+     *                 0 for a location without slots such as {@link Entity#LOC_NONE}
+     */
     public static int getHighestContinuousNumberOfCrits(Entity unit,
             int location) {
-        int highestNumberOfCrits = 0;
-        int currentCritCount = 0;
-
-        // Handle locations without crits
-        if ((location == Entity.LOC_DESTROYED)
-                || (location == Entity.LOC_NONE)) {
-            return 0;
-        }
-
-        for (int slot = 0; slot < unit.getNumberOfCriticals(location); slot++) {
-            if (unit.getCritical(location, slot) == null) {
-                currentCritCount++;
-            } else {
-                currentCritCount = 0;
-            }
-            highestNumberOfCrits = Math.max(currentCritCount,
-                    highestNumberOfCrits);
-        }
-
-        return highestNumberOfCrits;
+        return CriticalSlotIndex.of(unit).getLargestFreeRun(location);
     }
 
     public static double getUnallocatedAmmoTonnage(Entity unit) {
@@ -1635,6 +1637,7 @@ public class UnitUtil {
                 firstEmpty = -1;
             }
         }
+        CriticalSlotIndex.update(unit, loc);
     }
 
     public static void compactCriticals(Mech unit) {
@@ -1666,6 +1669,7 @@ public class UnitUtil {
                 firstEmpty = -1;
             }
         }
+        CriticalSlotIndex.update(mech, loc);
     }
 
     public static boolean isAMS(WeaponType weapon) {
@@ -1899,7 +1903,9 @@ public class UnitUtil {
                         }
                     } else {
                         CriticalSlot cs = new CriticalSlot(mount);
-                        if (!unit.addCritical(locations.get(0), cs)) {
+                        final boolean added = unit.addCritical(locations.get(0), cs);
+                        CriticalSlotIndex.update(unit, locations.get(0));
+                        if (!added) {
                             UnitUtil.removeCriticals(unit, mount);
                             JOptionPane.showMessageDialog(
                                     null,
@@ -3183,6 +3189,7 @@ public class UnitUtil {
                 }
             }
         }
+        CriticalSlotIndex.updateAll(unit);
     }
 
     /**
@@ -3259,6 +3266,7 @@ public class UnitUtil {
                     unit.setCritical(loc, slot, null);
                 }
             }
+            CriticalSlotIndex.update(unit, loc);
         }
         unit.setArmorType(EquipmentType.T_ARMOR_STANDARD, loc);
         unit.setArmorTechLevel(TechConstants.T_INTRO_BOXSET, loc);
@@ -3379,6 +3387,20 @@ public class UnitUtil {
         return numberOfEq;
     }
 
+    /**
+     * The verifier options are only read from disk the first time they are needed, since
+     * validation may run many times per edit.
+     *
+     * @return The shared unit verifier configuration
+     */
+    public static synchronized EntityVerifier getEntityVerifierOptions() {
+        if (null == entityVerifierOptions) {
+            entityVerifierOptions = EntityVerifier.getInstance(new File(
+                    "data/mechfiles/UnitVerifierOptions.xml"));
+        }
+        return entityVerifierOptions;
+    }
+
     /**
      * Returns a TestEntity instance for the supplied Entity.
      *
@@ -3386,8 +3408,7 @@ public class UnitUtil {
      * @return
      */
     public static TestEntity getEntityVerifier(Entity unit) {
-        EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-                "data/mechfiles/UnitVerifierOptions.xml"));
+        EntityVerifier entityVerifier = getEntityVerifierOptions();
         TestEntity testEntity = null;
 
         if (unit.hasETypeFlag(Entity.ETYPE_MECH)) {
@@ -4422,12 +4443,14 @@ public class UnitUtil {
     public static void removeHand(Mech mech, int location) {
         if (mech.hasSystem(Mech.ACTUATOR_HAND, location)) {
             mech.setCritical(location, 3, null);
+            CriticalSlotIndex.update(mech, location);
         }
     }
 
     public static void removeArm(Mech mech, int location) {
         if (mech.hasSystem(Mech.ACTUATOR_LOWER_ARM, location)) {
             mech.setCritical(location, 2, null);
+            CriticalSlotIndex.update(mech, location);
             // Only remove the next slot of it actually is a hand
             if (mech.hasSystem(Mech.ACTUATOR_HAND, location)) {
                 removeHand(mech, location);
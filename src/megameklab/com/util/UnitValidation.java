@@ -0,0 +1,180 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import megameklab.com.MegaMekLab;
+import megameklab.com.ui.EntitySource;
+
+/**
+ * Validates the unit on a background thread after it has been edited. Requests are debounced
+ * and each run works from a snapshot of the unit. The report is cached against the version of
+ * the unit it was produced for, so a refresh that does not change the unit does not run the
+ * verifier again. A unit can also be validated before it is shown, such as while it is being
+ * loaded, with {@link #prevalidate(EntitySnapshot)}.
+ */
+public class UnitValidation {
+
+    private static final int MAX_PREVALIDATED = 4;
+
+    /** Reports produced before the unit was shown, by unit version */
+    private static final Map<Long, String> prevalidated = Collections.synchronizedMap(
+            new LinkedHashMap<Long, String>(8, 0.75f, true) {
+        private static final long serialVersionUID = 2816310482737431093L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > MAX_PREVALIDATED;
+        }
+    });
+
+    private final DebouncedEntityTask<Result> task;
+    private final Runnable listener;
+    private final List<Consumer<String>> waiting = new ArrayList<>();
+    private volatile Result current = new Result(-1, "");
+
+    /**
+     * @param eSource  Provides the unit
+     * @param listener Notified on the event dispatch thread when the report changes
+     */
+    public UnitValidation(EntitySource eSource, Runnable listener) {
+        this.listener = listener;
+        task = DebouncedEntityTask.ofSnapshot(eSource, DebouncedEntityTask.DEFAULT_DELAY,
+                this::validate, this::update);
+    }
+
+    /**
+     * Requests validation after the unit has been edited.
+     */
+    public void refresh() {
+        task.schedule();
+    }
+
+    /**
+     * Requests validation without waiting for editing to pause.
+     */
+    public void refreshNow() {
+        task.runNow();
+    }
+
+    /**
+     * @return Whether the report reflects the current state of the unit, meaning it has been
+     *         validated at least once and no validation is pending.
+     */
+    public boolean isCurrent() {
+        return (current.version >= 0) && !task.isPending();
+    }
+
+    /**
+     * @return Whether the last validation found no problems. A unit that has not been
+     *         validated yet is treated as valid.
+     */
+    public boolean isValid() {
+        return current.report.trim().isEmpty();
+    }
+
+    /**
+     * @return The report from the last validation, which is empty if there were no problems
+     */
+    public String getReport() {
+        return current.report;
+    }
+
+    /**
+     * Performs an action with the validation report once it is up to date. If the report is
+     * already current the action is performed immediately, otherwise it is performed on the
+     * event dispatch thread when the pending validation completes. If validation fails, the
+     * action receives a report describing the failure. If there is no unit to validate, or it
+     * cannot be copied, the action is not performed.
+     *
+     * @param action Receives the report
+     */
+    public void whenValidated(Consumer<String> action) {
+        if (isCurrent()) {
+            action.accept(current.report);
+        } else {
+            if (!task.isPending()) {
+                task.runNow();
+                if (!task.isPending()) {
+                    // Nothing was started, so nothing would ever run the waiting actions
+                    waiting.clear();
+                    return;
+                }
+            }
+            waiting.add(action);
+        }
+    }
+
+    /**
+     * Validates a unit that is about to be shown. When a frame showing a unit in the same state
+     * requests validation, it uses this report instead of running the verifier again. This may
+     * be called on any thread.
+     *
+     * @param snapshot The state of the unit
+     */
+    public static void prevalidate(EntitySnapshot snapshot) throws IOException, ClassNotFoundException {
+        prevalidated.put(snapshot.getVersion(), UnitUtil.validateUnit(snapshot.restore()));
+    }
+
+    private Result validate(EntitySnapshot snapshot) {
+        final Result cached = current;
+        if (snapshot.getVersion() == cached.version) {
+            return cached;
+        }
+        final String report = prevalidated.get(snapshot.getVersion());
+        if (null != report) {
+            return new Result(snapshot.getVersion(), report);
+        }
+        try {
+            return new Result(snapshot.getVersion(), UnitUtil.validateUnit(snapshot.restore()));
+        } catch (Exception ex) {
+            MegaMekLab.getLogger().error(UnitValidation.class, "validate()", ex); //$NON-NLS-1$
+            // Not kept against the unit's version, so the next request tries again
+            return new Result(-1, "Unable to validate the unit: " + ex); //$NON-NLS-1$
+        }
+    }
+
+    private void update(Result result) {
+        final Result previous = current;
+        current = result;
+        if (!waiting.isEmpty()) {
+            List<Consumer<String>> actions = new ArrayList<>(waiting);
+            waiting.clear();
+            actions.forEach(a -> a.accept(result.report));
+        }
+        if (!result.report.equals(previous.report)) {
+            listener.run();
+        }
+    }
+
+    /**
+     * The validation report for a single version of the unit.
+     */
+    private static class Result {
+        final long version;
+        final String report;
+
+        Result(long version, String report) {
+            this.version = version;
+            this.report = report;
+        }
+    }
+}